@@ -0,0 +1,54 @@
+package com.example.template.benchmark;
+
+import com.example.template.entity.ExampleEntity;
+import com.example.template.event.ExampleEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representative payloads shared by the JMH benchmarks.
+ */
+public final class BenchmarkFixtures {
+    
+    public static final String DESCRIPTION = "A representative description used to give entities a realistic row size. "
+            .repeat(4);
+    
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_456_000);
+    
+    private BenchmarkFixtures() {
+    }
+    
+    public static ExampleEntity entity(long id) {
+        return ExampleEntity.builder()
+                .id(id)
+                .name("Example entity " + id)
+                .description(DESCRIPTION)
+                .status("ACTIVE")
+                .createdAt(TIMESTAMP)
+                .updatedAt(TIMESTAMP)
+                .version(3)
+                .build();
+    }
+    
+    public static Page<ExampleEntity> page(int size) {
+        List<ExampleEntity> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(entity(i + 1L));
+        }
+        return new PageImpl<>(content, PageRequest.of(0, size), 1_000_000L);
+    }
+    
+    public static ExampleEvent event() {
+        return ExampleEvent.builder()
+                .id("4f7c2a9e-8d1b-4c3a-9e5f-6a7b8c9d0e1f")
+                .type("EXAMPLE_UPDATED")
+                .payload("{\"id\":42,\"name\":\"Example entity 42\",\"status\":\"ACTIVE\"}")
+                .timestamp(TIMESTAMP)
+                .build();
+    }
+}
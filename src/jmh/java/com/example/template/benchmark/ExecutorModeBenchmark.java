@@ -0,0 +1,131 @@
+package com.example.template.benchmark;
+
+import com.example.template.ExampleTemplateApplication;
+import com.example.template.entity.ExampleEntity;
+import com.example.template.repository.ExampleRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load run of the real request path in both threading modes: the application is started
+ * against Postgres and Redis containers with {@code spring.threads.virtual.enabled} set
+ * per trial, and {@code @Threads} concurrent clients call it over HTTP. {@code getById}
+ * reads random rows through the entity cache; {@code scroll} is not cached, so every
+ * request runs its query on a Hikari connection. Throughput and latency percentiles
+ * are reported per mode.
+ *
+ * <p>Needs Docker, so the default benchmark run excludes it; run it on its own with
+ * {@code ./mvnw -Pbenchmark -DskipTests verify -Djmh.args="-f 1 -wi 3 -i 5 ExecutorModeBenchmark"}.
+ * Client concurrency is {@code -t}; it defaults to more than Tomcat's 200 platform threads.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(256)
+public class ExecutorModeBenchmark {
+    
+    private static final int ROWS = 10_000;
+    
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+    
+    private PostgreSQLContainer<?> postgres;
+    private GenericContainer<?> redis;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private List<Long> ids;
+    private String baseUrl;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:18.1-alpine")
+                .withDatabaseName("benchdb")
+                .withUsername("bench")
+                .withPassword("bench");
+        redis = new GenericContainer<>(DockerImageName.parse("redis:8-alpine")).withExposedPorts(6379);
+        postgres.start();
+        redis.start();
+        
+        context = new SpringApplicationBuilder(ExampleTemplateApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                        "spring.data.redis.host=" + redis.getHost(),
+                        "spring.data.redis.port=" + redis.getMappedPort(6379),
+                        "logging.level.com.example.template=WARN")
+                .run();
+        
+        List<ExampleEntity> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(ExampleEntity.builder()
+                    .name("Example entity " + i)
+                    .description(BenchmarkFixtures.DESCRIPTION)
+                    .status("ACTIVE")
+                    .build());
+        }
+        ids = context.getBean(ExampleRepository.class).saveAll(rows).stream().map(ExampleEntity::getId).toList();
+        
+        String port = context.getEnvironment().getProperty("local.server.port");
+        baseUrl = "http://127.0.0.1:" + port + "/api/v1/examples";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+        redis.stop();
+        postgres.stop();
+    }
+    
+    @Benchmark
+    public int getById() throws IOException, InterruptedException {
+        long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return get(baseUrl + "/" + id);
+    }
+    
+    @Benchmark
+    public int scroll() throws IOException, InterruptedException {
+        return get(baseUrl + "/scroll?size=20");
+    }
+    
+    private int get(String url) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(
+                HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
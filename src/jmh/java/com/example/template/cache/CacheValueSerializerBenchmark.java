@@ -0,0 +1,58 @@
+package com.example.template.cache;
+
+import com.example.template.benchmark.BenchmarkFixtures;
+import com.example.template.entity.ExampleEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the Redis value serializer used for the "examples" cache: the previous
+ * {@link GenericJackson2JsonRedisSerializer} against {@link CompactRedisSerializer}, for a
+ * typical entity and one with a large description. Bytes per value are printed once per fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CacheValueSerializerBenchmark {
+    
+    @Param({"json", "compact"})
+    private String codec;
+    
+    @Param({"300", "8000"})
+    private int descriptionLength;
+    
+    private RedisSerializer<Object> serializer;
+    private ExampleEntity entity;
+    private byte[] serialized;
+    
+    @Setup
+    public void setUp() {
+        serializer = "json".equals(codec) ? new GenericJackson2JsonRedisSerializer() : new CompactRedisSerializer(1024);
+        entity = BenchmarkFixtures.entity(42L);
+        entity.setDescription(BenchmarkFixtures.DESCRIPTION.repeat(descriptionLength / BenchmarkFixtures.DESCRIPTION.length() + 1)
+                .substring(0, descriptionLength));
+        serialized = serializer.serialize(entity);
+        System.out.printf("%n%s codec, %d char description: %d bytes per value%n",
+                codec, descriptionLength, serialized.length);
+    }
+    
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(entity);
+    }
+    
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+}
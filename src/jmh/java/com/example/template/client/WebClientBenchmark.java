@@ -0,0 +1,94 @@
+package com.example.template.client;
+
+import com.example.template.config.WebClientConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.MDC;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip to a local server with the client built once versus built per call, the way
+ * {@code ExampleHttpClient} used to do it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class WebClientBenchmark {
+    
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private ExampleHttpClient sharedClient;
+    private String url;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.get("/examples/42", (request, response) ->
+                        response.header("Content-Type", "application/json")
+                                .sendString(Mono.just("{\"id\":42,\"name\":\"example\",\"status\":\"ACTIVE\"}"))))
+                .bindNow();
+        url = "http://127.0.0.1:" + server.port() + "/examples/42";
+        
+        WebClientConfig config = new WebClientConfig();
+        ReflectionTestUtils.setField(config, "maxConnections", 200);
+        ReflectionTestUtils.setField(config, "pendingAcquireMaxCount", 1000);
+        ReflectionTestUtils.setField(config, "pendingAcquireTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(config, "maxIdleTime", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(config, "maxLifeTime", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(config, "evictionInterval", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(config, "connectTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(config, "responseTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(config, "protocols", List.of(HttpProtocol.H2, HttpProtocol.HTTP11));
+        connectionProvider = config.httpConnectionProvider();
+        sharedClient = new ExampleHttpClient(
+                config.exampleWebClient(connectionProvider, new SimpleMeterRegistry()),
+                new OutboundResilience(ResiliencePolicy.DEFAULTS, Map.of(), new SimpleMeterRegistry()));
+        MDC.put("correlationId", "4f7c2a9e-8d1b-4c3a-9e5f-6a7b8c9d0e1f");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MDC.clear();
+        connectionProvider.dispose();
+        server.disposeNow();
+    }
+    
+    @Benchmark
+    public String sharedClient() {
+        return sharedClient.get(url, String.class).block();
+    }
+    
+    @Benchmark
+    public String clientPerCall() {
+        WebClient perCall = WebClient.builder()
+                .defaultHeader(CorrelationIdExchangeFilter.CORRELATION_ID_HEADER, MDC.get("correlationId"))
+                .build();
+        return perCall.get()
+                .uri(url)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(Duration.ofSeconds(10))
+                .block();
+    }
+}
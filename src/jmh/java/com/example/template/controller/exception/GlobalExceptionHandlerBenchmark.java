@@ -0,0 +1,65 @@
+package com.example.template.controller.exception;
+
+import com.example.template.controller.ExampleController;
+import com.example.template.controller.exception.error.ErrorResponse;
+import com.example.template.entity.ExampleEntity;
+import com.example.template.exception.NotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.MDC;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GlobalExceptionHandlerBenchmark {
+    
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private NotFoundException notFound;
+    private MethodArgumentNotValidException invalid;
+    
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("GET", "/api/v1/examples/999");
+        notFound = new NotFoundException("Example entity not found with id: 999");
+        
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new ExampleEntity(), "entity");
+        bindingResult.addError(new FieldError("entity", "name", "", false, null, null, "must not be blank"));
+        bindingResult.addError(new FieldError("entity", "status", "", false, null, null, "must not be blank"));
+        MethodParameter parameter = new MethodParameter(
+                ExampleController.class.getMethod("create", ExampleEntity.class), 0);
+        invalid = new MethodArgumentNotValidException(parameter, bindingResult);
+        
+        MDC.put("correlationId", "4f7c2a9e-8d1b-4c3a-9e5f-6a7b8c9d0e1f");
+    }
+    
+    @TearDown
+    public void tearDown() {
+        MDC.clear();
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        return handler.handleNotFoundException(notFound, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validationFailed() {
+        return handler.handleValidationException(invalid, request);
+    }
+}
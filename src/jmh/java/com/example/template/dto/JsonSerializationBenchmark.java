@@ -0,0 +1,76 @@
+package com.example.template.dto;
+
+import com.example.template.benchmark.BenchmarkFixtures;
+import com.example.template.codec.ExampleJsonModule;
+import com.example.template.entity.ExampleEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of the response bodies written by {@code ExampleController}:
+ * bean serializers, the precomputed {@link ExampleJsonModule} serializers, and the latter
+ * gzipped as {@code ResponseCompressionFilter} does by default.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    
+    @Param({"20", "200", "1000"})
+    private int pageSize;
+    
+    private JsonMapper jsonMapper;
+    private JsonMapper precomputedMapper;
+    private ExampleEntity entity;
+    private PageResponse<ExampleEntity> pageResponse;
+    
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        precomputedMapper = JsonMapper.builder().addModule(new ExampleJsonModule()).build();
+        entity = BenchmarkFixtures.entity(42L);
+        pageResponse = PageResponse.of(BenchmarkFixtures.page(pageSize));
+    }
+    
+    @Benchmark
+    public byte[] entity() {
+        return jsonMapper.writeValueAsBytes(entity);
+    }
+    
+    @Benchmark
+    public byte[] pageResponse() {
+        return jsonMapper.writeValueAsBytes(pageResponse);
+    }
+    
+    @Benchmark
+    public byte[] entityPrecomputed() {
+        return precomputedMapper.writeValueAsBytes(entity);
+    }
+    
+    @Benchmark
+    public byte[] pageResponsePrecomputed() {
+        return precomputedMapper.writeValueAsBytes(pageResponse);
+    }
+    
+    @Benchmark
+    public byte[] pageResponsePrecomputedGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(pageSize * 64);
+        // The default level is 6, as in app.web.compression.level
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, 8192)) {
+            precomputedMapper.writeValue(gzip, pageResponse);
+        }
+        return bytes.toByteArray();
+    }
+}
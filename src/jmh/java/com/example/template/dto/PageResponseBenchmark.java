@@ -0,0 +1,36 @@
+package com.example.template.dto;
+
+import com.example.template.benchmark.BenchmarkFixtures;
+import com.example.template.entity.ExampleEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PageResponseBenchmark {
+    
+    @Param({"20", "200", "1000"})
+    private int pageSize;
+    
+    private Page<ExampleEntity> page;
+    
+    @Setup
+    public void setUp() {
+        page = BenchmarkFixtures.page(pageSize);
+    }
+    
+    @Benchmark
+    public PageResponse<ExampleEntity> of() {
+        return PageResponse.of(page);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.template.dto;
+
+import com.example.template.benchmark.BenchmarkFixtures;
+import com.example.template.entity.ExampleEntity;
+import com.example.template.repository.ExampleRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies for list views with and without {@code fields=id,name,status}. The
+ * sparse variant includes building the projected rows from summary-projection results.
+ * Body sizes are printed once per trial, since JMH itself only reports time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SparseFieldsetBenchmark {
+    
+    private static final Set<ExampleField> LIST_FIELDS = ExampleField.parse("id,name,status");
+    
+    @Param({"20", "200", "1000"})
+    private int pageSize;
+    
+    private JsonMapper jsonMapper;
+    private PageResponse<ExampleEntity> fullPage;
+    private PageResponse<ExampleEntity> summaryPage;
+    
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        fullPage = PageResponse.of(BenchmarkFixtures.page(pageSize));
+        summaryPage = fullPage.map(entity -> new ExampleRepository.SummaryView(entity.getId(), entity.getName(),
+                entity.getStatus(), entity.getCreatedAt(), entity.getUpdatedAt(), entity.getVersion()).toEntity());
+        int full = fullPage().length;
+        int sparse = sparsePage().length;
+        System.out.printf("%n%d rows: full %d bytes (%d per row), fields=id,name,status %d bytes (%d per row)%n",
+                pageSize, full, full / pageSize, sparse, sparse / pageSize);
+    }
+    
+    @Benchmark
+    public byte[] fullPage() {
+        return jsonMapper.writeValueAsBytes(fullPage);
+    }
+    
+    @Benchmark
+    public byte[] sparsePage() {
+        PageResponse<Map<String, Object>> sparse = summaryPage.map(entity -> ExampleField.project(entity, LIST_FIELDS));
+        return jsonMapper.writeValueAsBytes(sparse);
+    }
+}
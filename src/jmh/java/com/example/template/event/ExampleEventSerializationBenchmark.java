@@ -0,0 +1,71 @@
+package com.example.template.event;
+
+import com.example.template.benchmark.BenchmarkFixtures;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip of {@link ExampleEvent} through the Kafka value serializer pairs selectable in
+ * {@code KafkaConfig}: the previous JSON codec and {@link ExampleEventCodec}. Bytes per event
+ * are printed once per fork since JMH only reports time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ExampleEventSerializationBenchmark {
+    
+    private static final String TOPIC = "example-events";
+    
+    @Param({"json", "binary"})
+    private String codec;
+    
+    private Serializer<Object> serializer;
+    private Deserializer<Object> deserializer;
+    private ExampleEvent event;
+    private RecordHeaders serializedHeaders;
+    private byte[] serialized;
+    
+    @Setup
+    public void setUp() {
+        Map<String, Object> configs = Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.example.template.event");
+        serializer = "json".equals(codec) ? new JsonSerializer<>() : new ExampleEventSerializer();
+        serializer.configure(configs, false);
+        deserializer = "json".equals(codec) ? new JsonDeserializer<>() : new ExampleEventDeserializer();
+        deserializer.configure(configs, false);
+        event = BenchmarkFixtures.event();
+        serializedHeaders = new RecordHeaders();
+        serialized = serializer.serialize(TOPIC, serializedHeaders, event);
+        System.out.printf("%n%s codec: %d bytes per event%n", codec, serialized.length);
+    }
+    
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+    
+    @Benchmark
+    public Object deserialize() {
+        return deserializer.deserialize(TOPIC, serializedHeaders, serialized);
+    }
+    
+    @Benchmark
+    public Object roundTrip() {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] bytes = serializer.serialize(TOPIC, headers, event);
+        return deserializer.deserialize(TOPIC, headers, bytes);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.template.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CorrelationIdFilterBenchmark {
+    
+    private final FilterChain chain = (request, response) -> { };
+    
+    private CorrelationIdFilter filter;
+    private MockHttpServletRequest requestWithId;
+    private MockHttpServletRequest requestWithoutId;
+    private MockHttpServletResponse response;
+    
+    @Setup
+    public void setUp() {
+        filter = new CorrelationIdFilter();
+        requestWithId = new MockHttpServletRequest("GET", "/api/v1/examples/42");
+        requestWithId.addHeader("X-Correlation-Id", "4f7c2a9e-8d1b-4c3a-9e5f-6a7b8c9d0e1f");
+        requestWithoutId = new MockHttpServletRequest("GET", "/api/v1/examples/42");
+        response = new MockHttpServletResponse();
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse propagateIncomingId() throws Exception {
+        return filter(requestWithId);
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse generateId() throws Exception {
+        return filter(requestWithoutId);
+    }
+    
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws IOException, ServletException {
+        filter.doFilterInternal(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.template.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-key reads and writes on the caches of the application {@link CacheManager}, which
+ * only offers single-key access. For a {@link TwoTierCache} the L1 is checked first; keys
+ * still missing are fetched from Redis with one MGET, using the key prefix, key rendering
+ * and value serializer of the underlying {@link RedisCache}. Back-fills are written in one
+ * pipeline with the cache TTL. Other cache types fall back to per-key calls.
+ *
+ * <p>Redis failures are logged and treated as misses, so callers load from the database.
+ */
+@Slf4j
+public class BulkCacheOperations {
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+
+    public BulkCacheOperations(CacheManager cacheManager, StringRedisTemplate redisTemplate) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Returns the cached values of type {@code type} for {@code keys}; missing keys are absent.
+     */
+    public <K, V> Map<K, V> getAll(String cacheName, Collection<K> keys, Class<V> type) {
+        Map<K, V> found = new HashMap<>();
+        Cache cache = target(cacheName);
+        if (cache == null || keys.isEmpty()) {
+            return found;
+        }
+        List<K> remaining = new ArrayList<>(keys);
+        TwoTierCache twoTierCache = cache instanceof TwoTierCache twoTier ? twoTier : null;
+        if (twoTierCache != null) {
+            Map<String, Object> local = twoTierCache.getAllLocal(
+                    remaining.stream().map(TwoTierCache::toLocalKey).toList());
+            remaining.removeIf(key -> collect(found, key, local.get(TwoTierCache.toLocalKey(key)), type));
+            if (remaining.isEmpty()) {
+                return found;
+            }
+        }
+        RedisCache redisCache = redisCache(cache);
+        if (redisCache == null) {
+            remaining.forEach(key -> collect(found, key, cache.get(key, type), type));
+            return found;
+        }
+        List<byte[]> values = fetch(redisCache, remaining);
+        if (values == null) {
+            return found;
+        }
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        int hits = 0;
+        for (int i = 0; i < remaining.size(); i++) {
+            byte[] bytes = i < values.size() ? values.get(i) : null;
+            Object value = bytes != null ? config.getValueSerializationPair().read(ByteBuffer.wrap(bytes)) : null;
+            if (collect(found, remaining.get(i), value, type)) {
+                hits++;
+                if (twoTierCache != null) {
+                    twoTierCache.putLocal(TwoTierCache.toLocalKey(remaining.get(i)), value);
+                }
+            }
+        }
+        if (twoTierCache != null) {
+            twoTierCache.recordRemoteGets(hits, remaining.size() - hits);
+        }
+        return found;
+    }
+
+    /**
+     * Stores {@code entries} unless a value is already cached under the key, e.g. written
+     * by a concurrent single-key load.
+     */
+    public void putAll(String cacheName, Map<?, ?> entries) {
+        Cache cache = target(cacheName);
+        if (cache == null || entries.isEmpty()) {
+            return;
+        }
+        RedisCache redisCache = redisCache(cache);
+        if (redisCache == null) {
+            entries.forEach(cache::putIfAbsent);
+            return;
+        }
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                entries.forEach((key, value) -> {
+                    byte[] serialized = ByteUtils.getBytes(config.getValueSerializationPair().write(value));
+                    connection.stringCommands().set(
+                            redisKey(redisCache, key), serialized, expiration(config, key, value), SetOption.ifAbsent());
+                });
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Back-filling {} entries of cache [{}] failed: {}", entries.size(), cacheName, ex.getMessage());
+            return;
+        }
+        if (cache instanceof TwoTierCache twoTierCache) {
+            entries.forEach((key, value) -> twoTierCache.putLocal(TwoTierCache.toLocalKey(key), value));
+        }
+    }
+
+    private List<byte[]> fetch(RedisCache redisCache, List<?> keys) {
+        byte[][] redisKeys = keys.stream().map(key -> redisKey(redisCache, key)).toArray(byte[][]::new);
+        try {
+            return redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                    connection.stringCommands().mGet(redisKeys));
+        } catch (RuntimeException ex) {
+            log.warn("Multi-get of {} keys from cache [{}] failed: {}", keys.size(), redisCache.getName(), ex.getMessage());
+            return null;
+        }
+    }
+
+    private Cache target(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        // Reads must see the cache itself; writes here are back-fills of committed rows
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+
+    private static RedisCache redisCache(Cache cache) {
+        Cache remote = cache instanceof TwoTierCache twoTierCache ? twoTierCache.remoteCache() : cache;
+        return remote instanceof RedisCache redisCache ? redisCache : null;
+    }
+
+    private static byte[] redisKey(RedisCache redisCache, Object key) {
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        // Same rendering as RedisCache#createCacheKey for the simple keys used here
+        String cacheKey = TwoTierCache.toLocalKey(key);
+        if (config.usePrefix()) {
+            cacheKey = config.getKeyPrefixFor(redisCache.getName()) + cacheKey;
+        }
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(cacheKey));
+    }
+
+    private static Expiration expiration(RedisCacheConfiguration config, Object key, Object value) {
+        Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl);
+    }
+
+    private static <K, V> boolean collect(Map<K, V> found, K key, Object value, Class<V> type) {
+        if (!type.isInstance(value)) {
+            return false;
+        }
+        found.put(key, type.cast(value));
+        return true;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.template.cache;
+
+/**
+ * Wire format for near-cache invalidations broadcast over Redis pub/sub.
+ * A {@code null} key means the whole cache was cleared.
+ */
+public record CacheInvalidationMessage(String origin, String cacheName, String key) {
+    
+    private static final String SEPARATOR = "|";
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+    
+    public boolean isClear() {
+        return key == null;
+    }
+    
+    public String encode() {
+        return String.join(SEPARATOR, origin, isClear() ? CLEAR : EVICT, cacheName, isClear() ? "" : key);
+    }
+    
+    public static CacheInvalidationMessage decode(String payload) {
+        String[] parts = payload.split("\\" + SEPARATOR, 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed cache invalidation message: " + payload);
+        }
+        return new CacheInvalidationMessage(parts[0], parts[2], CLEAR.equals(parts[1]) ? null : parts[3]);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.template.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationPublisher {
+    
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    @Getter
+    private final String nodeId;
+    
+    public void publishEvict(String cacheName, String key) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, key));
+    }
+    
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, null));
+    }
+    
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(channel, message.encode());
+        } catch (RuntimeException ex) {
+            // Peers fall back to their L1 TTL, which bounds staleness when a broadcast is lost
+            log.warn("Failed to publish cache invalidation for cache [{}]: {}", message.cacheName(), ex.getMessage());
+        }
+    }
+}
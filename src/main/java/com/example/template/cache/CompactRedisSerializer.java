@@ -0,0 +1,252 @@
+package com.example.template.cache;
+
+import com.example.template.codec.BinaryReader;
+import com.example.template.codec.BinaryWriter;
+import com.example.template.dto.PageResponse;
+import com.example.template.entity.ExampleEntity;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Redis value format: a format version byte, a header byte holding the body kind and
+ * a compression flag, then the body. {@link ExampleEntity} bodies are a fixed field
+ * sequence (id, name, description, status, createdAt, updatedAt, version, then from
+ * {@link #FORMAT_V2} a flags byte) in the {@link BinaryWriter} encodings; a {@link PageResponse} of entities is its page
+ * metadata followed by the entities; any other value is Jackson JSON. Bodies of at least
+ * {@code compressionThreshold} bytes are deflated, prefixed with their inflated length,
+ * when that makes them smaller.
+ *
+ * <p>JSON never starts with a byte below 0x20, so a value whose first byte is not a
+ * known format version is an entry written by {@link GenericJackson2JsonRedisSerializer}
+ * before this format existed and is read as such. Changing the entity layout means a
+ * new format version, with the reader kept for the old one until its entries expire:
+ * {@link #FORMAT_V1} entities, written before descriptions could be stored out of row,
+ * are read as not truncated. Values are still written as {@link #FORMAT_V1} unless they
+ * hold a truncated entity, so nodes without the {@link #FORMAT_V2} reader can share the
+ * cache during a rolling deploy; out-of-row storage is turned on once every node reads v2.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte FORMAT_V1 = 0x01;
+    static final byte FORMAT_V2 = 0x02;
+    static final byte KIND_ENTITY = 0x01;
+    static final byte KIND_JSON = 0x02;
+    static final byte KIND_ENTITY_PAGE = 0x03;
+    static final byte FLAG_COMPRESSED = (byte) 0x80;
+    static final byte ENTITY_DESCRIPTION_TRUNCATED = 0x01;
+    static final byte PAGE_FIRST = 0x01;
+    static final byte PAGE_LAST = 0x02;
+    // Added without a format bump: older writers left the bit clear, which reads as exact
+    static final byte PAGE_APPROXIMATE = 0x04;
+
+    private static final int HEADER_SIZE = 2;
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final int compressionThreshold;
+
+    public CompactRedisSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        // v1 readers reject v2 values, so v2 is only written when an entity needs its flags
+        // byte, which cannot happen before out-of-row descriptions are turned on
+        byte format = FORMAT_V1;
+        byte kind;
+        byte[] body;
+        if (value instanceof ExampleEntity entity) {
+            kind = KIND_ENTITY;
+            format = entity.isDescriptionTruncated() ? FORMAT_V2 : FORMAT_V1;
+            BinaryWriter out = new BinaryWriter(256);
+            writeEntity(out, entity, format >= FORMAT_V2);
+            body = out.toByteArray();
+        } else if (value instanceof PageResponse<?> page && isEntityPage(page)) {
+            kind = KIND_ENTITY_PAGE;
+            format = page.getContent().stream().anyMatch(entity -> ((ExampleEntity) entity).isDescriptionTruncated())
+                    ? FORMAT_V2 : FORMAT_V1;
+            body = encodeEntityPage(page, format >= FORMAT_V2);
+        } else {
+            kind = KIND_JSON;
+            body = json.serialize(value);
+        }
+
+        BinaryWriter out = new BinaryWriter(body.length + HEADER_SIZE);
+        out.write(format);
+        byte[] compressed = body.length >= compressionThreshold ? deflate(body) : null;
+        // Only worth it if the saving exceeds the inflated-length prefix (up to 5 bytes)
+        if (compressed != null && compressed.length + 5 < body.length) {
+            out.write(kind | FLAG_COMPRESSED);
+            out.writeVarLong(body.length);
+            out.write(compressed, 0, compressed.length);
+        } else {
+            out.write(kind);
+            out.write(body, 0, body.length);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        byte format = bytes[0];
+        if (format != FORMAT_V1 && format != FORMAT_V2) {
+            return json.deserialize(bytes);
+        }
+        boolean entityFlags = format >= FORMAT_V2;
+        if (bytes.length < HEADER_SIZE) {
+            throw new SerializationException("Truncated cache value");
+        }
+        try {
+            byte header = bytes[1];
+            byte[] body = bytes;
+            int offset = HEADER_SIZE;
+            if ((header & FLAG_COMPRESSED) != 0) {
+                BinaryReader lengthReader = new BinaryReader(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+                long inflatedLength = lengthReader.readVarLong();
+                body = inflate(bytes, lengthReader.position(), inflatedLength);
+                offset = 0;
+            }
+            byte kind = (byte) (header & ~FLAG_COMPRESSED);
+            return switch (kind) {
+                case KIND_ENTITY -> readEntity(new BinaryReader(body, offset, body.length - offset), entityFlags);
+                case KIND_ENTITY_PAGE ->
+                        decodeEntityPage(new BinaryReader(body, offset, body.length - offset), entityFlags);
+                case KIND_JSON -> json.deserialize(Arrays.copyOfRange(body, offset, body.length));
+                default -> throw new SerializationException("Unknown cache value kind " + kind);
+            };
+        } catch (IllegalArgumentException | DataFormatException ex) {
+            throw new SerializationException("Malformed cache value: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static void writeEntity(BinaryWriter out, ExampleEntity entity, boolean withFlags) {
+        out.writeNullableLong(entity.getId());
+        out.writeString(entity.getName());
+        out.writeString(entity.getDescription());
+        out.writeString(entity.getStatus());
+        out.writeTimestamp(entity.getCreatedAt());
+        out.writeTimestamp(entity.getUpdatedAt());
+        out.writeNullableLong(entity.getVersion() != null ? entity.getVersion().longValue() : null);
+        if (withFlags) {
+            out.write(entity.isDescriptionTruncated() ? ENTITY_DESCRIPTION_TRUNCATED : 0);
+        }
+    }
+
+    private static ExampleEntity readEntity(BinaryReader in, boolean withFlags) {
+        ExampleEntity entity = new ExampleEntity();
+        entity.setId(in.readNullableLong());
+        entity.setName(in.readString());
+        entity.setDescription(in.readString());
+        entity.setStatus(in.readString());
+        entity.setCreatedAt(in.readTimestamp());
+        entity.setUpdatedAt(in.readTimestamp());
+        Long version = in.readNullableLong();
+        entity.setVersion(version != null ? version.intValue() : null);
+        if (withFlags) {
+            entity.setDescriptionTruncated((in.readByte() & ENTITY_DESCRIPTION_TRUNCATED) != 0);
+        }
+        return entity;
+    }
+
+    private static boolean isEntityPage(PageResponse<?> page) {
+        return page.getContent() != null && page.getContent().stream().allMatch(ExampleEntity.class::isInstance);
+    }
+
+    private static byte[] encodeEntityPage(PageResponse<?> page, boolean entityFlags) {
+        BinaryWriter out = new BinaryWriter(64 + page.getContent().size() * 256);
+        out.writeVarLong(page.getPage());
+        out.writeVarLong(page.getSize());
+        out.writeVarLong(page.getTotalElements());
+        out.writeVarLong(page.getTotalPages());
+        out.write((page.isFirst() ? PAGE_FIRST : 0) | (page.isLast() ? PAGE_LAST : 0)
+                | (page.isApproximate() ? PAGE_APPROXIMATE : 0));
+        out.writeVarLong(page.getContent().size());
+        for (Object entity : page.getContent()) {
+            writeEntity(out, (ExampleEntity) entity, entityFlags);
+        }
+        return out.toByteArray();
+    }
+
+    private static PageResponse<ExampleEntity> decodeEntityPage(BinaryReader in, boolean entityFlags) {
+        int page = (int) in.readVarLong();
+        int size = (int) in.readVarLong();
+        long totalElements = in.readVarLong();
+        int totalPages = (int) in.readVarLong();
+        byte flags = in.readByte();
+        long count = in.readVarLong();
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Page content size out of range: " + count);
+        }
+        List<ExampleEntity> content = new ArrayList<>((int) Math.min(count, 1024));
+        for (long i = 0; i < count; i++) {
+            content.add(readEntity(in, entityFlags));
+        }
+        return PageResponse.<ExampleEntity>builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .first((flags & PAGE_FIRST) != 0)
+                .last((flags & PAGE_LAST) != 0)
+                .approximate((flags & PAGE_APPROXIMATE) != 0)
+                .build();
+    }
+
+    private static byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(chunk);
+                out.write(chunk, 0, written);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, long inflatedLength) throws DataFormatException {
+        if (inflatedLength > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Inflated length out of range: " + inflatedLength);
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, offset, data.length - offset);
+            byte[] body = new byte[(int) inflatedLength];
+            int read = 0;
+            while (read < body.length) {
+                int n = inflater.inflate(body, read, body.length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != body.length) {
+                throw new IllegalArgumentException("Inflated " + read + " of " + body.length + " bytes");
+            }
+            return body;
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.template.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived Redis lock so that only one node loads a missing cache entry;
+ * the other nodes poll L2 until the holder has written it back.
+ */
+@Slf4j
+public class DistributedLoadLock {
+    
+    static final String UNLOCKED = "";
+    
+    private static final String KEY_PREFIX = "cache-load-lock::";
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    
+    private final StringRedisTemplate redisTemplate;
+    private final Duration lockTtl;
+    private final Duration pollInterval;
+    
+    public DistributedLoadLock(StringRedisTemplate redisTemplate, Duration lockTtl, Duration pollInterval) {
+        this.redisTemplate = redisTemplate;
+        this.lockTtl = lockTtl;
+        this.pollInterval = pollInterval;
+    }
+    
+    /**
+     * Returns a token to pass to {@link #release}, or empty if a peer holds the lock.
+     * If Redis is unreachable the caller proceeds unlocked rather than failing the read.
+     */
+    public Optional<String> tryAcquire(String key) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, token, lockTtl);
+            return Boolean.TRUE.equals(acquired) ? Optional.of(token) : Optional.empty();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to acquire cache load lock for [{}], loading without it: {}", key, ex.getMessage());
+            return Optional.of(UNLOCKED);
+        }
+    }
+    
+    public void release(String key, String token) {
+        if (UNLOCKED.equals(token)) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + key), token);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to release cache load lock for [{}], it expires in {}: {}", key, lockTtl, ex.getMessage());
+        }
+    }
+    
+    /**
+     * Polls {@code probe} while the peer still holds the lock, for at most the lock TTL.
+     * Returns {@code null} if the peer released the lock (or it expired) without a value.
+     */
+    public Cache.ValueWrapper awaitValue(String key, Supplier<Cache.ValueWrapper> probe) throws InterruptedException {
+        long deadline = System.nanoTime() + lockTtl.toNanos();
+        while (System.nanoTime() < deadline) {
+            Cache.ValueWrapper value = probe.get();
+            if (value != null) {
+                return value;
+            }
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + key))) {
+                return probe.get();
+            }
+            Thread.sleep(pollInterval.toMillis());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.template.cache;
+
+import com.example.template.datasource.PrimaryReads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Caches query results under keys that embed a generation number kept in Redis.
+ * Writers invalidate every cached result of a scope by incrementing its generation
+ * once, rather than finding and deleting keys; entries of old generations are never
+ * read again and simply expire with their cache's TTL.
+ *
+ * <p>Generations are bumped after the writing transaction commits, so a reader
+ * that sees the new generation also sees the new data, provided the loader reads
+ * the primary, which {@link PrimaryReads} ensures. If Redis cannot be reached the
+ * query runs uncached.
+ */
+@Slf4j
+public class QueryResultCache {
+
+    public static final String GLOBAL_SCOPE = "global";
+
+    static final String GENERATION_KEY_PREFIX = "query-generation:";
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Lookups> lookups = new ConcurrentHashMap<>();
+
+    public QueryResultCache(CacheManager cacheManager, StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the cached result of {@code queryKey} for the current generation of
+     * {@code scope}, loading and caching it on a miss.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, String scope, String queryKey, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Lookups counters = lookups.computeIfAbsent(cacheName, this::lookups);
+        String generation = cache != null ? currentGeneration(scope) : null;
+        if (generation == null) {
+            counters.bypasses().increment();
+            return loader.get();
+        }
+        AtomicBoolean loaded = new AtomicBoolean();
+        T result;
+        try {
+            result = (T) cache.get(queryKey + "@" + generation, () -> {
+                loaded.set(true);
+                // Cached results outlive the request, so they must not come from a lagging replica
+                return PrimaryReads.call(loader);
+            });
+        } catch (Cache.ValueRetrievalException ex) {
+            // Surface the query's own exception rather than the cache wrapper
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        (loaded.get() ? counters.misses() : counters.hits()).increment();
+        return result;
+    }
+
+    /**
+     * Invalidates every cached result of the given scopes, after commit if a transaction is active.
+     */
+    public void invalidate(Collection<String> scopes) {
+        Set<String> distinct = Set.copyOf(scopes);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(distinct);
+                }
+            });
+        } else {
+            bump(distinct);
+        }
+    }
+
+    public static String statusScope(String status) {
+        return "status:" + status;
+    }
+
+    private String currentGeneration(String scope) {
+        try {
+            String generation = redisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + scope);
+            return generation != null ? generation : "0";
+        } catch (RuntimeException ex) {
+            log.warn("Reading query generation for [{}] failed, bypassing cache: {}", scope, ex.getMessage());
+            return null;
+        }
+    }
+
+    private void bump(Collection<String> scopes) {
+        List<String> keys = scopes.stream().map(scope -> GENERATION_KEY_PREFIX + scope).toList();
+        try {
+            // Pipelined so one write costs a single round trip however many scopes it touches
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                keys.forEach(key -> connection.stringCommands().incr(key.getBytes(StandardCharsets.UTF_8)));
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            // Stale results remain visible until their TTL expires
+            log.error("Bumping query generations {} failed: {}", scopes, ex.getMessage());
+        }
+    }
+
+    private Lookups lookups(String cacheName) {
+        return new Lookups(
+                counter(cacheName, "hit"), counter(cacheName, "miss"), counter(cacheName, "bypass"));
+    }
+
+    private Counter counter(String cacheName, String result) {
+        return Counter.builder("cache.query.gets")
+                .description("Query result cache lookups")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lookup counters of one cache, registered on its first lookup rather than on every one.
+     */
+    private record Lookups(Counter hits, Counter misses, Counter bypasses) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.template.cache;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collapses concurrent loads of the same key into one: the first caller runs
+ * the loader, later callers wait for its result (or its failure).
+ */
+public class SingleFlight {
+    
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+    
+    public SingleFlight(Counter coalesced) {
+        this.coalesced = coalesced;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Callable<T> loader) throws Exception {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+        try {
+            T value = loader.call();
+            flight.complete(value);
+            return value;
+        } catch (Exception | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+    
+    int inFlightCount() {
+        return inFlight.size();
+    }
+    
+    private static Object await(CompletableFuture<Object> flight) throws Exception {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.template.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Near cache: a bounded in-process L1 (Caffeine) in front of a shared L2 (Redis).
+ * Reads populate L1 from L2; writes and evictions go to L2 first, then L1, and
+ * evictions are broadcast so peer nodes drop their L1 copy.
+ */
+public class TwoTierCache implements Cache {
+
+    static final String TIER_L2 = "l2";
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final Cache remoteCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final DistributedLoadLock loadLock;
+    private final SingleFlight singleFlight;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteEvictions;
+    private final Counter lockWaits;
+
+    public TwoTierCache(
+            String name,
+            com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+            Cache remoteCache,
+            CacheInvalidationPublisher invalidationPublisher,
+            DistributedLoadLock loadLock,
+            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.loadLock = loadLock;
+        this.singleFlight = new SingleFlight(Counter.builder("cache.loads.coalesced")
+                .tag("cache", name)
+                .register(meterRegistry));
+        this.lockWaits = Counter.builder("cache.loads.lock.waits")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.remoteHits = remoteCounter(meterRegistry, "cache.gets", "result", "hit");
+        this.remoteMisses = remoteCounter(meterRegistry, "cache.gets", "result", "miss");
+        this.remoteEvictions = remoteCounter(meterRegistry, "cache.evictions", null, null);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = toLocalKey(key);
+        Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            return new SimpleValueWrapper(local);
+        }
+        ValueWrapper remote = remoteCache.get(key);
+        if (remote == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        if (remote.get() != null) {
+            localCache.put(localKey, remote.get());
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Backs {@code @Cacheable(sync = true)}. Concurrent misses for the same key on
+     * this node share one load; with a {@link DistributedLoadLock} configured, only
+     * one node loads and its peers wait for the value to appear in L2.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        try {
+            return singleFlight.execute(toLocalKey(key), () -> load(key, valueLoader));
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        if (value != null) {
+            localCache.put(toLocalKey(key), value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        if (current != null) {
+            localCache.put(toLocalKey(key), current);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        remoteEvictions.increment();
+        evictLocal(toLocalKey(key));
+        invalidationPublisher.publishEvict(name, toLocalKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remoteCache.evictIfPresent(key);
+        if (present) {
+            remoteEvictions.increment();
+        }
+        evictLocal(toLocalKey(key));
+        invalidationPublisher.publishEvict(name, toLocalKey(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        clearLocal();
+        invalidationPublisher.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean hadEntries = remoteCache.invalidate();
+        clearLocal();
+        invalidationPublisher.publishClear(name);
+        return hadEntries;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T load(Object key, Callable<T> valueLoader) throws Exception {
+        if (loadLock == null) {
+            return loadAndPut(key, valueLoader);
+        }
+        String lockKey = name + "::" + toLocalKey(key);
+        Optional<String> token = loadLock.tryAcquire(lockKey);
+        if (token.isEmpty()) {
+            lockWaits.increment();
+            ValueWrapper loaded = loadLock.awaitValue(lockKey, () -> remoteCache.get(key));
+            if (loaded != null) {
+                if (loaded.get() != null) {
+                    localCache.put(toLocalKey(key), loaded.get());
+                }
+                return (T) loaded.get();
+            }
+            return loadAndPut(key, valueLoader);
+        }
+        try {
+            return loadAndPut(key, valueLoader);
+        } finally {
+            loadLock.release(lockKey, token.get());
+        }
+    }
+
+    private <T> T loadAndPut(Object key, Callable<T> valueLoader) throws Exception {
+        T value = valueLoader.call();
+        put(key, value);
+        return value;
+    }
+
+    Cache remoteCache() {
+        return remoteCache;
+    }
+
+    Map<String, Object> getAllLocal(Collection<String> localKeys) {
+        return localCache.getAllPresent(localKeys);
+    }
+
+    void putLocal(String localKey, Object value) {
+        localCache.put(localKey, value);
+    }
+
+    void recordRemoteGets(int hits, int misses) {
+        remoteHits.increment(hits);
+        remoteMisses.increment(misses);
+    }
+
+    void evictLocal(String localKey) {
+        localCache.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    static String toLocalKey(Object key) {
+        // Matches how RedisCache renders keys, so peers can address the same entry by string
+        return String.valueOf(key);
+    }
+
+    private Counter remoteCounter(MeterRegistry meterRegistry, String meterName, String tagKey, String tagValue) {
+        Counter.Builder builder = Counter.builder(meterName)
+                .tag("cache", name)
+                .tag("tier", TIER_L2);
+        if (tagKey != null) {
+            builder.tag(tagKey, tagValue);
+        }
+        return builder.register(meterRegistry);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.template.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Composes every cache of the wrapped L2 {@link CacheManager} with a bounded,
+ * TTL-evicting in-process L1. The L1 TTL is the upper bound on staleness if a
+ * cross-node invalidation is lost. {@code loadLock} is optional; without it
+ * loads are only coalesced per node.
+ */
+@Slf4j
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final DistributedLoadLock loadLock;
+    private final MeterRegistry meterRegistry;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final Map<String, TwoTierCache> twoTierCaches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(
+            CacheManager remoteCacheManager,
+            CacheInvalidationPublisher invalidationPublisher,
+            DistributedLoadLock loadLock,
+            MeterRegistry meterRegistry,
+            long localMaxSize,
+            Duration localTtl) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.loadLock = loadLock;
+        this.meterRegistry = meterRegistry;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return List.of();
+    }
+
+    /**
+     * {@code AbstractCacheManager} calls this outside its lock and keeps the first cache it
+     * stores, so racing callers must get the same instance: the one invalidations reach.
+     */
+    @Override
+    protected Cache getMissingCache(String name) {
+        return twoTierCaches.computeIfAbsent(name, this::createCache);
+    }
+
+    private TwoTierCache createCache(String name) {
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, name, "tier", "l1");
+        return new TwoTierCache(name, localCache, remoteCache, invalidationPublisher, loadLock, meterRegistry);
+    }
+
+    /**
+     * Applies an invalidation broadcast by a peer node to the local tier only.
+     */
+    public void handleInvalidation(String payload) {
+        CacheInvalidationMessage message;
+        try {
+            message = CacheInvalidationMessage.decode(payload);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring cache invalidation: {}", ex.getMessage());
+            return;
+        }
+        if (invalidationPublisher.getNodeId().equals(message.origin())) {
+            return;
+        }
+        TwoTierCache cache = twoTierCaches.get(message.cacheName());
+        if (cache == null) {
+            return;
+        }
+        log.debug("Applying remote invalidation for cache [{}] key [{}]", message.cacheName(), message.key());
+        if (message.isClear()) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(message.key());
+        }
+    }
+}
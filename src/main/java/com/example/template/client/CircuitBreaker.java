@@ -0,0 +1,146 @@
+package com.example.template.client;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. While closed it records the outcome of the last
+ * {@code slidingWindowSize} calls and opens once at least {@code minimumCalls} were
+ * recorded and the failure rate reaches the threshold. An open circuit rejects calls for
+ * {@code openDuration}, then lets {@code halfOpenCalls} probes through: it closes when
+ * all of them succeed and opens again on the first failure.
+ *
+ * <p>{@link #tryAcquire()} returns a permit that identifies the state the call was
+ * admitted in; outcomes of calls admitted before the latest transition are ignored.
+ */
+final class CircuitBreaker {
+    
+    enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    interface Listener {
+        void onTransition(State from, State to);
+    }
+    
+    static final long REJECTED = -1;
+    
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final boolean[] window;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoTime;
+    private final Listener listener;
+    
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+    
+    CircuitBreaker(ResiliencePolicy policy, LongSupplier nanoTime, Listener listener) {
+        if (policy.slidingWindowSize() < 1 || policy.halfOpenCalls() < 1) {
+            throw new IllegalArgumentException("Circuit breaker needs a positive window and half-open call count");
+        }
+        this.failureRateThreshold = policy.failureRateThreshold();
+        this.minimumCalls = Math.min(policy.minimumCalls(), policy.slidingWindowSize());
+        this.window = new boolean[policy.slidingWindowSize()];
+        this.openNanos = policy.openDuration().toNanos();
+        this.halfOpenCalls = policy.halfOpenCalls();
+        this.nanoTime = nanoTime;
+        this.listener = listener;
+    }
+    
+    synchronized State state() {
+        return state;
+    }
+    
+    /**
+     * Returns a permit for one call, or {@link #REJECTED} if the circuit does not let it through.
+     */
+    synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoTime.getAsLong() - openedAt < openNanos) {
+                return REJECTED;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight + halfOpenSuccesses >= halfOpenCalls) {
+                return REJECTED;
+            }
+            halfOpenInFlight++;
+        }
+        return generation;
+    }
+    
+    synchronized void onSuccess(long permit) {
+        if (permit != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight--;
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                transition(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+    
+    synchronized void onFailure(long permit) {
+        if (permit != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && failures * 100L >= (long) failureRateThreshold * recorded) {
+                transition(State.OPEN);
+            }
+        }
+    }
+    
+    /**
+     * Releases a permit whose call ended without an outcome, e.g. a cancelled hedge.
+     */
+    synchronized void onIgnored(long permit) {
+        if (permit == generation && state == State.HALF_OPEN) {
+            halfOpenInFlight--;
+        }
+    }
+    
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+    
+    private void transition(State to) {
+        State from = state;
+        state = to;
+        generation++;
+        if (to == State.OPEN) {
+            openedAt = nanoTime.getAsLong();
+        } else if (to == State.HALF_OPEN) {
+            halfOpenInFlight = 0;
+            halfOpenSuccesses = 0;
+        } else {
+            next = 0;
+            recorded = 0;
+            failures = 0;
+        }
+        listener.onTransition(from, to);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.template.client;
+
+import org.slf4j.MDC;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Adds the caller's correlation id to each outbound request. The id is read from the MDC
+ * when the request is built, through {@link #capture()}, because the exchange itself may
+ * run on a Netty thread that has no MDC.
+ */
+public class CorrelationIdExchangeFilter implements ExchangeFilterFunction {
+    
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    static final String CORRELATION_ID_KEY = "correlationId";
+    static final String ATTRIBUTE = CorrelationIdExchangeFilter.class.getName() + ".correlationId";
+    
+    /**
+     * Request attributes carrying the correlation id of the current thread, if any.
+     */
+    public static Consumer<Map<String, Object>> capture() {
+        String correlationId = MDC.get(CORRELATION_ID_KEY);
+        return attributes -> {
+            if (correlationId != null && !correlationId.isEmpty()) {
+                attributes.put(ATTRIBUTE, correlationId);
+            }
+        };
+    }
+    
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return request.attribute(ATTRIBUTE)
+                .map(correlationId -> next.exchange(ClientRequest.from(request)
+                        .header(CORRELATION_ID_HEADER, correlationId.toString())
+                        .build()))
+                .orElseGet(() -> next.exchange(request));
+    }
+}
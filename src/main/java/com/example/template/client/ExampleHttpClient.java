@@ -3,80 +3,76 @@ package com.example.template.client;
 import com.example.template.exception.ExternalServiceException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.MDC;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
+import java.net.URI;
+import java.util.Map;
+import java.util.function.Consumer;
 
+/**
+ * Outbound HTTP calls through the shared, pooled {@code exampleWebClient}. The client is
+ * built once at startup; building one per call would redo codec and connector setup on
+ * every request. Every call runs under the {@link OutboundResilience} policy of its
+ * target (host and port): GETs may be retried and hedged, POSTs are sent at most once.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ExampleHttpClient {
     
-    private static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
-    private static final String CORRELATION_ID_KEY = "correlationId";
-    
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient webClient;
+    private final OutboundResilience resilience;
     
     public <T> Mono<T> get(String url, Class<T> responseType) {
-        return buildWebClient()
-                .get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(responseType)
-                .timeout(Duration.ofSeconds(10))
-                .doOnError(WebClientResponseException.class, ex -> {
-                    log.error("External service error: {} - {}", ex.getStatusCode(), ex.getMessage());
-                    throw new ExternalServiceException(
-                            "External service error: " + ex.getMessage(),
-                            ex.getStatusCode().value(),
-                            ex
-                    );
-                })
-                .doOnError(Exception.class, ex -> {
-                    log.error("Unexpected error calling external service: {}", ex.getMessage(), ex);
-                    throw new ExternalServiceException(
-                            "Unexpected error calling external service: " + ex.getMessage(),
-                            HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                            ex
-                    );
-                });
+        Consumer<Map<String, Object>> correlation = CorrelationIdExchangeFilter.capture();
+        return resilience.execute(target(url), true, () -> webClient
+                        .get()
+                        .uri(url)
+                        .attributes(correlation)
+                        .retrieve()
+                        .bodyToMono(responseType))
+                .onErrorMap(ExampleHttpClient::toExternalServiceException);
     }
     
     public <T> Mono<T> post(String url, Object requestBody, Class<T> responseType) {
-        return buildWebClient()
-                .post()
-                .uri(url)
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(responseType)
-                .timeout(Duration.ofSeconds(10))
-                .doOnError(WebClientResponseException.class, ex -> {
-                    log.error("External service error: {} - {}", ex.getStatusCode(), ex.getMessage());
-                    throw new ExternalServiceException(
-                            "External service error: " + ex.getMessage(),
-                            ex.getStatusCode().value(),
-                            ex
-                    );
-                })
-                .doOnError(Exception.class, ex -> {
-                    log.error("Unexpected error calling external service: {}", ex.getMessage(), ex);
-                    throw new ExternalServiceException(
-                            "Unexpected error calling external service: " + ex.getMessage(),
-                            HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                            ex
-                    );
-                });
+        Consumer<Map<String, Object>> correlation = CorrelationIdExchangeFilter.capture();
+        return resilience.execute(target(url), false, () -> webClient
+                        .post()
+                        .uri(url)
+                        .attributes(correlation)
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToMono(responseType))
+                .onErrorMap(ExampleHttpClient::toExternalServiceException);
+    }
+    
+    static String target(String url) {
+        String authority = URI.create(url).getAuthority();
+        return authority != null ? authority : "unknown";
     }
     
-    private WebClient buildWebClient() {
-        String correlationId = MDC.get(CORRELATION_ID_KEY);
-        return webClientBuilder
-                .defaultHeader(CORRELATION_ID_HEADER, correlationId != null ? correlationId : "")
-                .build();
+    private static Throwable toExternalServiceException(Throwable ex) {
+        if (ex instanceof ExternalServiceException) {
+            log.error("External service call rejected: {}", ex.getMessage());
+            return ex;
+        }
+        if (ex instanceof WebClientResponseException responseException) {
+            log.error("External service error: {} - {}", responseException.getStatusCode(), ex.getMessage());
+            return new ExternalServiceException(
+                    "External service error: " + ex.getMessage(),
+                    responseException.getStatusCode().value(),
+                    ex
+            );
+        }
+        log.error("Unexpected error calling external service: {}", ex.getMessage(), ex);
+        return new ExternalServiceException(
+                "Unexpected error calling external service: " + ex.getMessage(),
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                ex
+        );
     }
 }
@@ -0,0 +1,240 @@
+package com.example.template.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Private HTTP cache for GET responses, kept in a bounded in-memory tier.
+ *
+ * <p>A 200 response is stored when it is not marked {@code no-store}, has no {@code Vary}
+ * header, is at most {@code maxEntrySize} bytes and is either fresh for a while
+ * ({@code max-age} or {@code Expires}) or carries a validator ({@code ETag} or
+ * {@code Last-Modified}). A fresh entry is served without a request. A stale one, or any
+ * entry marked {@code no-cache}, is revalidated with {@code If-None-Match} and
+ * {@code If-Modified-Since}; a 304 refreshes the stored freshness and serves the stored
+ * body, anything else replaces or drops the entry. A body without a Content-Length is
+ * buffered only up to {@code maxEntrySize}; a larger one streams through uncached.
+ */
+public class HttpResponseCacheFilter implements ExchangeFilterFunction {
+    
+    private static final List<String> REVALIDATION_HEADERS = List.of(
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.EXPIRES, HttpHeaders.DATE, HttpHeaders.AGE,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+    
+    private final Cache<String, CachedResponse> entries;
+    private final int maxEntrySize;
+    private final ExchangeStrategies strategies;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter revalidations;
+    private final Counter misses;
+    
+    public HttpResponseCacheFilter(long maxSize, int maxEntrySize, ExchangeStrategies strategies, MeterRegistry meterRegistry) {
+        this(maxSize, maxEntrySize, strategies, meterRegistry, Clock.systemUTC());
+    }
+    
+    HttpResponseCacheFilter(
+            long maxSize, int maxEntrySize, ExchangeStrategies strategies, MeterRegistry meterRegistry, Clock clock) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((String url, CachedResponse entry) -> url.length() + entry.body().length)
+                .recordStats()
+                .build();
+        this.maxEntrySize = maxEntrySize;
+        this.strategies = strategies;
+        this.clock = clock;
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "http-responses");
+        this.hits = requests(meterRegistry, "hit");
+        this.revalidations = requests(meterRegistry, "revalidated");
+        this.misses = requests(meterRegistry, "miss");
+    }
+    
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET || directives(request.headers()).containsKey("no-store")) {
+            return next.exchange(request);
+        }
+        String key = request.url().toString();
+        CachedResponse cached = entries.getIfPresent(key);
+        if (cached == null) {
+            misses.increment();
+            return next.exchange(request).flatMap(response -> store(key, response));
+        }
+        if (!cached.noCache() && clock.millis() < cached.freshUntil()) {
+            hits.increment();
+            return Mono.just(cached.toResponse(strategies));
+        }
+        ClientRequest conditional = ClientRequest.from(request)
+                .headers(headers -> {
+                    if (cached.headers().getETag() != null) {
+                        headers.setIfNoneMatch(cached.headers().getETag());
+                    }
+                    if (cached.headers().getLastModified() >= 0) {
+                        headers.setIfModifiedSince(cached.headers().getLastModified());
+                    }
+                })
+                .build();
+        return next.exchange(conditional).flatMap(response -> {
+            if (response.statusCode().value() != HttpStatus.NOT_MODIFIED.value()) {
+                misses.increment();
+                entries.invalidate(key);
+                return store(key, response);
+            }
+            revalidations.increment();
+            CachedResponse refreshed = cached.revalidated(response.headers().asHttpHeaders(), clock.millis());
+            entries.put(key, refreshed);
+            return response.releaseBody().thenReturn(refreshed.toResponse(strategies));
+        });
+    }
+    
+    private Mono<ClientResponse> store(String key, ClientResponse response) {
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        Map<String, String> directives = directives(headers);
+        boolean cacheable = response.statusCode().value() == HttpStatus.OK.value()
+                && !directives.containsKey("no-store")
+                && !headers.containsHeader(HttpHeaders.VARY)
+                && headers.getContentLength() <= maxEntrySize
+                && (freshnessLifetime(headers, directives) > 0
+                        || headers.getETag() != null || headers.getLastModified() >= 0);
+        if (!cacheable) {
+            return Mono.just(response);
+        }
+        long receivedAt = clock.millis();
+        // Chunked responses have no Content-Length, so the body is held only until it outgrows
+        // maxEntrySize; from then on it is passed through as read and nothing is stored
+        Flux<DataBuffer> body = Flux.defer(() -> {
+            long[] size = {0};
+            return response.bodyToFlux(DataBuffer.class)
+                    .bufferUntil(buffer -> (size[0] += buffer.readableByteCount()) > maxEntrySize)
+                    .defaultIfEmpty(List.of())
+                    .concatMapIterable(buffers -> {
+                        if (size[0] > maxEntrySize) {
+                            return buffers;
+                        }
+                        byte[] bytes = drain(buffers);
+                        entries.put(key, CachedResponse.of(headers, bytes, receivedAt));
+                        return List.of(wrap(bytes));
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+        return Mono.just(response.mutate().body(body).build());
+    }
+    
+    static Map<String, String> directives(HttpHeaders headers) {
+        Map<String, String> directives = new HashMap<>();
+        for (String value : headers.getValuesAsList(HttpHeaders.CACHE_CONTROL)) {
+            int equals = value.indexOf('=');
+            String name = (equals < 0 ? value : value.substring(0, equals)).trim().toLowerCase(Locale.ROOT);
+            String argument = equals < 0 ? "" : value.substring(equals + 1).trim().replace("\"", "");
+            directives.put(name, argument);
+        }
+        return directives;
+    }
+    
+    /**
+     * Milliseconds the response is fresh for after it was generated, per {@code max-age}
+     * or else {@code Expires}; zero if neither is present or parseable.
+     */
+    static long freshnessLifetime(HttpHeaders headers, Map<String, String> directives) {
+        String maxAge = directives.get("max-age");
+        if (maxAge != null) {
+            try {
+                return Math.max(0, Long.parseLong(maxAge) * 1000);
+            } catch (NumberFormatException ex) {
+                return 0;
+            }
+        }
+        try {
+            long expires = headers.getExpires();
+            long date = headers.getDate();
+            return expires >= 0 && date >= 0 ? Math.max(0, expires - date) : 0;
+        } catch (IllegalArgumentException ex) {
+            // An unparseable Expires means already expired
+            return 0;
+        }
+    }
+    
+    private static byte[] drain(List<DataBuffer> buffers) {
+        byte[] bytes = new byte[buffers.stream().mapToInt(DataBuffer::readableByteCount).sum()];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.read(bytes, offset, length);
+            offset += length;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+    
+    private static DataBuffer wrap(byte[] body) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(body);
+    }
+    
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("http.client.cache.requests")
+                .description("GET requests through the HTTP response cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    private record CachedResponse(HttpHeaders headers, byte[] body, long freshUntil, boolean noCache) {
+        
+        static CachedResponse of(HttpHeaders headers, byte[] body, long receivedAt) {
+            Map<String, String> directives = directives(headers);
+            long age = parseAge(headers.getFirst(HttpHeaders.AGE));
+            long freshUntil = receivedAt + freshnessLifetime(headers, directives) - age;
+            HttpHeaders stored = new HttpHeaders();
+            stored.addAll(headers);
+            return new CachedResponse(stored, body, freshUntil, directives.containsKey("no-cache"));
+        }
+        
+        CachedResponse revalidated(HttpHeaders notModified, long receivedAt) {
+            HttpHeaders merged = new HttpHeaders();
+            merged.addAll(headers);
+            for (String name : REVALIDATION_HEADERS) {
+                List<String> values = notModified.get(name);
+                if (values != null && !values.isEmpty()) {
+                    merged.put(name, values);
+                }
+            }
+            return of(merged, body, receivedAt);
+        }
+        
+        ClientResponse toResponse(ExchangeStrategies strategies) {
+            return ClientResponse.create(HttpStatus.OK, strategies)
+                    .headers(target -> target.addAll(headers))
+                    .body(Flux.just(wrap(body)))
+                    .build();
+        }
+        
+        private static long parseAge(String age) {
+            try {
+                return age == null ? 0 : Math.max(0, Long.parseLong(age.trim()) * 1000);
+            } catch (NumberFormatException ex) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.template.client;
+
+import com.example.template.exception.ExternalServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Guards outbound calls per target service (host and port) with a circuit breaker, a
+ * concurrency bulkhead and a per-attempt timeout. Idempotent calls are additionally
+ * retried with jittered exponential backoff and, when enabled, hedged: a second attempt
+ * is sent once the first has been pending for longer than the configured latency
+ * percentile of the target, and whichever answers first wins.
+ *
+ * <p>Only server errors (5xx, 429), timeouts and connection failures count against the
+ * circuit and are retried; a 4xx answer means the target is healthy. Calls rejected by
+ * an open circuit or a full bulkhead fail immediately with a 503 {@link ExternalServiceException}.
+ */
+@Slf4j
+public class OutboundResilience {
+    
+    private static final Duration HEDGE_DELAY_REFRESH = Duration.ofSeconds(1);
+    
+    private final ResiliencePolicy defaults;
+    private final Map<String, ResiliencePolicy.Overrides> overrides;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoTime;
+    private final ConcurrentMap<String, Target> targets = new ConcurrentHashMap<>();
+    
+    public OutboundResilience(
+            ResiliencePolicy defaults, Map<String, ResiliencePolicy.Overrides> overrides, MeterRegistry meterRegistry) {
+        this(defaults, overrides, meterRegistry, System::nanoTime);
+    }
+    
+    OutboundResilience(
+            ResiliencePolicy defaults,
+            Map<String, ResiliencePolicy.Overrides> overrides,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoTime) {
+        this.defaults = defaults;
+        this.overrides = Map.copyOf(overrides);
+        this.meterRegistry = meterRegistry;
+        this.nanoTime = nanoTime;
+    }
+    
+    /**
+     * Runs {@code call} for {@code target} under its policy. {@code call} is invoked once per
+     * attempt, so it must build a fresh request each time.
+     */
+    public <T> Mono<T> execute(String target, boolean idempotent, Supplier<Mono<T>> call) {
+        Target guard = targets.computeIfAbsent(target, this::newTarget);
+        ResiliencePolicy policy = guard.policy;
+        if (!idempotent) {
+            return guarded(guard, call);
+        }
+        Mono<T> attempt = policy.hedge() ? hedged(guard, call) : guarded(guard, call);
+        if (policy.maxRetries() <= 0) {
+            return attempt;
+        }
+        return attempt.retryWhen(Retry.backoff(policy.maxRetries(), policy.retryBackoff())
+                .jitter(0.5)
+                .filter(OutboundResilience::isFailure)
+                .doBeforeRetry(signal -> guard.retries.increment())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+    
+    ResiliencePolicy policy(String target) {
+        return targets.computeIfAbsent(target, this::newTarget).policy;
+    }
+    
+    CircuitBreaker.State circuitState(String target) {
+        return targets.computeIfAbsent(target, this::newTarget).breaker.state();
+    }
+    
+    private <T> Mono<T> guarded(Target guard, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            long permit = guard.breaker.tryAcquire();
+            if (permit == CircuitBreaker.REJECTED) {
+                guard.circuitRejections.increment();
+                return Mono.error(rejected(guard, "circuit breaker is open"));
+            }
+            if (!guard.bulkhead.tryAcquire()) {
+                guard.breaker.onIgnored(permit);
+                guard.bulkheadRejections.increment();
+                return Mono.error(rejected(guard, "too many concurrent calls"));
+            }
+            long start = nanoTime.getAsLong();
+            Mono<T> response;
+            try {
+                response = call.get();
+            } catch (RuntimeException ex) {
+                // Thrown while building the request: nothing was sent, so the call says nothing about the target
+                guard.breaker.onIgnored(permit);
+                guard.bulkhead.release();
+                return Mono.error(ex);
+            }
+            return response
+                    .timeout(guard.policy.timeout())
+                    .doOnSuccess(value -> {
+                        guard.latency.record(nanoTime.getAsLong() - start, TimeUnit.NANOSECONDS);
+                        guard.breaker.onSuccess(permit);
+                    })
+                    .doOnError(ex -> {
+                        if (isFailure(ex)) {
+                            guard.breaker.onFailure(permit);
+                        } else {
+                            guard.breaker.onSuccess(permit);
+                        }
+                    })
+                    .doOnCancel(() -> guard.breaker.onIgnored(permit))
+                    .doFinally(signal -> guard.bulkhead.release());
+        });
+    }
+    
+    private <T> Mono<T> hedged(Target guard, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Duration delay = guard.hedgeDelay();
+            if (delay == null) {
+                return guarded(guard, call);
+            }
+            // A failed or rejected hedge leaves the outcome to the first attempt
+            Mono<T> hedge = Mono.delay(delay)
+                    .then(Mono.defer(() -> {
+                        guard.hedges.increment();
+                        return guarded(guard, call);
+                    }))
+                    .onErrorResume(ex -> Mono.never());
+            return Mono.firstWithSignal(guarded(guard, call), hedge);
+        });
+    }
+    
+    static boolean isFailure(Throwable ex) {
+        if (ex instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return ex instanceof TimeoutException || ex instanceof WebClientRequestException;
+    }
+    
+    private static ExternalServiceException rejected(Target guard, String reason) {
+        return new ExternalServiceException(
+                "Call to " + guard.name + " rejected: " + reason, HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+    
+    private Target newTarget(String name) {
+        ResiliencePolicy policy = defaults.with(overrides.getOrDefault(name, ResiliencePolicy.Overrides.NONE));
+        return new Target(name, policy);
+    }
+    
+    private final class Target {
+        
+        private final String name;
+        private final ResiliencePolicy policy;
+        private final CircuitBreaker breaker;
+        private final Semaphore bulkhead;
+        private final Timer latency;
+        private final Counter retries;
+        private final Counter hedges;
+        private final Counter circuitRejections;
+        private final Counter bulkheadRejections;
+        private volatile Duration hedgeDelay;
+        private volatile long hedgeDelayRefreshedAt;
+        
+        private Target(String name, ResiliencePolicy policy) {
+            this.name = name;
+            this.policy = policy;
+            this.breaker = new CircuitBreaker(policy, nanoTime, this::onTransition);
+            this.bulkhead = new Semaphore(policy.maxConcurrentCalls());
+            this.latency = Timer.builder("http.client.target.latency")
+                    .description("Latency of successful outbound call attempts")
+                    .tag("target", name)
+                    .publishPercentiles(policy.hedgePercentile())
+                    .distributionStatisticExpiry(Duration.ofMinutes(1))
+                    .register(meterRegistry);
+            this.retries = counter("http.client.retries", "Retries of failed idempotent outbound calls");
+            this.hedges = counter("http.client.hedges", "Hedged attempts sent for slow idempotent outbound calls");
+            this.circuitRejections = rejections("circuit_open");
+            this.bulkheadRejections = rejections("bulkhead_full");
+            Gauge.builder("http.client.circuit.state", breaker, b -> b.state().ordinal())
+                    .description("Circuit state per target: 0 closed, 1 open, 2 half-open")
+                    .tag("target", name)
+                    .register(meterRegistry);
+            Gauge.builder("http.client.bulkhead.active", bulkhead, b -> policy.maxConcurrentCalls() - b.availablePermits())
+                    .description("Outbound calls in flight per target")
+                    .tag("target", name)
+                    .register(meterRegistry);
+        }
+        
+        /**
+         * The configured latency percentile, refreshed at most once a second, or {@code null}
+         * while there are too few samples to hedge on.
+         */
+        private Duration hedgeDelay() {
+            long now = nanoTime.getAsLong();
+            Duration cached = hedgeDelay;
+            if (cached != null && now - hedgeDelayRefreshedAt < HEDGE_DELAY_REFRESH.toNanos()) {
+                return cached;
+            }
+            Duration delay = null;
+            if (latency.count() >= policy.minimumCalls()) {
+                for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                    Duration percentile = Duration.ofNanos((long) value.value(TimeUnit.NANOSECONDS));
+                    delay = percentile.compareTo(policy.hedgeMinDelay()) > 0 ? percentile : policy.hedgeMinDelay();
+                }
+            }
+            hedgeDelay = delay;
+            hedgeDelayRefreshedAt = now;
+            return delay;
+        }
+        
+        private void onTransition(CircuitBreaker.State from, CircuitBreaker.State to) {
+            log.warn("Circuit for {} changed from {} to {}", name, from, to);
+            Counter.builder("http.client.circuit.transitions")
+                    .description("Circuit breaker state changes per target")
+                    .tag("target", name)
+                    .tag("from", from.name().toLowerCase())
+                    .tag("to", to.name().toLowerCase())
+                    .register(meterRegistry)
+                    .increment();
+        }
+        
+        private Counter counter(String meterName, String description) {
+            return Counter.builder(meterName).description(description).tag("target", name).register(meterRegistry);
+        }
+        
+        private Counter rejections(String reason) {
+            return Counter.builder("http.client.calls.rejected")
+                    .description("Outbound calls rejected without being sent")
+                    .tag("target", name)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.template.client;
+
+import java.time.Duration;
+
+/**
+ * Resilience settings for calls to one target service.
+ *
+ * @param timeout              upper bound on a single attempt
+ * @param failureRateThreshold percentage of failed calls in the window that opens the circuit
+ * @param minimumCalls         calls recorded before the failure rate is evaluated, and latency
+ *                             samples needed before requests are hedged
+ * @param slidingWindowSize    number of most recent calls the failure rate is computed over
+ * @param openDuration         how long an open circuit rejects calls before letting probes through
+ * @param halfOpenCalls        successful probes needed to close the circuit again
+ * @param maxConcurrentCalls   bulkhead size; calls beyond it are rejected immediately
+ * @param maxRetries           retries of a failed GET, zero to disable
+ * @param retryBackoff         first retry backoff, doubled per retry with jitter
+ * @param hedge                whether GETs are hedged
+ * @param hedgePercentile      latency percentile after which a GET is sent a second time
+ * @param hedgeMinDelay        lower bound on the hedging delay
+ */
+public record ResiliencePolicy(
+        Duration timeout,
+        int failureRateThreshold,
+        int minimumCalls,
+        int slidingWindowSize,
+        Duration openDuration,
+        int halfOpenCalls,
+        int maxConcurrentCalls,
+        int maxRetries,
+        Duration retryBackoff,
+        boolean hedge,
+        double hedgePercentile,
+        Duration hedgeMinDelay) {
+    
+    public static final ResiliencePolicy DEFAULTS = new ResiliencePolicy(
+            Duration.ofSeconds(10), 50, 20, 50, Duration.ofSeconds(30), 5, 50, 2, Duration.ofMillis(100),
+            false, 0.95, Duration.ofMillis(50));
+    
+    /**
+     * This policy with every setting present in {@code overrides} replaced.
+     */
+    public ResiliencePolicy with(Overrides overrides) {
+        return new ResiliencePolicy(
+                orElse(overrides.timeout(), timeout),
+                orElse(overrides.failureRateThreshold(), failureRateThreshold),
+                orElse(overrides.minimumCalls(), minimumCalls),
+                orElse(overrides.slidingWindowSize(), slidingWindowSize),
+                orElse(overrides.openDuration(), openDuration),
+                orElse(overrides.halfOpenCalls(), halfOpenCalls),
+                orElse(overrides.maxConcurrentCalls(), maxConcurrentCalls),
+                orElse(overrides.maxRetries(), maxRetries),
+                orElse(overrides.retryBackoff(), retryBackoff),
+                orElse(overrides.hedge(), hedge),
+                orElse(overrides.hedgePercentile(), hedgePercentile),
+                orElse(overrides.hedgeMinDelay(), hedgeMinDelay));
+    }
+    
+    private static <T> T orElse(T value, T fallback) {
+        return value != null ? value : fallback;
+    }
+    
+    /**
+     * Settings configured for a target, {@code null} where the defaults apply.
+     */
+    public record Overrides(
+            Duration timeout,
+            Integer failureRateThreshold,
+            Integer minimumCalls,
+            Integer slidingWindowSize,
+            Duration openDuration,
+            Integer halfOpenCalls,
+            Integer maxConcurrentCalls,
+            Integer maxRetries,
+            Duration retryBackoff,
+            Boolean hedge,
+            Double hedgePercentile,
+            Duration hedgeMinDelay) {
+        
+        public static final Overrides NONE = new Overrides(
+                null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+}
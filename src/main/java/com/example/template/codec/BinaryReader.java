@@ -0,0 +1,100 @@
+package com.example.template.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Reads values written by {@link BinaryWriter}. Malformed or truncated input fails
+ * with {@link IllegalArgumentException}; callers translate it to their own exception type.
+ */
+public class BinaryReader {
+    
+    private final ByteBuffer buffer;
+    
+    public BinaryReader(byte[] data, int offset, int length) {
+        this.buffer = ByteBuffer.wrap(data, offset, length);
+    }
+    
+    public BinaryReader(byte[] data) {
+        this(data, 0, data.length);
+    }
+    
+    /**
+     * Index in the backing array of the next byte to be read.
+     */
+    public int position() {
+        return buffer.position();
+    }
+    
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+    
+    public byte readByte() {
+        require(1);
+        return buffer.get();
+    }
+    
+    public long readLong() {
+        require(Long.BYTES);
+        return buffer.getLong();
+    }
+    
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+    
+    public Long readNullableLong() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long zigZag = readVarLong();
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+    
+    public String readString() {
+        long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        if (length - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("String length out of range: " + (length - 1));
+        }
+        int size = (int) (length - 1);
+        require(size);
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), size, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + size);
+        return value;
+    }
+    
+    public LocalDateTime readTimestamp() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long zigZag = readVarLong();
+        long epochSecond = (zigZag >>> 1) ^ -(zigZag & 1);
+        long nanos = readVarLong();
+        try {
+            return LocalDateTime.ofEpochSecond(epochSecond, (int) nanos, ZoneOffset.UTC);
+        } catch (DateTimeException ex) {
+            throw new IllegalArgumentException("Invalid timestamp", ex);
+        }
+    }
+    
+    private void require(int bytes) {
+        if (bytes < 0 || buffer.remaining() < bytes) {
+            throw new IllegalArgumentException("Truncated record");
+        }
+    }
+}
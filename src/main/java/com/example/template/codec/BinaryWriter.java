@@ -0,0 +1,63 @@
+package com.example.template.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Primitive encoders shared by the compact binary codecs. Strings are a varint of
+ * {@code length + 1} (0 = null) followed by UTF-8; nullable numbers are a presence
+ * byte and a zig-zag varint; timestamps are a presence byte, zig-zag varint epoch
+ * seconds (UTC) and varint nanos.
+ */
+public class BinaryWriter extends ByteArrayOutputStream {
+    
+    public BinaryWriter(int initialSize) {
+        super(initialSize);
+    }
+    
+    public void writeLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            write((int) (value >>> shift));
+        }
+    }
+    
+    public void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        write((int) value);
+    }
+    
+    public void writeNullableLong(Long value) {
+        if (value == null) {
+            write(0);
+            return;
+        }
+        write(1);
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+    
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        write(bytes, 0, bytes.length);
+    }
+    
+    public void writeTimestamp(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            write(0);
+            return;
+        }
+        write(1);
+        long epochSecond = timestamp.toEpochSecond(ZoneOffset.UTC);
+        writeVarLong((epochSecond << 1) ^ (epochSecond >> 63));
+        writeVarLong(timestamp.getNano());
+    }
+}
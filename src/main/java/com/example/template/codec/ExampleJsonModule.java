@@ -0,0 +1,146 @@
+package com.example.template.codec;
+
+import com.example.template.dto.PageResponse;
+import com.example.template.entity.ExampleEntity;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.util.List;
+
+/**
+ * Hand-written Jackson serializers for the two hottest response types, picked up by the
+ * application {@code JsonMapper}. They write the same JSON as the bean serializers, but
+ * with property names encoded once up front and without per-property reflection or
+ * inclusion checks; timestamps still go through the configured {@code java.time} format.
+ * A page's content is written straight from its list, element by element.
+ *
+ * <p>Any property added to {@link ExampleEntity} or {@link PageResponse} must be added
+ * here too; {@code ExampleJsonModuleTest} compares the output with the bean serializers.
+ */
+@Component
+@ConditionalOnProperty(name = "app.web.json.precomputed-serializers", havingValue = "true", matchIfMissing = true)
+public class ExampleJsonModule extends SimpleModule {
+    
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString DESCRIPTION_TRUNCATED = new SerializedString("descriptionTruncated");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString VERSION = new SerializedString("version");
+    
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString PAGE = new SerializedString("page");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializableString FIRST = new SerializedString("first");
+    private static final SerializableString LAST = new SerializedString("last");
+    private static final SerializableString APPROXIMATE = new SerializedString("approximate");
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ExampleJsonModule() {
+        super("example-json");
+        EntitySerializer entitySerializer = new EntitySerializer();
+        addSerializer(ExampleEntity.class, entitySerializer);
+        addSerializer((Class) PageResponse.class, new PageSerializer(entitySerializer));
+    }
+    
+    static final class EntitySerializer extends ValueSerializer<ExampleEntity> {
+        
+        @Override
+        public void serialize(ExampleEntity entity, JsonGenerator gen, SerializationContext context) {
+            gen.writeStartObject(entity);
+            gen.writeName(ID);
+            writeNullable(gen, entity.getId());
+            gen.writeName(NAME);
+            gen.writeString(entity.getName());
+            gen.writeName(DESCRIPTION);
+            gen.writeString(entity.getDescription());
+            // @JsonInclude(NON_DEFAULT) on the entity: only present when set
+            if (entity.isDescriptionTruncated()) {
+                gen.writeName(DESCRIPTION_TRUNCATED);
+                gen.writeBoolean(true);
+            }
+            gen.writeName(STATUS);
+            gen.writeString(entity.getStatus());
+            gen.writeName(CREATED_AT);
+            context.writeValue(gen, entity.getCreatedAt());
+            gen.writeName(UPDATED_AT);
+            context.writeValue(gen, entity.getUpdatedAt());
+            gen.writeName(VERSION);
+            writeNullable(gen, entity.getVersion());
+            gen.writeEndObject();
+        }
+        
+        @Override
+        public Class<?> handledType() {
+            return ExampleEntity.class;
+        }
+        
+        private static void writeNullable(JsonGenerator gen, Number value) {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.longValue());
+            }
+        }
+    }
+    
+    static final class PageSerializer extends ValueSerializer<PageResponse<?>> {
+        
+        private final EntitySerializer entitySerializer;
+        
+        PageSerializer(EntitySerializer entitySerializer) {
+            this.entitySerializer = entitySerializer;
+        }
+        
+        @Override
+        public void serialize(PageResponse<?> page, JsonGenerator gen, SerializationContext context) {
+            gen.writeStartObject(page);
+            gen.writeName(CONTENT);
+            List<?> content = page.getContent();
+            if (content == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(content, content.size());
+                for (Object element : content) {
+                    if (element instanceof ExampleEntity entity) {
+                        entitySerializer.serialize(entity, gen, context);
+                    } else {
+                        // Sparse fieldsets and anything else keep their usual serializer
+                        context.writeValue(gen, element);
+                    }
+                }
+                gen.writeEndArray();
+            }
+            gen.writeName(PAGE);
+            gen.writeNumber(page.getPage());
+            gen.writeName(SIZE);
+            gen.writeNumber(page.getSize());
+            gen.writeName(TOTAL_ELEMENTS);
+            gen.writeNumber(page.getTotalElements());
+            gen.writeName(TOTAL_PAGES);
+            gen.writeNumber(page.getTotalPages());
+            gen.writeName(FIRST);
+            gen.writeBoolean(page.isFirst());
+            gen.writeName(LAST);
+            gen.writeBoolean(page.isLast());
+            gen.writeName(APPROXIMATE);
+            gen.writeBoolean(page.isApproximate());
+            gen.writeEndObject();
+        }
+        
+        @Override
+        public Class<?> handledType() {
+            return PageResponse.class;
+        }
+    }
+}
@@ -1,5 +1,15 @@
 package com.example.template.config;
 
+import com.example.template.cache.BulkCacheOperations;
+import com.example.template.cache.CacheInvalidationPublisher;
+import com.example.template.cache.CompactRedisSerializer;
+import com.example.template.cache.DistributedLoadLock;
+import com.example.template.cache.QueryResultCache;
+import com.example.template.cache.TwoTierCacheManager;
+import com.example.template.service.ExampleService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -7,27 +17,123 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
-    
+
+    private static final String NEAR_CACHE_ENABLED = "app.cache.near.enabled";
+
+    @Value("${app.cache.near.max-size:10000}")
+    private long nearCacheMaxSize;
+
+    @Value("${app.cache.near.ttl:30s}")
+    private Duration nearCacheTtl;
+
+    @Value("${app.cache.near.invalidation-channel:cache-invalidation}")
+    private String invalidationChannel;
+
+    @Value("${app.cache.codec.compression-threshold:1024}")
+    private int compressionThreshold;
+
+    @Value("${app.cache.queries.page-ttl:60s}")
+    private Duration pageQueryTtl;
+
+    @Value("${app.cache.queries.status-ttl:60s}")
+    private Duration statusQueryTtl;
+
+    @Value("${app.cache.queries.search-ttl:30s}")
+    private Duration searchQueryTtl;
+
+    @Value("${app.cache.load-lock.enabled:false}")
+    private boolean loadLockEnabled;
+
+    @Value("${app.cache.load-lock.ttl:2s}")
+    private Duration loadLockTtl;
+
+    @Value("${app.cache.load-lock.poll-interval:25ms}")
+    private Duration loadLockPollInterval;
+
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1))
-                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
-                .disableCachingNullValues();
-        
+    @ConditionalOnProperty(name = NEAR_CACHE_ENABLED, havingValue = "false")
+    public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
         return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(config)
+                .cacheDefaults(redisCacheConfiguration())
+                .withInitialCacheConfigurations(queryCacheConfigurations())
                 .transactionAware()
                 .build();
     }
+
+    @Bean
+    @ConditionalOnProperty(name = NEAR_CACHE_ENABLED, havingValue = "true", matchIfMissing = true)
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
+        RedisCacheManager remoteCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheConfiguration())
+                .withInitialCacheConfigurations(queryCacheConfigurations())
+                .build();
+        remoteCacheManager.initializeCaches();
+
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(
+                redisTemplate, invalidationChannel, UUID.randomUUID().toString());
+        DistributedLoadLock loadLock = loadLockEnabled
+                ? new DistributedLoadLock(redisTemplate, loadLockTtl, loadLockPollInterval)
+                : null;
+
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(
+                remoteCacheManager, publisher, loadLock, meterRegistry, nearCacheMaxSize, nearCacheTtl);
+        // Defers L2 writes and peer invalidations until the surrounding transaction commits
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    @Bean
+    public QueryResultCache queryResultCache(
+            CacheManager cacheManager, RedisConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
+        return new QueryResultCache(cacheManager, new StringRedisTemplate(connectionFactory), meterRegistry);
+    }
+
+    @Bean
+    public BulkCacheOperations bulkCacheOperations(CacheManager cacheManager, RedisConnectionFactory connectionFactory) {
+        return new BulkCacheOperations(cacheManager, new StringRedisTemplate(connectionFactory));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = NEAR_CACHE_ENABLED, havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cacheManager.handleInvalidation(
+                        new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(invalidationChannel));
+        return container;
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration() {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofHours(1))
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new CompactRedisSerializer(compressionThreshold)))
+                .disableCachingNullValues();
+    }
+
+    private Map<String, RedisCacheConfiguration> queryCacheConfigurations() {
+        return Map.of(
+                ExampleService.PAGE_CACHE, redisCacheConfiguration().entryTtl(pageQueryTtl),
+                ExampleService.STATUS_PAGE_CACHE, redisCacheConfiguration().entryTtl(statusQueryTtl),
+                ExampleService.SEARCH_CACHE, redisCacheConfiguration().entryTtl(searchQueryTtl));
+    }
 }
@@ -0,0 +1,55 @@
+package com.example.template.config;
+
+import com.example.template.event.OutboxRelay;
+import com.example.template.repository.OutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Runs the {@link OutboxRelay} that publishes events written by
+ * {@code EventProducer.enqueue}. Disable it on nodes that should not publish.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxConfig {
+    
+    @Value("${app.outbox.relay.parallelism:4}")
+    private int parallelism;
+    
+    @Value("${app.outbox.relay.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${app.outbox.relay.poll-interval:200ms}")
+    private Duration pollInterval;
+    
+    @Value("${app.outbox.relay.send-timeout:30s}")
+    private Duration sendTimeout;
+    
+    @Value("${app.outbox.cleanup.retention:1h}")
+    private Duration retention;
+    
+    @Value("${app.outbox.cleanup.interval:5m}")
+    private Duration cleanupInterval;
+    
+    @Value("${app.outbox.cleanup.batch-size:5000}")
+    private int cleanupBatchSize;
+    
+    @Bean
+    public OutboxRelay outboxRelay(
+            OutboxRepository outboxRepository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        return new OutboxRelay(outboxRepository, kafkaTemplate, new TransactionTemplate(transactionManager),
+                meterRegistry, parallelism, batchSize, pollInterval, sendTimeout,
+                retention, cleanupInterval, cleanupBatchSize);
+    }
+}
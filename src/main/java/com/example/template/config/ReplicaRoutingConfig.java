@@ -0,0 +1,112 @@
+package com.example.template.config;
+
+import com.example.template.datasource.ReadYourWritesFilter;
+import com.example.template.datasource.ReplicaRoutingDataSource;
+import com.example.template.datasource.WriteTrackingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Active when {@code app.datasource.replicas.enabled=true}. Replaces Boot's single
+ * pool with the primary behind a {@link LazyConnectionDataSourceProxy}: read-only
+ * transactions take their connection from {@link ReplicaRoutingDataSource}, everything
+ * else, including Flyway, from the primary. The connection is only fetched once the
+ * transaction runs its first statement, when its read-only flag is known.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+    
+    @Value("${app.datasource.replicas.urls}")
+    private List<String> urls;
+    
+    @Value("${app.datasource.replicas.username:${spring.datasource.username}}")
+    private String username;
+    
+    @Value("${app.datasource.replicas.password:${spring.datasource.password}}")
+    private String password;
+    
+    @Value("${app.datasource.replicas.pool-size:10}")
+    private int poolSize;
+    
+    @Value("${app.datasource.replicas.connection-timeout:2s}")
+    private Duration connectionTimeout;
+    
+    @Value("${app.datasource.replicas.health-check-interval:5s}")
+    private Duration healthCheckInterval;
+    
+    @Value("${app.datasource.replicas.max-lag:2s}")
+    private Duration maxLag;
+    
+    @Value("${app.datasource.replicas.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, MeterRegistry meterRegistry) {
+        List<String> replicaUrls = urls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (replicaUrls.isEmpty()) {
+            throw new IllegalStateException("app.datasource.replicas.urls must list at least one replica");
+        }
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.put(name, replicaPool(name, replicaUrls.get(i), meterRegistry));
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, meterRegistry);
+        routing.start(healthCheckInterval);
+        return routing;
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new WriteTrackingDataSource(primaryDataSource));
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+    
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter(readYourWritesWindow);
+    }
+    
+    private HikariDataSource replicaPool(String name, String url, MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        config.setConnectionTimeout(connectionTimeout.toMillis());
+        config.setReadOnly(true);
+        // A replica that is down at startup is left to the health checks instead of failing the context
+        config.setInitializationFailTimeout(-1);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new HikariDataSource(config);
+    }
+}
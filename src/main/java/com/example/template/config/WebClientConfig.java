@@ -1,14 +1,133 @@
 package com.example.template.config;
 
+import com.example.template.client.CorrelationIdExchangeFilter;
+import com.example.template.client.HttpResponseCacheFilter;
+import com.example.template.client.OutboundResilience;
+import com.example.template.client.ResiliencePolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 public class WebClientConfig {
     
+    private static final String RESILIENCE_PREFIX = "app.http.client.resilience";
+    
+    @Value("${app.http.client.pool.max-connections:200}")
+    private int maxConnections;
+    
+    @Value("${app.http.client.pool.pending-acquire-max-count:1000}")
+    private int pendingAcquireMaxCount;
+    
+    @Value("${app.http.client.pool.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout;
+    
+    @Value("${app.http.client.pool.max-idle-time:30s}")
+    private Duration maxIdleTime;
+    
+    @Value("${app.http.client.pool.max-life-time:5m}")
+    private Duration maxLifeTime;
+    
+    @Value("${app.http.client.pool.eviction-interval:30s}")
+    private Duration evictionInterval;
+    
+    @Value("${app.http.client.connect-timeout:2s}")
+    private Duration connectTimeout;
+    
+    @Value("${app.http.client.response-timeout:10s}")
+    private Duration responseTimeout;
+    
+    @Value("${app.http.client.protocols:H2,HTTP11}")
+    private List<HttpProtocol> protocols;
+    
+    @Value("${app.http.client.cache.enabled:false}")
+    private boolean responseCacheEnabled;
+    
+    @Value("${app.http.client.cache.max-size:16MB}")
+    private DataSize responseCacheMaxSize;
+    
+    @Value("${app.http.client.cache.max-entry-size:256KB}")
+    private DataSize responseCacheMaxEntrySize;
+    
     @Bean
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
+    
+    /**
+     * Connection pool shared by every outbound call. Reactor Netty keeps a separate pool of
+     * up to {@code max-connections} per remote address, so each target service gets its own
+     * pool and a slow one cannot take connections from the others. Pool gauges are published
+     * as {@code reactor.netty.connection.provider.*}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider httpConnectionProvider() {
+        return ConnectionProvider.builder("example-http")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictionInterval)
+                .metrics(true)
+                .build();
+    }
+    
+    /**
+     * The long-lived client used for all outbound calls. HTTP/2 is negotiated through ALPN
+     * with targets served over TLS; plain HTTP targets are called over HTTP/1.1. With
+     * {@code app.http.client.cache.enabled} GET responses go through {@link HttpResponseCacheFilter}.
+     */
+    @Bean
+    public WebClient exampleWebClient(ConnectionProvider httpConnectionProvider, MeterRegistry meterRegistry) {
+        HttpClient httpClient = HttpClient.create(httpConnectionProvider)
+                .protocol(protocols.toArray(HttpProtocol[]::new))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                // A single tag value keeps the per-URI meters from growing with path parameters
+                .metrics(true, uri -> "/");
+        ExchangeStrategies strategies = ExchangeStrategies.withDefaults();
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .exchangeStrategies(strategies)
+                .filter(new CorrelationIdExchangeFilter());
+        if (responseCacheEnabled) {
+            builder.filter(new HttpResponseCacheFilter(
+                    responseCacheMaxSize.toBytes(), (int) responseCacheMaxEntrySize.toBytes(), strategies, meterRegistry));
+        }
+        return builder.build();
+    }
+    
+    /**
+     * Per-target resilience policies: {@code app.http.client.resilience.defaults} applies to
+     * every target and {@code app.http.client.resilience.targets.[host:port]} overrides
+     * individual settings for one. Bound with {@link Binder} because targets form a map.
+     */
+    @Bean
+    public OutboundResilience outboundResilience(Environment environment, MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        ResiliencePolicy defaults = ResiliencePolicy.DEFAULTS.with(binder
+                .bind(RESILIENCE_PREFIX + ".defaults", ResiliencePolicy.Overrides.class)
+                .orElse(ResiliencePolicy.Overrides.NONE));
+        Map<String, ResiliencePolicy.Overrides> targets = binder
+                .bind(RESILIENCE_PREFIX + ".targets", Bindable.mapOf(String.class, ResiliencePolicy.Overrides.class))
+                .orElse(Map.of());
+        return new OutboundResilience(defaults, targets, meterRegistry);
+    }
 }
@@ -0,0 +1,53 @@
+package com.example.template.controller;
+
+import com.example.template.dto.DlqReplayStatus;
+import com.example.template.dto.PageResponse;
+import com.example.template.entity.DeadLetterEvent;
+import com.example.template.service.DlqReplayService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/dlq")
+@RequiredArgsConstructor
+@Tag(name = "Dead letters", description = "Inspection and replay of events that exhausted their retries")
+public class DeadLetterController {
+    
+    private final DlqReplayService replayService;
+    
+    @GetMapping
+    @Operation(summary = "List dead-lettered events")
+    public ResponseEntity<PageResponse<DeadLetterEvent>> list(
+            @RequestParam(required = false) DeadLetterEvent.Status status,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        log.debug("GET /api/v1/admin/dlq with status: {}, pagination: {}", status, pageable);
+        return ResponseEntity.ok(replayService.findDeadLetters(status, pageable));
+    }
+    
+    @PostMapping("/replay")
+    @Operation(summary = "Replay pending dead-lettered events to the main topic at a bounded rate")
+    public ResponseEntity<DlqReplayStatus> replay(
+            @RequestParam(defaultValue = "1000") int limit,
+            @RequestParam(defaultValue = "50") int rate) {
+        log.info("POST /api/v1/admin/dlq/replay with limit: {}, rate: {}/s", limit, rate);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(replayService.startReplay(limit, rate));
+    }
+    
+    @GetMapping("/replay")
+    @Operation(summary = "Get the progress of the current or last replay")
+    public ResponseEntity<DlqReplayStatus> replayStatus() {
+        return ResponseEntity.ok(replayService.getStatus());
+    }
+}
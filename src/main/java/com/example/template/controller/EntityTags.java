@@ -0,0 +1,110 @@
+package com.example.template.controller;
+
+import com.example.template.dto.CursorPageResponse;
+import com.example.template.dto.ExampleField;
+import com.example.template.dto.PageResponse;
+import com.example.template.entity.ExampleEntity;
+import com.example.template.exception.PreconditionFailedException;
+import org.springframework.http.ETag;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Strong ETags derived from {@code @Version}. An entity's tag is {@code "<id>-<version>"};
+ * a page's tag hashes the id and version of every row together with the page position,
+ * so it changes whenever a row on the page is written, added or removed. Neither needs
+ * the response body, which lets a matching {@code If-None-Match} skip serialization.
+ * Sparse fieldsets are separate representations, so their tags also encode the fields.
+ */
+final class EntityTags {
+    
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private EntityTags() {
+    }
+    
+    /**
+     * Returns the tag of {@code entity}, or {@code null} if it was never persisted.
+     */
+    static String of(ExampleEntity entity) {
+        if (entity.getId() == null || entity.getVersion() == null) {
+            return null;
+        }
+        return "\"" + entity.getId() + "-" + entity.getVersion() + "\"";
+    }
+    
+    static String of(PageResponse<ExampleEntity> page) {
+        long hash = mix(FNV_OFFSET, page.getPage());
+        hash = mix(hash, page.getSize());
+        hash = mix(hash, page.getTotalElements());
+        return "\"p-" + Long.toHexString(mix(hash, page.getContent())) + "\"";
+    }
+    
+    static String of(ExampleEntity entity, Set<ExampleField> fields) {
+        return withFields(of(entity), fields);
+    }
+    
+    static String of(PageResponse<ExampleEntity> page, Set<ExampleField> fields) {
+        return withFields(of(page), fields);
+    }
+    
+    static String of(CursorPageResponse<ExampleEntity> page) {
+        long hash = mix(FNV_OFFSET, page.getSize());
+        hash = mix(hash, page.getNextCursor() == null ? 0 : page.getNextCursor().hashCode());
+        return "\"c-" + Long.toHexString(mix(hash, page.getContent())) + "\"";
+    }
+    
+    /**
+     * Resolves an {@code If-Match} header to the version the client expects entity
+     * {@code id} to be at: {@code null} when the header is absent or {@code *}, otherwise
+     * the version of the first strong tag naming {@code id}.
+     *
+     * @throws PreconditionFailedException if no tag in the header names {@code id}
+     */
+    static Integer expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String prefix = id + "-";
+        for (ETag tag : ETag.parse(ifMatch)) {
+            if (tag.isWildcard()) {
+                return null;
+            }
+            // If-Match uses the strong comparison, so weak tags never match
+            if (!tag.weak() && tag.tag().startsWith(prefix)) {
+                try {
+                    return Integer.valueOf(tag.tag().substring(prefix.length()));
+                } catch (NumberFormatException ex) {
+                    // Not one of ours, try the next tag
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version of example entity " + id);
+    }
+    
+    private static String withFields(String tag, Set<ExampleField> fields) {
+        if (tag == null) {
+            return null;
+        }
+        return tag.substring(0, tag.length() - 1) + "." + Integer.toHexString(ExampleField.mask(fields)) + "\"";
+    }
+    
+    private static long mix(long hash, List<ExampleEntity> content) {
+        for (ExampleEntity entity : content) {
+            hash = mix(hash, entity.getId() == null ? 0 : entity.getId());
+            hash = mix(hash, entity.getVersion() == null ? 0 : entity.getVersion());
+        }
+        return mix(hash, content.size());
+    }
+    
+    private static long mix(long hash, long value) {
+        // FNV-1a over the eight bytes of value
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -1,20 +1,37 @@
 package com.example.template.controller;
 
+import com.example.template.dto.BatchRequest;
+import com.example.template.dto.BatchResponse;
+import com.example.template.dto.CursorPageResponse;
+import com.example.template.dto.ExampleField;
+import com.example.template.dto.MultiGetResponse;
 import com.example.template.dto.PageResponse;
 import com.example.template.entity.ExampleEntity;
 import com.example.template.service.ExampleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -24,14 +41,41 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Examples", description = "Example entity management API")
 public class ExampleController {
     
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_MULTI_GET_IDS = 200;
+    
     private final ExampleService service;
     
     @GetMapping("/{id}")
     @Operation(summary = "Get example by ID")
-    public ResponseEntity<ExampleEntity> getById(@PathVariable Long id) {
+    public ResponseEntity<ExampleEntity> getById(@PathVariable Long id, WebRequest webRequest) {
         log.debug("GET /api/v1/examples/{}", id);
         ExampleEntity entity = service.findById(id);
-        return ResponseEntity.ok(entity);
+        String tag = EntityTags.of(entity);
+        // The tag needs only the cached row, so a matching If-None-Match skips loading a stored description
+        if (webRequest.checkNotModified(tag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(tag).body(service.withFullDescription(entity));
+    }
+    
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Get selected fields of an example by ID")
+    public ResponseEntity<Map<String, Object>> getFieldsById(
+            @PathVariable Long id,
+            @RequestParam String fields,
+            WebRequest webRequest) {
+        log.debug("GET /api/v1/examples/{}?fields={}", id, fields);
+        Set<ExampleField> selected = ExampleField.parse(fields);
+        ExampleEntity entity = service.findById(id);
+        String tag = EntityTags.of(entity, selected);
+        if (webRequest.checkNotModified(tag)) {
+            return null;
+        }
+        if (selected.contains(ExampleField.DESCRIPTION)) {
+            entity = service.withFullDescription(entity);
+        }
+        return ResponseEntity.ok().eTag(tag).body(ExampleField.project(entity, selected));
     }
     
     @GetMapping
@@ -40,9 +84,42 @@ public class ExampleController {
             @PageableDefault(size = 20, sort = "id") Pageable pageable) {
         log.debug("GET /api/v1/examples with pagination: {}", pageable);
         PageResponse<ExampleEntity> response = service.findAll(pageable);
+        return ResponseEntity.ok().eTag(EntityTags.of(response)).body(response);
+    }
+    
+    @GetMapping(params = {"fields", "!ids"})
+    @Operation(summary = "Get selected fields of all examples with pagination")
+    public ResponseEntity<PageResponse<Map<String, Object>>> getAllFields(
+            @RequestParam String fields,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        log.debug("GET /api/v1/examples?fields={} with pagination: {}", fields, pageable);
+        Set<ExampleField> selected = ExampleField.parse(fields);
+        PageResponse<ExampleEntity> page = selected.contains(ExampleField.DESCRIPTION)
+                ? service.findAll(pageable)
+                : service.findAllSummaries(pageable);
+        return sparse(page, selected);
+    }
+    
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get several examples by ID")
+    public ResponseEntity<MultiGetResponse> getByIds(
+            @RequestParam @NotEmpty @Size(max = MAX_MULTI_GET_IDS) List<Long> ids) {
+        log.debug("GET /api/v1/examples?ids= with {} ids", ids.size());
+        MultiGetResponse response = service.findAllById(ids);
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/scroll")
+    @Operation(summary = "Get all examples with cursor pagination")
+    public ResponseEntity<CursorPageResponse<ExampleEntity>> scrollAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_SCROLL_SIZE) int size,
+            @SortDefault(sort = "id") Sort sort) {
+        log.debug("GET /api/v1/examples/scroll with cursor: {}, size: {}", cursor, size);
+        CursorPageResponse<ExampleEntity> response = service.scroll(null, cursor, sort, size);
+        return ResponseEntity.ok().eTag(EntityTags.of(response)).body(response);
+    }
+    
     @GetMapping("/search")
     @Operation(summary = "Search examples")
     public ResponseEntity<PageResponse<ExampleEntity>> search(
@@ -50,7 +127,7 @@ public class ExampleController {
             @PageableDefault(size = 20, sort = "id") Pageable pageable) {
         log.debug("GET /api/v1/examples/search?q={} with pagination: {}", q, pageable);
         PageResponse<ExampleEntity> response = service.search(q, pageable);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(EntityTags.of(response)).body(response);
     }
     
     @GetMapping("/status/{status}")
@@ -60,7 +137,33 @@ public class ExampleController {
             @PageableDefault(size = 20, sort = "id") Pageable pageable) {
         log.debug("GET /api/v1/examples/status/{} with pagination: {}", status, pageable);
         PageResponse<ExampleEntity> response = service.findByStatus(status, pageable);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(EntityTags.of(response)).body(response);
+    }
+    
+    @GetMapping(value = "/status/{status}", params = "fields")
+    @Operation(summary = "Get selected fields of examples by status")
+    public ResponseEntity<PageResponse<Map<String, Object>>> getFieldsByStatus(
+            @PathVariable String status,
+            @RequestParam String fields,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        log.debug("GET /api/v1/examples/status/{}?fields={} with pagination: {}", status, fields, pageable);
+        Set<ExampleField> selected = ExampleField.parse(fields);
+        PageResponse<ExampleEntity> page = selected.contains(ExampleField.DESCRIPTION)
+                ? service.findByStatus(status, pageable)
+                : service.findSummariesByStatus(status, pageable);
+        return sparse(page, selected);
+    }
+    
+    @GetMapping("/status/{status}/scroll")
+    @Operation(summary = "Get examples by status with cursor pagination")
+    public ResponseEntity<CursorPageResponse<ExampleEntity>> scrollByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_SCROLL_SIZE) int size,
+            @SortDefault(sort = "id") Sort sort) {
+        log.debug("GET /api/v1/examples/status/{}/scroll with cursor: {}, size: {}", status, cursor, size);
+        CursorPageResponse<ExampleEntity> response = service.scroll(status, cursor, sort, size);
+        return ResponseEntity.ok().eTag(EntityTags.of(response)).body(response);
     }
     
     @PostMapping
@@ -68,24 +171,42 @@ public class ExampleController {
     public ResponseEntity<ExampleEntity> create(@Valid @RequestBody ExampleEntity entity) {
         log.debug("POST /api/v1/examples with entity: {}", entity);
         ExampleEntity created = service.create(entity);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(EntityTags.of(created)).body(created);
+    }
+    
+    @PostMapping("/batch")
+    @Operation(summary = "Create or update examples in bulk")
+    public ResponseEntity<BatchResponse> batch(@Valid @RequestBody BatchRequest request) {
+        log.debug("POST /api/v1/examples/batch with {} items", request.getItems().size());
+        BatchResponse response = service.batchUpsert(request.getItems());
+        return ResponseEntity.ok(response);
     }
     
     @PutMapping("/{id}")
     @Operation(summary = "Update example")
     public ResponseEntity<ExampleEntity> update(
             @PathVariable Long id,
-            @Valid @RequestBody ExampleEntity entity) {
+            @Valid @RequestBody ExampleEntity entity,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("PUT /api/v1/examples/{} with entity: {}", id, entity);
-        ExampleEntity updated = service.update(id, entity);
-        return ResponseEntity.ok(updated);
+        ExampleEntity updated = service.update(id, entity, EntityTags.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated)).body(updated);
     }
     
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete example")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("DELETE /api/v1/examples/{}", id);
-        service.delete(id);
+        service.delete(id, EntityTags.expectedVersion(ifMatch, id));
         return ResponseEntity.noContent().build();
     }
+    
+    private static ResponseEntity<PageResponse<Map<String, Object>>> sparse(
+            PageResponse<ExampleEntity> page, Set<ExampleField> fields) {
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(page, fields))
+                .body(page.map(entity -> ExampleField.project(entity, fields)));
+    }
 }
@@ -5,11 +5,13 @@ import com.example.template.exception.BadRequestException;
 import com.example.template.exception.ConflictException;
 import com.example.template.exception.ExternalServiceException;
 import com.example.template.exception.NotFoundException;
+import com.example.template.exception.PreconditionFailedException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -64,6 +66,30 @@ public class GlobalExceptionHandler {
         );
     }
     
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+            PreconditionFailedException ex, HttpServletRequest request) {
+        log.warn("Precondition failed: {}", ex.getMessage());
+        return buildErrorResponse(
+                HttpStatus.PRECONDITION_FAILED,
+                "Precondition Failed",
+                ex.getMessage(),
+                request
+        );
+    }
+    
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, HttpServletRequest request) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        return buildErrorResponse(
+                HttpStatus.CONFLICT,
+                "Conflict",
+                "The resource was modified concurrently, fetch it again and retry",
+                request
+        );
+    }
+    
     @ExceptionHandler(ExternalServiceException.class)
     public ResponseEntity<ErrorResponse> handleExternalServiceException(
             ExternalServiceException ex, HttpServletRequest request) {
@@ -0,0 +1,42 @@
+package com.example.template.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks reads whose results are written to a shared cache. Those run on the primary:
+ * a lagging replica would otherwise hand back rows from before a write that already
+ * evicted the key, and the stale copy would then be served to every client, including
+ * the writer, since cache hits never reach {@link ReadYourWrites}.
+ *
+ * <p>Routing happens when the transaction takes its connection, so the load has to be
+ * the first statement of its read-only transaction.
+ */
+public final class PrimaryReads {
+    
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+    
+    private PrimaryReads() {
+    }
+    
+    /**
+     * Runs {@code loader} with its read-only queries routed to the primary.
+     */
+    public static <T> T call(Supplier<T> loader) {
+        if (isActive()) {
+            return loader.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return loader.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+    
+    /**
+     * Whether the current thread is inside {@link #call}.
+     */
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.template.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-request read-your-writes state. While a request is pinned, read-only
+ * transactions use the primary instead of a replica. A request is pinned when the
+ * client wrote recently, and from the moment one of its own write transactions commits.
+ */
+final class ReadYourWrites {
+    
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    
+    private ReadYourWrites() {
+    }
+    
+    /**
+     * Opens the state for the current request; {@code onWrite} runs after its first committed write.
+     */
+    static Scope open(boolean pinned, Runnable onWrite) {
+        Scope scope = new Scope(pinned, onWrite);
+        CURRENT.set(scope);
+        return scope;
+    }
+    
+    static boolean isPinnedToPrimary() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.pinned;
+    }
+    
+    /**
+     * Called when a connection to the primary is taken; pins the request once the
+     * surrounding read-write transaction commits.
+     */
+    static void trackCurrentTransaction() {
+        Scope scope = CURRENT.get();
+        if (scope == null || scope.tracking
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        scope.tracking = true;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scope.written();
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                scope.tracking = false;
+            }
+        });
+    }
+    
+    static final class Scope implements AutoCloseable {
+        
+        private final Runnable onWrite;
+        private boolean pinned;
+        private boolean tracking;
+        private boolean wrote;
+        
+        private Scope(boolean pinned, Runnable onWrite) {
+            this.pinned = pinned;
+            this.onWrite = onWrite;
+        }
+        
+        private void written() {
+            pinned = true;
+            if (!wrote) {
+                wrote = true;
+                onWrite.run();
+            }
+        }
+        
+        @Override
+        public void close() {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.template.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections for read-only transactions. Replicas are used round-robin while they
+ * are reachable and their replay lag is within {@code maxLag}; otherwise, for
+ * requests pinned by {@link ReadYourWrites} and for loads into shared caches
+ * ({@link PrimaryReads}), the primary serves the read.
+ *
+ * <p>Reachability and lag are refreshed by {@link #start(Duration)}. A replica whose
+ * pool fails to hand out a connection is taken out of rotation until the next check
+ * succeeds.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    
+    // Zero once everything received has been replayed, so an idle primary does not read as lag. That only
+    // holds while WAL is streaming in: a replica cut off from the primary has replayed all it received too,
+    // so it reads as NULL instead. The status column needs pg_read_all_stats (or pg_monitor)
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END""";
+    
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+    
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter pinnedReads;
+    private final Counter cacheLoadReads;
+    private final Counter fallbackReads;
+    private ScheduledExecutorService scheduler;
+    
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            Map<String, DataSource> replicas,
+            Duration maxLag,
+            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagMillis = maxLag.toMillis();
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource, meterRegistry)));
+        this.pinnedReads = reads(meterRegistry, "primary", "read_your_writes");
+        this.cacheLoadReads = reads(meterRegistry, "primary", "cache_load");
+        this.fallbackReads = reads(meterRegistry, "primary", "fallback");
+    }
+    
+    /**
+     * Checks every replica now and then every {@code interval}.
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("replica-health").daemon().factory());
+            scheduler.scheduleWithFixedDelay(this::checkReplicas, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Closing replica pool {} failed: {}", replica.name, ex.getMessage());
+                }
+            }
+        }
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWrites.isPinnedToPrimary()) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+        if (PrimaryReads.isActive()) {
+            cacheLoadReads.increment();
+            return primary.getConnection();
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isUsable(maxLagMillis)) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.reads.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replica.markDown(ex);
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica routing uses the configured credentials");
+    }
+    
+    void checkReplicas() {
+        replicas.forEach(Replica::check);
+    }
+    
+    private static Counter reads(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.read.connections")
+                .description("Connections handed to read-only transactions")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+    
+    private static final class Replica {
+        
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        // Unknown until the first check, so a replica that is down at startup never gets reads
+        private volatile boolean available;
+        private volatile long lagMillis;
+        
+        private Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = ReplicaRoutingDataSource.reads(meterRegistry, name, "replica");
+            Gauge.builder("db.replica.available", this, replica -> replica.available ? 1 : 0)
+                    .description("Whether the replica answered its last health check")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            TimeGauge.builder("db.replica.lag", this, TimeUnit.MILLISECONDS, replica -> replica.lagMillis)
+                    .description("Replay lag of the replica at its last health check")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+        
+        boolean isUsable(long maxLagMillis) {
+            return available && lagMillis <= maxLagMillis;
+        }
+        
+        void check() {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+                try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                    resultSet.next();
+                    long lag = resultSet.getLong(1);
+                    if (resultSet.wasNull()) {
+                        markDown(new SQLException("WAL receiver is not streaming (or pg_stat_wal_receiver "
+                                + "is not readable without pg_read_all_stats)"));
+                        return;
+                    }
+                    lagMillis = lag;
+                }
+                if (!available) {
+                    log.info("Replica {} is available, lag {} ms", name, lagMillis);
+                }
+                available = true;
+            } catch (SQLException | RuntimeException ex) {
+                markDown(ex);
+            }
+        }
+        
+        void markDown(Exception cause) {
+            if (available) {
+                log.warn("Replica {} is unavailable, reading from the primary: {}", name, cause.getMessage());
+            }
+            available = false;
+        }
+    }
+}
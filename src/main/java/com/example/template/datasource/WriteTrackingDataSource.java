@@ -0,0 +1,31 @@
+package com.example.template.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The primary as seen by read-write transactions. Taking a connection inside one
+ * registers it with {@link ReadYourWrites}, so the request reads from the primary
+ * after the transaction commits.
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+    
+    public WriteTrackingDataSource(DataSource primary) {
+        super(primary);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        ReadYourWrites.trackCurrentTransaction();
+        return super.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        ReadYourWrites.trackCurrentTransaction();
+        return super.getConnection(username, password);
+    }
+}
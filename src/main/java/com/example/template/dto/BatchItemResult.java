@@ -0,0 +1,32 @@
+package com.example.template.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        INVALID,
+        CONFLICT,
+        NOT_FOUND
+    }
+    
+    private int index;
+    private Long id;
+    private Outcome outcome;
+    private String message;
+    
+    public boolean isSuccess() {
+        return outcome == Outcome.CREATED || outcome == Outcome.UPDATED;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.template.dto;
+
+import com.example.template.entity.ExampleEntity;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+    
+    public static final int MAX_ITEMS = 1000;
+    
+    /**
+     * Items are validated one by one in the service, so an invalid item fails only itself.
+     */
+    @NotEmpty(message = "Batch must contain at least one item")
+    @Size(max = MAX_ITEMS, message = "Batch cannot contain more than " + MAX_ITEMS + " items")
+    private List<@NotNull ExampleEntity> items;
+}
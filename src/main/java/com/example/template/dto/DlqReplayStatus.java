@@ -0,0 +1,31 @@
+package com.example.template.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DlqReplayStatus {
+    
+    public enum State {
+        IDLE,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+    
+    private State state;
+    private int limit;
+    private int ratePerSecond;
+    private int replayed;
+    private int skipped;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
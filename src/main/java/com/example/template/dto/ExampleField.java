@@ -0,0 +1,98 @@
+package com.example.template.dto;
+
+import com.example.template.entity.ExampleEntity;
+import com.example.template.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fields of {@link ExampleEntity} a client can select with {@code fields=}. Only
+ * {@link #DESCRIPTION} is costly to load, so it alone decides whether a read can use
+ * the summary projection instead of the full row.
+ */
+public enum ExampleField {
+    
+    ID("id", ExampleEntity::getId),
+    NAME("name", ExampleEntity::getName),
+    DESCRIPTION("description", ExampleEntity::getDescription),
+    STATUS("status", ExampleEntity::getStatus),
+    CREATED_AT("createdAt", ExampleEntity::getCreatedAt),
+    UPDATED_AT("updatedAt", ExampleEntity::getUpdatedAt),
+    VERSION("version", ExampleEntity::getVersion);
+    
+    private static final String DESCRIPTION_TRUNCATED = "descriptionTruncated";
+    
+    private final String property;
+    private final Function<ExampleEntity, Object> extractor;
+    
+    ExampleField(String property, Function<ExampleEntity, Object> extractor) {
+        this.property = property;
+        this.extractor = extractor;
+    }
+    
+    public String getProperty() {
+        return property;
+    }
+    
+    /**
+     * Parses a comma-separated list of property names.
+     */
+    public static Set<ExampleField> parse(String fields) {
+        Set<ExampleField> selected = EnumSet.noneOf(ExampleField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(fromProperty(trimmed));
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new BadRequestException("fields must name at least one of: " + allowed());
+        }
+        return selected;
+    }
+    
+    /**
+     * The selected fields of {@code entity}, in declaration order; nulls are kept. A description
+     * that is only a preview is followed by {@code descriptionTruncated: true}, as in the full
+     * representation.
+     */
+    public static Map<String, Object> project(ExampleEntity entity, Set<ExampleField> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>(fields.size() * 2 + 1);
+        for (ExampleField field : fields) {
+            projected.put(field.property, field.extractor.apply(entity));
+            if (field == DESCRIPTION && entity.isDescriptionTruncated()) {
+                projected.put(DESCRIPTION_TRUNCATED, true);
+            }
+        }
+        return projected;
+    }
+    
+    /**
+     * A bit per selected field, stable across releases as long as constants are only appended.
+     */
+    public static int mask(Set<ExampleField> fields) {
+        int mask = 0;
+        for (ExampleField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return mask;
+    }
+    
+    private static ExampleField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(
+                        "Unknown field: " + property + ". Allowed: " + allowed()));
+    }
+    
+    private static String allowed() {
+        return Arrays.stream(values()).map(ExampleField::getProperty).collect(Collectors.joining(", "));
+    }
+}
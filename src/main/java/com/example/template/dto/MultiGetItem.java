@@ -0,0 +1,28 @@
+package com.example.template.dto;
+
+import com.example.template.entity.ExampleEntity;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MultiGetItem {
+    
+    private Long id;
+    private boolean found;
+    private ExampleEntity item;
+    
+    public static MultiGetItem found(Long id, ExampleEntity item) {
+        return new MultiGetItem(id, true, item);
+    }
+    
+    public static MultiGetItem notFound(Long id) {
+        return new MultiGetItem(id, false, null);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.template.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiGetResponse {
+    
+    private List<MultiGetItem> items;
+    private int found;
+    private int notFound;
+    
+    public static MultiGetResponse of(List<MultiGetItem> items) {
+        int found = (int) items.stream().filter(MultiGetItem::isFound).count();
+        return MultiGetResponse.builder()
+                .items(items)
+                .found(found)
+                .notFound(items.size() - found)
+                .build();
+    }
+}
@@ -5,8 +5,10 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Data
 @Builder
@@ -21,6 +23,11 @@ public class PageResponse<T> {
     private int totalPages;
     private boolean first;
     private boolean last;
+    /**
+     * Set when {@code totalElements} and {@code totalPages} come from a cached count or a
+     * planner estimate rather than a count taken for this page.
+     */
+    private boolean approximate;
     
     public static <T> PageResponse<T> of(Page<T> page) {
         return PageResponse.<T>builder()
@@ -33,4 +40,37 @@ public class PageResponse<T> {
                 .last(page.isLast())
                 .build();
     }
+    
+    /**
+     * A page read as a {@link Slice}, with its total counted separately.
+     */
+    public static <T> PageResponse<T> of(Slice<T> slice, long totalElements, boolean approximate) {
+        int size = slice.getSize();
+        return PageResponse.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(size)
+                .totalElements(totalElements)
+                .totalPages(size == 0 ? 1 : (int) Math.ceil((double) totalElements / size))
+                .first(slice.isFirst())
+                .last(!slice.hasNext())
+                .approximate(approximate)
+                .build();
+    }
+    
+    /**
+     * The same page with every element of its content passed through {@code mapper}.
+     */
+    public <R> PageResponse<R> map(Function<? super T, ? extends R> mapper) {
+        return PageResponse.<R>builder()
+                .content(content.stream().<R>map(mapper).toList())
+                .page(page)
+                .size(size)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .first(first)
+                .last(last)
+                .approximate(approximate)
+                .build();
+    }
 }
@@ -0,0 +1,98 @@
+package com.example.template.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event that exhausted its retries, as read from the DLQ topic. Rows stay
+ * {@link Status#PENDING} until an operator replays them to the main topic.
+ */
+@Entity
+@Table(name = "dead_letter_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterEvent {
+    
+    public enum Status {
+        PENDING,
+        REPLAYED
+    }
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dead_letter_events_seq")
+    @SequenceGenerator(name = "dead_letter_events_seq", sequenceName = "dead_letter_events_id_seq", allocationSize = 1)
+    private Long id;
+    
+    @Column(name = "dlq_partition", nullable = false, updatable = false)
+    private Integer dlqPartition;
+    
+    @Column(name = "dlq_offset", nullable = false, updatable = false)
+    private Long dlqOffset;
+    
+    @Column(name = "message_key", updatable = false)
+    private String messageKey;
+    
+    @Column(name = "event_id", updatable = false)
+    private String eventId;
+    
+    @Column(name = "event_type", updatable = false)
+    private String eventType;
+    
+    @Column(columnDefinition = "TEXT", updatable = false)
+    private String payload;
+    
+    /**
+     * The value as produced, kept when it could not be deserialized; {@code payload} is then null.
+     */
+    @Column(name = "raw_payload", updatable = false)
+    private byte[] rawPayload;
+    
+    @Column(name = "schema_version", updatable = false)
+    private Integer schemaVersion;
+    
+    @Column(name = "event_timestamp", updatable = false)
+    private LocalDateTime eventTimestamp;
+    
+    @Column(name = "original_topic", updatable = false)
+    private String originalTopic;
+    
+    @Column(name = "original_partition", updatable = false)
+    private Integer originalPartition;
+    
+    @Column(name = "original_offset", updatable = false)
+    private Long originalOffset;
+    
+    @Column(name = "exception_class", updatable = false)
+    private String exceptionClass;
+    
+    @Column(name = "exception_message", columnDefinition = "TEXT", updatable = false)
+    private String exceptionMessage;
+    
+    @Column(nullable = false, updatable = false)
+    private Integer attempts;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+    
+    @Column(name = "failed_at", nullable = false, updatable = false)
+    private LocalDateTime failedAt;
+    
+    @Column(name = "replayed_at")
+    private LocalDateTime replayedAt;
+}
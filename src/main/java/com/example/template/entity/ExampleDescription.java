@@ -0,0 +1,28 @@
+package com.example.template.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Full text of an {@link ExampleEntity} description stored out of row; the entity
+ * row then only keeps a preview. Shares the entity's id.
+ */
+@Entity
+@Table(name = "example_entity_descriptions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExampleDescription {
+    
+    @Id
+    @Column(name = "entity_id")
+    private Long entityId;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+}
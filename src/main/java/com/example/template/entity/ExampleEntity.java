@@ -1,5 +1,7 @@
 package com.example.template.entity;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -17,13 +19,14 @@ import java.time.LocalDateTime;
 @Table(name = "example_entities")
 @EntityListeners(AuditingEntityListener.class)
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ExampleEntity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "example_entities_seq")
+    @SequenceGenerator(name = "example_entities_seq", sequenceName = "example_entities_id_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
@@ -34,6 +37,16 @@ public class ExampleEntity {
     @Column(columnDefinition = "TEXT")
     private String description;
     
+    /**
+     * Set when {@link #description} is only a preview and the full text is stored in
+     * {@link ExampleDescription}; never taken from request bodies.
+     */
+    @Column(name = "description_truncated", nullable = false)
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Builder.Default
+    private boolean descriptionTruncated = false;
+    
     @NotBlank
     @Size(max = 50)
     @Column(nullable = false)
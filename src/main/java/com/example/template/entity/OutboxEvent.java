@@ -0,0 +1,63 @@
+package com.example.template.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event waiting to be published to Kafka. Rows are written in the caller's
+ * transaction and marked published by the relay once the broker has acked them.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    
+    /**
+     * Number of buckets keys are hashed into; relay lanes each own {@code bucket % parallelism}.
+     */
+    public static final int KEY_BUCKETS = 1024;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_id_seq", allocationSize = 1)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private String eventId;
+    
+    @Column(name = "event_type", nullable = false, updatable = false)
+    private String eventType;
+    
+    @Column(name = "aggregate_key", nullable = false, updatable = false)
+    private String aggregateKey;
+    
+    @Column(name = "key_bucket", nullable = false, updatable = false)
+    private Integer keyBucket;
+    
+    @Column(columnDefinition = "TEXT", updatable = false)
+    private String payload;
+    
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    public static int keyBucket(String aggregateKey) {
+        return Math.floorMod(aggregateKey.hashCode(), KEY_BUCKETS);
+    }
+}
@@ -1,41 +1,94 @@
 package com.example.template.event;
 
+import com.example.template.entity.DeadLetterEvent;
+import com.example.template.repository.DeadLetterRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.core.log.LogAccessor;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * The only consumer of the DLQ topic. Each record is stored in {@code dead_letter_events}
+ * before it is acknowledged, so failures can be inspected and replayed through the
+ * DLQ admin API; a record redelivered after a crash is stored once. A record whose value
+ * cannot be deserialized is stored with its raw bytes and schema version instead.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class DlqHandler {
     
-    private static final String DLQ_TOPIC = "example-events-dlq";
     private static final String GROUP_ID = "example-template-group-dlq";
+    private static final LogAccessor LOGGER = new LogAccessor(DlqHandler.class);
+    
+    private final DeadLetterRepository deadLetterRepository;
     
-    @KafkaListener(topics = DLQ_TOPIC, groupId = GROUP_ID)
-    public void handleDlqMessage(
-            @Payload ExampleEvent event,
-            @Header(KafkaHeaders.RECEIVED_KEY) String key,
-            @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp,
-            Acknowledgment acknowledgment) {
-        
-        log.error("DLQ Handler - Processing failed message with key [{}]", key);
-        log.error("Event details: {}", event);
-        log.error("Original timestamp: {}", timestamp);
-        
-        // Implement DLQ handling logic:
-        // - Log for manual review
-        // - Send alert/notification
-        // - Attempt reprocessing with exponential backoff
-        // - Store in database for analysis
-        
-        // For now, just acknowledge to remove from DLQ
+    @KafkaListener(topics = EventRetryRouter.DLQ_TOPIC, groupId = GROUP_ID)
+    public void handleDlqMessage(ConsumerRecord<String, ExampleEvent> record, Acknowledgment acknowledgment) {
+        DeadLetterEvent deadLetter = toDeadLetter(record);
+        int inserted = deadLetterRepository.insertIfAbsent(deadLetter);
+        if (inserted > 0) {
+            log.error("Event [{}] with key [{}] dead-lettered after {} retries: {}",
+                    deadLetter.getEventId(), record.key(), deadLetter.getAttempts(), deadLetter.getExceptionMessage());
+        } else {
+            log.debug("DLQ record {}@{} already stored", record.partition(), record.offset());
+        }
         acknowledgment.acknowledge();
-        log.warn("DLQ message with key [{}] acknowledged and removed from DLQ", key);
+    }
+    
+    private static DeadLetterEvent toDeadLetter(ConsumerRecord<String, ExampleEvent> record) {
+        ExampleEvent event = record.value();
+        Headers headers = record.headers();
+        return DeadLetterEvent.builder()
+                .dlqPartition(record.partition())
+                .dlqOffset(record.offset())
+                .messageKey(record.key())
+                .eventId(event != null ? event.getId() : null)
+                .eventType(event != null ? event.getType() : null)
+                .payload(event != null ? event.getPayload() : null)
+                // A null value is a payload the deserializer could not read; its bytes are kept instead
+                .rawPayload(event == null ? unreadableBytes(record) : null)
+                .schemaVersion(schemaVersion(headers))
+                .eventTimestamp(event != null ? event.getTimestamp() : null)
+                .originalTopic(text(headers, KafkaHeaders.DLT_ORIGINAL_TOPIC))
+                .originalPartition(headers.lastHeader(KafkaHeaders.DLT_ORIGINAL_PARTITION) != null
+                        ? ByteBuffer.wrap(headers.lastHeader(KafkaHeaders.DLT_ORIGINAL_PARTITION).value()).getInt() : null)
+                .originalOffset(headers.lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET) != null
+                        ? ByteBuffer.wrap(headers.lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET).value()).getLong() : null)
+                .exceptionClass(text(headers, KafkaHeaders.DLT_EXCEPTION_FQCN))
+                .exceptionMessage(text(headers, KafkaHeaders.DLT_EXCEPTION_MESSAGE))
+                .attempts(EventRetryRouter.attempt(headers))
+                .status(DeadLetterEvent.Status.PENDING)
+                .failedAt(LocalDateTime.now())
+                .build();
+    }
+    
+    private static byte[] unreadableBytes(ConsumerRecord<String, ExampleEvent> record) {
+        DeserializationException failure = SerializationUtils.getExceptionFromHeader(
+                record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOGGER);
+        return failure != null ? failure.getData() : null;
+    }
+    
+    private static Integer schemaVersion(Headers headers) {
+        Header version = headers.lastHeader(ExampleEventCodec.SCHEMA_VERSION_HEADER);
+        return version != null && version.value() != null && version.value().length == 1
+                ? version.value()[0] & 0xFF : null;
+    }
+    
+    private static String text(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
     }
 }
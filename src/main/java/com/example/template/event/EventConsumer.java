@@ -1,57 +1,149 @@
 package com.example.template.event;
 
+import com.example.template.config.KafkaConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class EventConsumer {
+public class EventConsumer implements ConsumerSeekAware {
     
-    private static final String TOPIC = "example-events";
-    private static final String DLQ_TOPIC = "example-events-dlq";
+    private static final String TOPIC = EventRetryRouter.TOPIC;
     private static final String GROUP_ID = "example-template-group";
     
-    @KafkaListener(topics = TOPIC, groupId = GROUP_ID)
-    public void consume(
-            @Payload ExampleEvent event,
-            @Header(KafkaHeaders.RECEIVED_KEY) String key,
-            Acknowledgment acknowledgment) {
-        try {
-            log.info("Received event with key [{}]: {}", key, event);
-            
-            // Process the event
-            processEvent(event);
-            
-            // Acknowledge the message
-            acknowledgment.acknowledge();
-            log.info("Successfully processed event with key [{}]", key);
-            
-        } catch (Exception e) {
-            log.error("Error processing event with key [{}]: {}", key, e.getMessage(), e);
-            // Don't acknowledge - message will be retried or sent to DLQ
-            // In a real implementation, you might want to implement retry logic here
+    private final EventRetryRouter retryRouter;
+    private final EventDeduplicator deduplicator;
+    
+    /**
+     * Partitions may arrive from a node that already processed part of their backlog,
+     * so the local dedup filters are re-seeded from the shared store first.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (assignments.keySet().stream().anyMatch(partition -> TOPIC.equals(partition.topic()))) {
+            deduplicator.warmUp();
         }
     }
     
-    @KafkaListener(topics = DLQ_TOPIC, groupId = GROUP_ID + "-dlq")
-    public void consumeDlq(
-            @Payload ExampleEvent event,
-            @Header(KafkaHeaders.RECEIVED_KEY) String key,
-            Acknowledgment acknowledgment) {
-        log.error("Processing DLQ event with key [{}]: {}", key, event);
-        // Handle DLQ events - log, alert, or attempt reprocessing
+    /**
+     * Processes one poll's worth of events with a single bulk call and a single offset commit.
+     * If the bulk call fails, events are retried one by one so that only the ones that still
+     * fail are handed to the first retry tier, where they wait without holding up this partition.
+     * The batch is acknowledged only after those writes are confirmed; otherwise the exception
+     * leaves the offsets uncommitted and the batch is redelivered.
+     * Events whose id was already processed, typically redeliveries after a rebalance, are skipped.
+     * Records that could not be deserialized go straight to the DLQ, acknowledged the same way.
+     */
+    @KafkaListener(topics = TOPIC, groupId = GROUP_ID, containerFactory = KafkaConfig.BATCH_LISTENER_FACTORY)
+    public void consume(List<ConsumerRecord<String, ExampleEvent>> records, Acknowledgment acknowledgment) {
+        log.info("Received batch of {} events", records.size());
+        
+        List<ConsumerRecord<String, ExampleEvent>> processable = new ArrayList<>(records.size());
+        List<ConsumerRecord<String, ExampleEvent>> unreadable = new ArrayList<>();
+        for (ConsumerRecord<String, ExampleEvent> record : records) {
+            if (record.value() == null) {
+                // ErrorHandlingDeserializer yields null for a payload it could not read; retrying cannot
+                // change that, so its raw bytes go straight to the DLQ rather than poisoning the batch
+                log.error("Dead-lettering undeserializable record at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+                unreadable.add(record);
+                continue;
+            }
+            processable.add(record);
+        }
+        
+        processable = withoutProcessed(processable);
+        
+        List<ConsumerRecord<String, ExampleEvent>> failed = new ArrayList<>();
+        List<Exception> causes = new ArrayList<>();
+        try {
+            processEvents(processable.stream().map(ConsumerRecord::value).toList());
+        } catch (Exception bulkFailure) {
+            log.warn("Bulk processing of {} events failed, isolating failures: {}",
+                    processable.size(), bulkFailure.getMessage());
+            for (ConsumerRecord<String, ExampleEvent> record : processable) {
+                try {
+                    processEvent(record.value());
+                } catch (Exception e) {
+                    log.error("Error processing event with key [{}]: {}", record.key(), e.getMessage(), e);
+                    failed.add(record);
+                    causes.add(e);
+                }
+            }
+        }
+        
+        handOff(failed, causes, unreadable);
+        // Failed events stay unmarked: the retry tiers mark them once they succeed, and DLQ replays must get through
+        Set<ConsumerRecord<String, ExampleEvent>> handedOff = Collections.newSetFromMap(new IdentityHashMap<>());
+        handedOff.addAll(failed);
+        deduplicator.markProcessed(processable.stream()
+                .filter(record -> !handedOff.contains(record))
+                .map(record -> record.value().getId())
+                .toList());
         acknowledgment.acknowledge();
+        log.info("Processed batch of {} events, {} handed to the retry tiers, {} dead-lettered unread",
+                records.size(), failed.size(), unreadable.size());
+    }
+    
+    void processEvents(List<ExampleEvent> events) {
+        // Implement bulk business logic here (e.g. a single saveAll or multi-row upsert)
+        events.forEach(this::processEvent);
     }
     
-    private void processEvent(ExampleEvent event) {
+    void processEvent(ExampleEvent event) {
         // Implement your business logic here
         log.debug("Processing event: {}", event);
     }
+    
+    /**
+     * Drops events whose id was processed by an earlier batch, and repeats of an id within this batch.
+     */
+    private List<ConsumerRecord<String, ExampleEvent>> withoutProcessed(List<ConsumerRecord<String, ExampleEvent>> records) {
+        Set<String> processed = deduplicator.findProcessed(records.stream().map(record -> record.value().getId()).toList());
+        Set<String> admitted = new HashSet<>();
+        List<ConsumerRecord<String, ExampleEvent>> remaining = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, ExampleEvent> record : records) {
+            String id = record.value().getId();
+            if (id == null || (!processed.contains(id) && admitted.add(id))) {
+                remaining.add(record);
+            }
+        }
+        if (remaining.size() < records.size()) {
+            log.info("Skipping {} already processed events", records.size() - remaining.size());
+        }
+        return remaining;
+    }
+    
+    private void handOff(
+            List<ConsumerRecord<String, ExampleEvent>> failed,
+            List<Exception> causes,
+            List<ConsumerRecord<String, ExampleEvent>> unreadable) {
+        if (failed.isEmpty() && unreadable.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(failed.size() + unreadable.size());
+        for (int i = 0; i < failed.size(); i++) {
+            sends.add(retryRouter.route(failed.get(i), causes.get(i)));
+        }
+        unreadable.forEach(record -> sends.add(retryRouter.deadLetterUnreadable(record)));
+        // Throws if any hand-off failed, so the batch is not acknowledged and gets redelivered
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+    }
 }
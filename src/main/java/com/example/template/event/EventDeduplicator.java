@@ -0,0 +1,223 @@
+package com.example.template.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Remembers the ids of processed events so that redelivered ones can be dropped.
+ *
+ * <p>Ids are recorded in Redis sets, one per retention window, each expiring two
+ * windows after it was opened; an id is remembered for at least one retention window.
+ * Every node also keeps a local Bloom filter per window. An id the filter has never
+ * seen cannot be a duplicate, so the common case costs no Redis round trip; only
+ * possible hits are confirmed against Redis. Because a partition may have been
+ * processed by another node before a rebalance, the filters are re-seeded from
+ * Redis with {@link #warmUp()} when partitions are assigned.
+ *
+ * <p>Failures towards Redis never drop events: an unconfirmed possible hit is
+ * treated as new, so delivery degrades to at-least-once.
+ */
+@Slf4j
+public class EventDeduplicator {
+    
+    static final String KEY_PREFIX = "event-dedup:";
+    
+    private final StringRedisTemplate redisTemplate;
+    private final Duration retention;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Clock clock;
+    private final AtomicReference<Filters> filters = new AtomicReference<>();
+    private final Counter filterNegatives;
+    private final Counter duplicates;
+    private final Counter falsePositives;
+    private final Counter errors;
+    
+    public EventDeduplicator(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            Duration retention,
+            long expectedInsertions,
+            double falsePositiveRate) {
+        this(redisTemplate, meterRegistry, retention, expectedInsertions, falsePositiveRate, Clock.systemUTC());
+    }
+    
+    EventDeduplicator(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            Duration retention,
+            long expectedInsertions,
+            double falsePositiveRate,
+            Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.retention = retention;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.filterNegatives = lookups(meterRegistry, "filter_negative");
+        this.duplicates = lookups(meterRegistry, "duplicate");
+        this.falsePositives = lookups(meterRegistry, "false_positive");
+        this.errors = lookups(meterRegistry, "error");
+    }
+    
+    /**
+     * Returns the ids among {@code ids} that were recorded by {@link #markProcessed}.
+     */
+    public Set<String> findProcessed(Collection<String> ids) {
+        Filters current = currentFilters();
+        List<String> possibleHits = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                continue;
+            }
+            if (current.mightContain(id)) {
+                possibleHits.add(id);
+            } else {
+                filterNegatives.increment();
+            }
+        }
+        return possibleHits.isEmpty() ? Set.of() : confirm(possibleHits, current.window());
+    }
+    
+    /**
+     * Records {@code ids} as processed, locally and in Redis.
+     */
+    public void markProcessed(Collection<String> ids) {
+        List<String> toRecord = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (toRecord.isEmpty()) {
+            return;
+        }
+        Filters current = currentFilters();
+        toRecord.forEach(current.current()::add);
+        byte[] key = key(current.window());
+        long ttlSeconds = retention.multipliedBy(2).toSeconds();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.setCommands().sAdd(key, toRecord.stream()
+                        .map(id -> id.getBytes(StandardCharsets.UTF_8))
+                        .toArray(byte[][]::new));
+                connection.keyCommands().expire(key, ttlSeconds);
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            // Peers, and this node after a restart, will process these events again if redelivered
+            errors.increment();
+            log.warn("Recording {} processed event ids failed: {}", toRecord.size(), ex.getMessage());
+        }
+    }
+    
+    /**
+     * Adds every id recorded in Redis for the live windows to the local filters.
+     */
+    public void warmUp() {
+        Filters current = currentFilters();
+        try {
+            int loaded = load(current.window(), current.current()) + load(current.window() - 1, current.previous());
+            log.info("Seeded event dedup filters with {} processed ids", loaded);
+        } catch (RuntimeException ex) {
+            errors.increment();
+            log.warn("Seeding event dedup filters failed, duplicates from peers may be reprocessed: {}",
+                    ex.getMessage());
+        }
+    }
+    
+    private Set<String> confirm(List<String> possibleHits, long window) {
+        byte[] currentKey = key(window);
+        byte[] previousKey = key(window - 1);
+        List<Object> replies;
+        try {
+            // One round trip for the whole batch, checking both live windows per id
+            replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String id : possibleHits) {
+                    byte[] member = id.getBytes(StandardCharsets.UTF_8);
+                    connection.setCommands().sIsMember(currentKey, member);
+                    connection.setCommands().sIsMember(previousKey, member);
+                }
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            errors.increment(possibleHits.size());
+            log.warn("Confirming {} possible duplicate events failed, processing them: {}",
+                    possibleHits.size(), ex.getMessage());
+            return Set.of();
+        }
+        Set<String> confirmed = new HashSet<>();
+        for (int i = 0; i < possibleHits.size(); i++) {
+            if (Boolean.TRUE.equals(replies.get(2 * i)) || Boolean.TRUE.equals(replies.get(2 * i + 1))) {
+                confirmed.add(possibleHits.get(i));
+            }
+        }
+        duplicates.increment(confirmed.size());
+        falsePositives.increment(possibleHits.size() - confirmed.size());
+        return confirmed;
+    }
+    
+    private int load(long window, BloomFilter filter) {
+        int loaded = 0;
+        ScanOptions options = ScanOptions.scanOptions().count(1000).build();
+        try (Cursor<String> cursor = redisTemplate.opsForSet().scan(KEY_PREFIX + window, options)) {
+            while (cursor.hasNext()) {
+                filter.add(cursor.next());
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+    
+    private Filters currentFilters() {
+        long window = clock.millis() / retention.toMillis();
+        Filters existing = filters.get();
+        while (existing == null || existing.window() < window) {
+            Filters rotated;
+            if (existing != null && existing.window() == window - 1) {
+                rotated = new Filters(window, newFilter(), existing.current());
+            } else {
+                rotated = new Filters(window, newFilter(), newFilter());
+            }
+            if (filters.compareAndSet(existing, rotated)) {
+                return rotated;
+            }
+            existing = filters.get();
+        }
+        return existing;
+    }
+    
+    private BloomFilter newFilter() {
+        return new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+    
+    private static byte[] key(long window) {
+        return (KEY_PREFIX + window).getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("kafka.consumer.dedup.lookups")
+                .description("Event id lookups by the idempotent consumer")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    private record Filters(long window, BloomFilter current, BloomFilter previous) {
+        
+        boolean mightContain(String id) {
+            return current.mightContain(id) || previous.mightContain(id);
+        }
+    }
+}
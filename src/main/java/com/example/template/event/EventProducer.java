@@ -1,11 +1,16 @@
 package com.example.template.event;
 
+import com.example.template.entity.OutboxEvent;
+import com.example.template.repository.OutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -18,7 +23,35 @@ public class EventProducer {
     private static final String DLQ_TOPIC = "example-events-dlq";
     
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxRepository outboxRepository;
     
+    /**
+     * Records the event in the outbox as part of the caller's transaction, so it is
+     * published if and only if that transaction commits. {@code key} becomes the Kafka
+     * record key; events with the same key are published in the order they were enqueued.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String key, ExampleEvent event) {
+        if (event.getId() == null) {
+            event.setId(UUID.randomUUID().toString());
+        }
+        if (event.getTimestamp() == null) {
+            event.setTimestamp(LocalDateTime.now());
+        }
+        outboxRepository.save(OutboxEvent.builder()
+                .eventId(event.getId())
+                .eventType(event.getType())
+                .aggregateKey(key)
+                .keyBucket(OutboxEvent.keyBucket(key))
+                .payload(event.getPayload())
+                .occurredAt(event.getTimestamp())
+                .build());
+    }
+    
+    /**
+     * Publishes immediately, outside any transaction. Prefer {@link #enqueue} for events
+     * that describe a database change.
+     */
     public void sendEvent(ExampleEvent event) {
         if (event.getId() == null) {
             event.setId(UUID.randomUUID().toString());
@@ -0,0 +1,94 @@
+package com.example.template.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Consumes the retry tiers written by {@link EventRetryRouter}, each in its own
+ * container so that waiting on a long tier never holds back a short one. A record
+ * that is not due yet is nacked with the remaining delay, which pauses the container
+ * and redelivers it from that offset; the main topic keeps flowing meanwhile. A record
+ * whose value could not be deserialized goes straight to the DLQ.
+ */
+@Slf4j
+public class EventRetryConsumer implements SmartLifecycle {
+    
+    static final String GROUP_ID = "example-template-group-retry";
+    
+    private final EventConsumer eventConsumer;
+    private final EventRetryRouter retryRouter;
+    private final EventDeduplicator deduplicator;
+    private final List<ConcurrentMessageListenerContainer<String, Object>> containers = new ArrayList<>();
+    
+    public EventRetryConsumer(
+            EventConsumer eventConsumer,
+            EventRetryRouter retryRouter,
+            EventDeduplicator deduplicator,
+            ConcurrentKafkaListenerContainerFactory<String, Object> containerFactory) {
+        this.eventConsumer = eventConsumer;
+        this.retryRouter = retryRouter;
+        this.deduplicator = deduplicator;
+        for (String topic : retryRouter.retryTopics()) {
+            ConcurrentMessageListenerContainer<String, Object> container = containerFactory.createContainer(topic);
+            container.getContainerProperties().setGroupId(GROUP_ID);
+            container.getContainerProperties().setMessageListener(
+                    (AcknowledgingMessageListener<String, Object>) this::onMessage);
+            container.setBeanName("retry-" + topic);
+            containers.add(container);
+        }
+    }
+    
+    @Override
+    public synchronized void start() {
+        containers.forEach(ConcurrentMessageListenerContainer::start);
+        log.info("Retry consumers started for {} tiers", containers.size());
+    }
+    
+    @Override
+    public synchronized void stop() {
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+    }
+    
+    @Override
+    public synchronized boolean isRunning() {
+        return containers.stream().anyMatch(ConcurrentMessageListenerContainer::isRunning);
+    }
+    
+    @SuppressWarnings("unchecked")
+    void onMessage(ConsumerRecord<String, Object> record, Acknowledgment acknowledgment) {
+        if (!(record.value() instanceof ExampleEvent)) {
+            log.error("Dead-lettering unreadable retry record at {}-{}@{}", record.topic(), record.partition(), record.offset());
+            // Throws if the hand-off fails, so the record is redelivered rather than lost
+            retryRouter.deadLetterUnreadable(record).join();
+            acknowledgment.acknowledge();
+            return;
+        }
+        long wait = retryRouter.remainingDelay(record);
+        if (wait > 0) {
+            acknowledgment.nack(Duration.ofMillis(wait));
+            return;
+        }
+        ConsumerRecord<String, ExampleEvent> eventRecord = (ConsumerRecord<String, ExampleEvent>) (ConsumerRecord<?, ?>) record;
+        ExampleEvent event = eventRecord.value();
+        try {
+            eventConsumer.processEvent(event);
+            deduplicator.markProcessed(Collections.singletonList(event.getId()));
+        } catch (Exception e) {
+            log.warn("Retry {} of event with key [{}] failed: {}",
+                    EventRetryRouter.attempt(record.headers()), record.key(), e.getMessage());
+            // Throws if the hand-off fails, so the record is redelivered rather than lost
+            retryRouter.route(eventRecord, e).join();
+        }
+        acknowledgment.acknowledge();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.template.event;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * Routes events that failed processing through the retry tiers and finally to the DLQ.
+ * Tier {@code n} is the topic {@code example-events-retry-n} and holds records for
+ * {@code initialDelay * multiplier^(n-1)}; after {@code maxAttempts} tiers the record goes
+ * to {@value #DLQ_TOPIC}. Every tier has a single delay, so records become due in offset
+ * order and a consumer only ever waits for the head of a partition.
+ *
+ * <p>The original topic, partition and offset are kept from the first failure in the
+ * {@code DeadLetterPublishingRecoverer} headers; the exception headers describe the latest one.
+ * Records whose value could not be deserialized skip the tiers, as retrying cannot make them readable.
+ */
+public class EventRetryRouter {
+    
+    public static final String TOPIC = "example-events";
+    public static final String DLQ_TOPIC = "example-events-dlq";
+    public static final String RETRY_TOPIC_PREFIX = "example-events-retry-";
+    public static final String ATTEMPT_HEADER = "example-retry-attempt";
+    public static final String DUE_HEADER = "example-retry-due";
+    
+    private static final LogAccessor LOGGER = new LogAccessor(EventRetryRouter.class);
+    
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final int maxAttempts;
+    private final Duration initialDelay;
+    private final double multiplier;
+    private final Clock clock;
+    
+    public EventRetryRouter(KafkaTemplate<String, Object> kafkaTemplate, int maxAttempts, Duration initialDelay, double multiplier) {
+        this(kafkaTemplate, maxAttempts, initialDelay, multiplier, Clock.systemUTC());
+    }
+    
+    EventRetryRouter(
+            KafkaTemplate<String, Object> kafkaTemplate, int maxAttempts, Duration initialDelay, double multiplier, Clock clock) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.multiplier = multiplier;
+        this.clock = clock;
+    }
+    
+    public String[] retryTopics() {
+        return IntStream.rangeClosed(1, maxAttempts).mapToObj(EventRetryRouter::retryTopic).toArray(String[]::new);
+    }
+    
+    public static String retryTopic(int attempt) {
+        return RETRY_TOPIC_PREFIX + attempt;
+    }
+    
+    Duration delay(int attempt) {
+        return Duration.ofMillis(Math.round(initialDelay.toMillis() * Math.pow(multiplier, attempt - 1)));
+    }
+    
+    /**
+     * Sends a failed record to the next retry tier, or to the DLQ once the tiers are exhausted.
+     */
+    public CompletableFuture<SendResult<String, Object>> route(ConsumerRecord<String, ExampleEvent> record, Exception cause) {
+        int attempt = attempt(record.headers()) + 1;
+        String topic = attempt <= maxAttempts ? retryTopic(attempt) : DLQ_TOPIC;
+        ProducerRecord<String, Object> next = new ProducerRecord<>(topic, record.key(), record.value());
+        copyOrigin(record, next.headers());
+        next.headers()
+                .add(KafkaHeaders.DLT_EXCEPTION_FQCN, cause.getClass().getName().getBytes(StandardCharsets.UTF_8))
+                .add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, String.valueOf(cause.getMessage()).getBytes(StandardCharsets.UTF_8))
+                .add(ATTEMPT_HEADER, ByteBuffer.allocate(Integer.BYTES).putInt(Math.min(attempt, maxAttempts)).array());
+        if (attempt <= maxAttempts) {
+            long due = clock.millis() + delay(attempt).toMillis();
+            next.headers().add(DUE_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(due).array());
+        }
+        return kafkaTemplate.send(next);
+    }
+    
+    /**
+     * Sends a record that {@code ErrorHandlingDeserializer} could not read to the DLQ, with the
+     * bytes it arrived with and its schema version header, so it can still be inspected and
+     * replayed. The exception headers describe the deserializer's failure.
+     */
+    public CompletableFuture<SendResult<String, Object>> deadLetterUnreadable(ConsumerRecord<String, ?> record) {
+        DeserializationException failure = SerializationUtils.getExceptionFromHeader(
+                record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOGGER);
+        // The delegate's exception says why; DeserializationException itself only wraps it
+        Throwable cause = failure != null && failure.getCause() != null ? failure.getCause() : failure;
+        byte[] data = failure != null && failure.getData() != null ? failure.getData() : new byte[0];
+        ProducerRecord<String, Object> dead = new ProducerRecord<>(DLQ_TOPIC, record.key(), data);
+        copyOrigin(record, dead.headers());
+        copy(record.headers(), dead.headers(), ExampleEventCodec.SCHEMA_VERSION_HEADER);
+        dead.headers()
+                .add(KafkaHeaders.DLT_EXCEPTION_FQCN, (cause != null ? cause.getClass() : DeserializationException.class)
+                        .getName().getBytes(StandardCharsets.UTF_8))
+                .add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, (cause != null ? String.valueOf(cause.getMessage())
+                        : "Value could not be deserialized").getBytes(StandardCharsets.UTF_8))
+                .add(ATTEMPT_HEADER, ByteBuffer.allocate(Integer.BYTES).putInt(attempt(record.headers())).array());
+        return kafkaTemplate.send(dead);
+    }
+    
+    /**
+     * Milliseconds until a retry record may be processed, zero if it is due.
+     */
+    public long remainingDelay(ConsumerRecord<?, ?> record) {
+        Header due = record.headers().lastHeader(DUE_HEADER);
+        return due == null ? 0 : Math.max(0, ByteBuffer.wrap(due.value()).getLong() - clock.millis());
+    }
+    
+    /**
+     * Number of retry tiers a record has been through, zero for a record from the main topic.
+     */
+    public static int attempt(Headers headers) {
+        Header attempt = headers.lastHeader(ATTEMPT_HEADER);
+        return attempt == null ? 0 : ByteBuffer.wrap(attempt.value()).getInt();
+    }
+    
+    private static void copyOrigin(ConsumerRecord<?, ?> source, Headers target) {
+        Header topic = source.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC);
+        if (topic != null) {
+            // Already in a retry tier: keep where the event originally failed
+            target.add(topic);
+            copy(source.headers(), target, KafkaHeaders.DLT_ORIGINAL_PARTITION);
+            copy(source.headers(), target, KafkaHeaders.DLT_ORIGINAL_OFFSET);
+            return;
+        }
+        // Same header names and encodings as DeadLetterPublishingRecoverer
+        target.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, source.topic().getBytes(StandardCharsets.UTF_8))
+                .add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(source.partition()).array())
+                .add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(source.offset()).array());
+    }
+    
+    private static void copy(Headers source, Headers target, String name) {
+        Header header = source.lastHeader(name);
+        if (header != null) {
+            target.add(header);
+        }
+    }
+}
@@ -12,6 +12,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ExampleEvent {
+    
+    public static final String EXAMPLE_CREATED = "EXAMPLE_CREATED";
+    public static final String EXAMPLE_UPDATED = "EXAMPLE_UPDATED";
+    public static final String EXAMPLE_DELETED = "EXAMPLE_DELETED";
+    
     private String id;
     private String type;
     private String payload;
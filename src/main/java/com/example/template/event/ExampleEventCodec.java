@@ -0,0 +1,99 @@
+package com.example.template.event;
+
+import com.example.template.codec.BinaryReader;
+import com.example.template.codec.BinaryWriter;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.util.UUID;
+
+/**
+ * Binary layout of {@link ExampleEvent} on Kafka. The schema version travels in the
+ * {@value #SCHEMA_VERSION_HEADER} record header, not in the payload.
+ *
+ * <p>Version 1, in order: id, type, payload, timestamp, using the {@link BinaryWriter}
+ * encodings; an id that is a canonical UUID is written as 16 raw bytes.
+ *
+ * <p>Compatibility rules: fields are only ever appended, never removed, reordered
+ * or retyped, and each change bumps {@link #SCHEMA_VERSION}. A reader ignores
+ * bytes after the fields it knows, so older consumers read newer records
+ * (forward compatible), and treats fields missing from an older record as null
+ * (backward compatible). A change that cannot follow these rules needs a new topic.
+ */
+public final class ExampleEventCodec {
+    
+    public static final String SCHEMA_VERSION_HEADER = "example-event-schema";
+    public static final int SCHEMA_VERSION = 1;
+    
+    private static final byte ID_NULL = 0;
+    private static final byte ID_UUID = 1;
+    private static final byte ID_STRING = 2;
+    
+    private ExampleEventCodec() {
+    }
+    
+    public static byte[] encode(ExampleEvent event) {
+        BinaryWriter out = new BinaryWriter(128);
+        writeId(out, event.getId());
+        out.writeString(event.getType());
+        out.writeString(event.getPayload());
+        out.writeTimestamp(event.getTimestamp());
+        return out.toByteArray();
+    }
+    
+    public static ExampleEvent decode(byte[] data, int schemaVersion) {
+        if (schemaVersion < 1) {
+            throw new SerializationException("Unsupported ExampleEvent schema version " + schemaVersion);
+        }
+        BinaryReader in = new BinaryReader(data);
+        ExampleEvent event = new ExampleEvent();
+        try {
+            // Version 1 fields; later versions append after these and are skipped by this reader
+            event.setId(in.hasRemaining() ? readId(in) : null);
+            event.setType(in.hasRemaining() ? in.readString() : null);
+            event.setPayload(in.hasRemaining() ? in.readString() : null);
+            event.setTimestamp(in.hasRemaining() ? in.readTimestamp() : null);
+        } catch (IllegalArgumentException ex) {
+            throw new SerializationException("Malformed ExampleEvent record: " + ex.getMessage(), ex);
+        }
+        return event;
+    }
+    
+    private static void writeId(BinaryWriter out, String id) {
+        if (id == null) {
+            out.write(ID_NULL);
+            return;
+        }
+        UUID uuid = parseUuid(id);
+        if (uuid != null) {
+            out.write(ID_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.write(ID_STRING);
+            out.writeString(id);
+        }
+    }
+    
+    private static String readId(BinaryReader in) {
+        byte kind = in.readByte();
+        return switch (kind) {
+            case ID_NULL -> null;
+            case ID_UUID -> new UUID(in.readLong(), in.readLong()).toString();
+            case ID_STRING -> in.readString();
+            default -> throw new IllegalArgumentException("Unknown id encoding " + kind);
+        };
+    }
+    
+    private static UUID parseUuid(String id) {
+        if (id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            // Only take the compact form if it round-trips to the same text (lower case, canonical)
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.template.event;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+/**
+ * Reads records written by {@link ExampleEventSerializer}, selected by the schema version
+ * header. Records without the header are read with {@link JsonDeserializer}, so JSON
+ * records produced before the switch (or by producers still on the JSON codec) keep working.
+ */
+public class ExampleEventDeserializer implements Deserializer<Object> {
+    
+    private final JsonDeserializer<Object> fallback = new JsonDeserializer<>();
+    
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+    
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return fallback.deserialize(topic, data);
+    }
+    
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        Header version = headers != null ? headers.lastHeader(ExampleEventCodec.SCHEMA_VERSION_HEADER) : null;
+        if (version == null) {
+            return fallback.deserialize(topic, headers, data);
+        }
+        if (data == null) {
+            return null;
+        }
+        if (version.value() == null || version.value().length != 1) {
+            throw new SerializationException("Malformed " + ExampleEventCodec.SCHEMA_VERSION_HEADER + " header");
+        }
+        return ExampleEventCodec.decode(data, version.value()[0] & 0xFF);
+    }
+    
+    @Override
+    public void close() {
+        fallback.close();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.template.event;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+/**
+ * Writes {@link ExampleEvent} values with {@link ExampleEventCodec} and tags them with the
+ * schema version header. Any other value type is delegated to {@link JsonSerializer}.
+ */
+public class ExampleEventSerializer implements Serializer<Object> {
+    
+    private static final byte[] SCHEMA_VERSION = {(byte) ExampleEventCodec.SCHEMA_VERSION};
+    
+    private final JsonSerializer<Object> fallback = new JsonSerializer<>();
+    
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+    
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+    
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data instanceof ExampleEvent event && headers != null) {
+            headers.remove(ExampleEventCodec.SCHEMA_VERSION_HEADER);
+            headers.add(ExampleEventCodec.SCHEMA_VERSION_HEADER, SCHEMA_VERSION);
+            return ExampleEventCodec.encode(event);
+        }
+        return fallback.serialize(topic, headers, data);
+    }
+    
+    @Override
+    public void close() {
+        fallback.close();
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.template.event;
+
+import com.example.template.entity.OutboxEvent;
+import com.example.template.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the outbox to Kafka. Keys are hashed into buckets and each of the
+ * {@code parallelism} lanes owns the buckets congruent to its index, so lanes
+ * publish independently while every key stays in id order. A lane is drained
+ * under a Postgres advisory lock, so with several nodes only one publishes it
+ * at a time. Delivery is at-least-once: rows are marked published only after
+ * the broker acks, and a failed send stops the lane so later rows wait.
+ * Parallelism must be the same on every node.
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+    
+    static final String TOPIC = "example-events";
+    private static final long LANE_LOCK_BASE = 0x6F7574626F780000L;
+    
+    private final OutboxRepository outboxRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration sendTimeout;
+    private final Duration retention;
+    private final Duration cleanupInterval;
+    private final int cleanupBatchSize;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private ScheduledExecutorService scheduler;
+    
+    public OutboxRelay(
+            OutboxRepository outboxRepository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            int parallelism,
+            int batchSize,
+            Duration pollInterval,
+            Duration sendTimeout,
+            Duration retention,
+            Duration cleanupInterval,
+            int cleanupBatchSize) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.sendTimeout = sendTimeout;
+        this.retention = retention;
+        this.cleanupInterval = cleanupInterval;
+        this.cleanupBatchSize = cleanupBatchSize;
+        this.publishedCounter = Counter.builder("outbox.events.published")
+                .description("Outbox events acked by the broker")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events.failed")
+                .description("Outbox publish attempts that failed and will be retried")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public synchronized void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(parallelism + 1, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int lane = 0; lane < parallelism; lane++) {
+            int currentLane = lane;
+            scheduler.scheduleWithFixedDelay(() -> drainLane(currentLane),
+                    pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        scheduler.scheduleWithFixedDelay(this::cleanup,
+                cleanupInterval.toMillis(), cleanupInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Outbox relay started with {} lanes, batch size {}, poll interval {}",
+                parallelism, batchSize, pollInterval);
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                if (!scheduler.awaitTermination(sendTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    scheduler.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                scheduler.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            scheduler = null;
+        }
+    }
+    
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+    
+    private void drainLane(int lane) {
+        try {
+            // Keep going while full batches come back, so a backlog is not throttled by the poll interval
+            while (publishBatch(lane) == batchSize && !Thread.currentThread().isInterrupted()) {
+                log.debug("Outbox lane {} has more pending events", lane);
+            }
+        } catch (Exception e) {
+            // Never let an exception escape, it would cancel the scheduled task
+            log.error("Outbox lane {} failed: {}", lane, e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Publishes the next batch of one lane and marks the acked prefix as published.
+     *
+     * @return the number of events marked published, or 0 if another node holds the lane
+     */
+    int publishBatch(int lane) {
+        Integer published = transactionTemplate.execute(status -> {
+            if (!outboxRepository.tryLock(LANE_LOCK_BASE + lane)) {
+                return 0;
+            }
+            List<OutboxEvent> pending = outboxRepository.findPending(lane, parallelism, batchSize);
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            List<Long> acked = send(pending);
+            if (!acked.isEmpty()) {
+                outboxRepository.markPublished(acked, LocalDateTime.now());
+            }
+            return acked.size();
+        });
+        return published != null ? published : 0;
+    }
+    
+    private List<Long> send(List<OutboxEvent> pending) {
+        // Send the whole batch before waiting so the producer can pipeline it
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(pending.size());
+        for (OutboxEvent row : pending) {
+            sends.add(kafkaTemplate.send(TOPIC, row.getAggregateKey(), toEvent(row)));
+        }
+        List<Long> acked = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            try {
+                sends.get(i).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                // Stop at the first failure: rows after it are retried on the next poll so
+                // that no event overtakes an earlier one with the same key
+                failedCounter.increment(pending.size() - i);
+                log.warn("Publishing outbox event [{}] failed, {} events will be retried: {}",
+                        pending.get(i).getEventId(), pending.size() - i, e.getMessage());
+                break;
+            }
+            acked.add(pending.get(i).getId());
+        }
+        publishedCounter.increment(acked.size());
+        return acked;
+    }
+    
+    void cleanup() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+            int deleted;
+            do {
+                Integer batch = transactionTemplate.execute(
+                        status -> outboxRepository.deletePublishedBefore(cutoff, cleanupBatchSize));
+                deleted = batch != null ? batch : 0;
+                log.debug("Deleted {} published outbox events older than {}", deleted, cutoff);
+            } while (deleted == cleanupBatchSize);
+        } catch (Exception e) {
+            log.error("Outbox cleanup failed: {}", e.getMessage(), e);
+        }
+    }
+    
+    private static ExampleEvent toEvent(OutboxEvent row) {
+        return ExampleEvent.builder()
+                .id(row.getEventId())
+                .type(row.getEventType())
+                .payload(row.getPayload())
+                .timestamp(row.getOccurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.template.pagination;
+
+import com.example.template.entity.ExampleEntity;
+import com.example.template.exception.BadRequestException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Position in a keyset scan over {@code (sort key, id)}. Clients only ever see
+ * the opaque {@link #encode() token}; the sort is carried inside it so a
+ * continuation cannot change ordering mid-scan.
+ */
+public record KeysetCursor(SortKey sortKey, Sort.Direction direction, String sortValue, Long id) {
+    
+    private static final String SEPARATOR = "|";
+    private static final String ID_PROPERTY = "id";
+    
+    public static KeysetCursor start(Sort sort) {
+        Sort.Order primary = sort.stream().findFirst().orElse(Sort.Order.asc(ID_PROPERTY));
+        SortKey.requireIndexed(sort);
+        if (sort.stream().skip(1).anyMatch(order -> !ID_PROPERTY.equals(order.getProperty()))) {
+            throw new BadRequestException("Cursor pagination supports a single sort property");
+        }
+        return new KeysetCursor(SortKey.fromProperty(primary.getProperty()), primary.getDirection(), null, null);
+    }
+    
+    public static KeysetCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR, 4);
+            KeysetCursor cursor = new KeysetCursor(
+                    SortKey.valueOf(parts[0]), Sort.Direction.valueOf(parts[1]), parts[2], Long.valueOf(parts[3]));
+            cursor.sortKey.parse(cursor.sortValue);
+            return cursor;
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+    }
+    
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortKey.name(), direction.name(), sortValue, String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public boolean isStart() {
+        return id == null;
+    }
+    
+    public KeysetCursor after(ExampleEntity last) {
+        return new KeysetCursor(sortKey, direction, String.valueOf(sortKey.extract(last)), last.getId());
+    }
+    
+    public Sort toSort() {
+        Sort sort = Sort.by(direction, sortKey.getProperty());
+        return sortKey == SortKey.ID ? sort : sort.and(Sort.by(direction, ID_PROPERTY));
+    }
+    
+    public ScrollPosition toScrollPosition() {
+        if (isStart()) {
+            return ScrollPosition.keyset();
+        }
+        if (sortKey == SortKey.ID) {
+            return ScrollPosition.forward(Map.of(ID_PROPERTY, id));
+        }
+        return ScrollPosition.forward(Map.of(sortKey.getProperty(), sortKey.parse(sortValue), ID_PROPERTY, id));
+    }
+}
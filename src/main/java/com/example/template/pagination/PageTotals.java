@@ -0,0 +1,132 @@
+package com.example.template.pagination;
+
+import com.example.template.dto.PageResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Totals for paged reads under {@code app.pagination.count.strategy}:
+ * <ul>
+ *   <li>{@code exact}: the page query's own {@code count(*)}, as Spring Data runs it</li>
+ *   <li>{@code cached}: an exact count reused for {@code cache-ttl}, so totals may trail writes</li>
+ *   <li>{@code estimated}: the planner's row estimate for the count query (from
+ *       {@code pg_class.reltuples} and column statistics), or an exact count when the
+ *       estimate is below {@code exact-below} or the query has no estimate</li>
+ * </ul>
+ * The last page always has an exact total, as its content ends the result. Otherwise
+ * non-exact totals are flagged {@link PageResponse#isApproximate() approximate}.
+ */
+@Slf4j
+@Component
+public class PageTotals {
+    
+    private static final int MAX_CACHED_COUNTS = 10_000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+    private final CountStrategy strategy;
+    private final long exactBelow;
+    private final Cache<String, Long> counts;
+    
+    public PageTotals(
+            JdbcTemplate jdbcTemplate,
+            JsonMapper jsonMapper,
+            @Value("${app.pagination.count.strategy:exact}") CountStrategy strategy,
+            @Value("${app.pagination.count.cache-ttl:30s}") Duration cacheTtl,
+            @Value("${app.pagination.count.exact-below:10000}") long exactBelow) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.strategy = strategy;
+        this.exactBelow = exactBelow;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_COUNTS)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+    
+    public enum CountStrategy {
+        EXACT,
+        CACHED,
+        ESTIMATED
+    }
+    
+    /**
+     * How to count the rows of a paged query. {@code key} identifies the count for caching;
+     * {@code estimateSql} with {@code estimateArgs} is a query returning the same rows, whose
+     * plan estimate stands in for the count, or {@code null} if estimates are too poor to use.
+     */
+    public record CountQuery(String key, LongSupplier exact, String estimateSql, Object... estimateArgs) {
+    }
+    
+    /**
+     * Reads a page. Under {@code exact} this is {@code page} as before; otherwise {@code slice}
+     * reads the content without a count and {@code count} supplies the total.
+     */
+    public <T> PageResponse<T> page(Supplier<Page<T>> page, Supplier<Slice<T>> slice, CountQuery count) {
+        if (strategy == CountStrategy.EXACT) {
+            return PageResponse.of(page.get());
+        }
+        Slice<T> content = slice.get();
+        long seen = content.getPageable().isPaged()
+                ? content.getPageable().getOffset() + content.getNumberOfElements()
+                : content.getNumberOfElements();
+        if (!content.hasNext() && (content.hasContent() || content.isFirst())) {
+            return PageResponse.of(content, seen, false);
+        }
+        Total total = strategy == CountStrategy.CACHED || count.estimateSql() == null
+                ? cached(count)
+                : estimated(count);
+        // Never report fewer rows than this page proves exist
+        long lowerBound = content.hasNext() ? seen + 1 : seen;
+        return PageResponse.of(content, Math.max(total.value(), lowerBound), total.approximate());
+    }
+    
+    private Total cached(CountQuery count) {
+        Long cached = counts.getIfPresent(count.key());
+        if (cached != null) {
+            return new Total(cached, true);
+        }
+        long exact = count.exact().getAsLong();
+        counts.put(count.key(), exact);
+        return new Total(exact, false);
+    }
+    
+    private Total estimated(CountQuery count) {
+        long estimate = planRows(count);
+        if (estimate < exactBelow) {
+            return new Total(count.exact().getAsLong(), false);
+        }
+        return new Total(estimate, true);
+    }
+    
+    /**
+     * The planner's row estimate for {@code estimateSql}, or -1 if it cannot be had
+     * (not PostgreSQL, or the statement failed).
+     */
+    private long planRows(CountQuery count) {
+        try {
+            String plan = jdbcTemplate.queryForObject(
+                    "EXPLAIN (FORMAT JSON) " + count.estimateSql(), String.class, count.estimateArgs());
+            return plan == null ? -1 : jsonMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong(-1);
+        } catch (DataAccessException | JacksonException ex) {
+            log.debug("No row estimate for count {}: {}", count.key(), ex.getMessage());
+            return -1;
+        }
+    }
+    
+    private record Total(long value, boolean approximate) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.template.pagination;
+
+import com.example.template.entity.ExampleEntity;
+import com.example.template.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Allowlist of sort properties backed by an index on {@code example_entities}.
+ * Sorting on anything else would force a full sort of the filtered rows.
+ */
+public enum SortKey {
+    
+    ID("id", ExampleEntity::getId, Long::valueOf),
+    CREATED_AT("createdAt", ExampleEntity::getCreatedAt, LocalDateTime::parse);
+    
+    private final String property;
+    private final Function<ExampleEntity, Object> extractor;
+    private final Function<String, Object> parser;
+    
+    SortKey(String property, Function<ExampleEntity, Object> extractor, Function<String, Object> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+    
+    public String getProperty() {
+        return property;
+    }
+    
+    Object extract(ExampleEntity entity) {
+        return extractor.apply(entity);
+    }
+    
+    Object parse(String value) {
+        return parser.apply(value);
+    }
+    
+    public static SortKey fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(
+                        "Unsupported sort property: " + property + ". Allowed: " + allowed()));
+    }
+    
+    public static void requireIndexed(Sort sort) {
+        sort.forEach(order -> fromProperty(order.getProperty()));
+    }
+    
+    private static String allowed() {
+        return Arrays.stream(values()).map(SortKey::getProperty).collect(Collectors.joining(", "));
+    }
+}
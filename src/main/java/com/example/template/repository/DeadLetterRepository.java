@@ -0,0 +1,50 @@
+package com.example.template.repository;
+
+import com.example.template.entity.DeadLetterEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DeadLetterRepository extends JpaRepository<DeadLetterEvent, Long> {
+    
+    /**
+     * Stores a DLQ record once; a redelivery of the same partition and offset is ignored.
+     *
+     * @return 1 if the row was inserted, 0 if it already existed
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO dead_letter_events (id, dlq_partition, dlq_offset, message_key, event_id, event_type, "
+            + "payload, raw_payload, schema_version, event_timestamp, original_topic, original_partition, original_offset, "
+            + "exception_class, exception_message, attempts, status, failed_at) "
+            + "VALUES (nextval('dead_letter_events_id_seq'), :#{#e.dlqPartition}, :#{#e.dlqOffset}, :#{#e.messageKey}, "
+            + ":#{#e.eventId}, :#{#e.eventType}, :#{#e.payload}, :#{#e.rawPayload}, :#{#e.schemaVersion}, "
+            + ":#{#e.eventTimestamp}, :#{#e.originalTopic}, "
+            + ":#{#e.originalPartition}, :#{#e.originalOffset}, :#{#e.exceptionClass}, :#{#e.exceptionMessage}, "
+            + ":#{#e.attempts}, 'PENDING', :#{#e.failedAt}) "
+            + "ON CONFLICT (dlq_partition, dlq_offset) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("e") DeadLetterEvent event);
+    
+    Page<DeadLetterEvent> findByStatus(DeadLetterEvent.Status status, Pageable pageable);
+    
+    @Query(value = "SELECT * FROM dead_letter_events WHERE status = 'PENDING' AND id > :afterId ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<DeadLetterEvent> findPendingAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE DeadLetterEvent e SET e.status = com.example.template.entity.DeadLetterEvent.Status.REPLAYED, "
+            + "e.replayedAt = :replayedAt WHERE e.id IN :ids")
+    int markReplayed(@Param("ids") Collection<Long> ids, @Param("replayedAt") LocalDateTime replayedAt);
+}
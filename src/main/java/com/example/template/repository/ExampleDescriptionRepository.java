@@ -0,0 +1,31 @@
+package com.example.template.repository;
+
+import com.example.template.entity.ExampleDescription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExampleDescriptionRepository extends JpaRepository<ExampleDescription, Long> {
+    
+    /**
+     * The stored text alone, so reads do not keep the entity in the persistence context.
+     */
+    @Query("SELECT d.body FROM ExampleDescription d WHERE d.entityId = :entityId")
+    Optional<String> findBodyByEntityId(@Param("entityId") Long entityId);
+    
+    /**
+     * The stored texts of several entities in one query, for reads that walk many rows.
+     */
+    @Query("SELECT new com.example.template.repository.ExampleDescriptionRepository$BodyView(d.entityId, d.body) "
+            + "FROM ExampleDescription d WHERE d.entityId IN :entityIds")
+    List<BodyView> findBodiesByEntityIdIn(@Param("entityIds") Collection<Long> entityIds);
+    
+    record BodyView(Long entityId, String body) {
+    }
+}
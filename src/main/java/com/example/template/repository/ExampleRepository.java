@@ -1,24 +1,135 @@
 package com.example.template.repository;
 
 import com.example.template.entity.ExampleEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExampleRepository extends JpaRepository<ExampleEntity, Long> {
     
+    // A truncated description only has its preview inline, so the stored text is searched too
+    String SEARCH_CONDITION = "WHERE e.name LIKE %:searchTerm% OR e.description LIKE %:searchTerm% "
+            + "OR (e.descriptionTruncated = true AND EXISTS (SELECT 1 FROM ExampleDescription d "
+            + "WHERE d.entityId = e.id AND d.body LIKE %:searchTerm%))";
+    // One indexed lookup per table; an OR across the join would scan every row instead
+    String FULL_TEXT_MATCHES = "SELECT id FROM example_entities "
+            + "WHERE search_vector @@ websearch_to_tsquery('english', :searchTerm) "
+            + "UNION SELECT entity_id FROM example_entity_descriptions "
+            + "WHERE search_vector @@ websearch_to_tsquery('english', :searchTerm)";
+    String FULL_TEXT_SELECT = "SELECT e.* FROM example_entities e "
+            + "LEFT JOIN example_entity_descriptions d ON d.entity_id = e.id "
+            + "WHERE e.id IN (" + FULL_TEXT_MATCHES + ") "
+            + "ORDER BY ts_rank_cd(e.search_vector || COALESCE(d.search_vector, CAST('' AS tsvector)), "
+            + "websearch_to_tsquery('english', :searchTerm)) DESC, e.id";
+    String FULL_TEXT_COUNT = "SELECT count(*) FROM (" + FULL_TEXT_MATCHES + ") matches";
+    
     Optional<ExampleEntity> findByName(String name);
     
     Page<ExampleEntity> findByStatus(String status, Pageable pageable);
     
-    @Query("SELECT e FROM ExampleEntity e WHERE e.name LIKE %:searchTerm% OR e.description LIKE %:searchTerm%")
+    <T> Page<T> findAllBy(Pageable pageable, Class<T> type);
+    
+    <T> Page<T> findByStatus(String status, Pageable pageable, Class<T> type);
+    
+    Window<ExampleEntity> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    
+    Window<ExampleEntity> findByStatus(String status, ScrollPosition position, Sort sort, Limit limit);
+    
+    /**
+     * {@link #findAll(Pageable)} without the count query: reads one row past the page to
+     * tell whether another follows. The {@code Slice} methods below serve the count
+     * strategies that obtain totals separately.
+     */
+    Slice<ExampleEntity> findSliceBy(Pageable pageable);
+    
+    Slice<ExampleEntity> findSliceByStatus(String status, Pageable pageable);
+    
+    <T> Slice<T> findSliceBy(Pageable pageable, Class<T> type);
+    
+    <T> Slice<T> findSliceByStatus(String status, Pageable pageable, Class<T> type);
+    
+    long countByStatus(String status);
+    
+    @Query("SELECT e FROM ExampleEntity e " + SEARCH_CONDITION)
     Page<ExampleEntity> search(@Param("searchTerm") String searchTerm, Pageable pageable);
     
+    @Query("SELECT e FROM ExampleEntity e " + SEARCH_CONDITION)
+    Slice<ExampleEntity> searchSlice(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    @Query("SELECT count(e) FROM ExampleEntity e " + SEARCH_CONDITION)
+    long countSearch(@Param("searchTerm") String searchTerm);
+    
+    @Query(value = FULL_TEXT_SELECT, countQuery = FULL_TEXT_COUNT, nativeQuery = true)
+    Page<ExampleEntity> fullTextSearch(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    @Query(value = FULL_TEXT_SELECT, nativeQuery = true)
+    Slice<ExampleEntity> fullTextSearchSlice(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    @Query(value = FULL_TEXT_COUNT, nativeQuery = true)
+    long countFullTextSearch(@Param("searchTerm") String searchTerm);
+    
     boolean existsByName(String name);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM ExampleEntity e "
+            + "WHERE (:status IS NULL OR e.status = :status) "
+            + "AND (:updatedFrom IS NULL OR e.updatedAt >= :updatedFrom) "
+            + "AND (:updatedTo IS NULL OR e.updatedAt < :updatedTo) "
+            + "ORDER BY e.id")
+    Stream<ExampleEntity> streamForExport(
+            @Param("status") String status,
+            @Param("updatedFrom") LocalDateTime updatedFrom,
+            @Param("updatedTo") LocalDateTime updatedTo);
+    
+    List<NameView> findByNameIn(Collection<String> names);
+    
+    interface NameView {
+        Long getId();
+        
+        String getName();
+    }
+    
+    /**
+     * Every column but the {@code description} TEXT, for list views that do not show it.
+     */
+    record SummaryView(
+            Long id,
+            String name,
+            String status,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Integer version) {
+        
+        public ExampleEntity toEntity() {
+            return ExampleEntity.builder()
+                    .id(id)
+                    .name(name)
+                    .status(status)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .version(version)
+                    .build();
+        }
+    }
 }
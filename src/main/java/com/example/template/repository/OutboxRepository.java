@@ -0,0 +1,38 @@
+package com.example.template.repository;
+
+import com.example.template.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    /**
+     * Transaction-scoped advisory lock, so only one node drains a relay lane at a time.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockId)", nativeQuery = true)
+    boolean tryLock(@Param("lockId") long lockId);
+    
+    @Query(value = "SELECT * FROM outbox_events "
+            + "WHERE published_at IS NULL AND key_bucket % :lanes = :lane "
+            + "ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<OutboxEvent> findPending(@Param("lane") int lane, @Param("lanes") int lanes, @Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+    
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE id IN ("
+            + "SELECT id FROM outbox_events WHERE published_at < :cutoff LIMIT :limit)",
+            nativeQuery = true)
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
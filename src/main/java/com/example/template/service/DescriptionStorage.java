@@ -0,0 +1,128 @@
+package com.example.template.service;
+
+import com.example.template.entity.ExampleDescription;
+import com.example.template.entity.ExampleEntity;
+import com.example.template.repository.ExampleDescriptionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps large descriptions out of the {@code example_entities} row when
+ * {@code app.description.out-of-row.enabled} is set. A description longer than
+ * {@code threshold} characters is replaced in the row by its first {@code preview-length}
+ * characters and {@link ExampleEntity#isDescriptionTruncated()} is set; the full text goes
+ * to {@link ExampleDescription}. Reads that need the full text ask for it explicitly, so
+ * list pages, status scans and cache entries only carry the preview.
+ *
+ * <p>Rows written while the option is off stay inline, and rows moved out stay readable
+ * after it is turned off; they are brought back inline on their next write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DescriptionStorage {
+    
+    private final ExampleDescriptionRepository repository;
+    
+    @Value("${app.description.out-of-row.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${app.description.out-of-row.threshold:2000}")
+    private int threshold;
+    
+    @Value("${app.description.out-of-row.preview-length:200}")
+    private int previewLength;
+    
+    /**
+     * Replaces a description too large for the row with its preview. Returns the full
+     * text, to be passed to {@link #store} once the entity has an id, or {@code null} if
+     * the description stays inline.
+     */
+    public String offload(ExampleEntity entity) {
+        String description = entity.getDescription();
+        if (!enabled || description == null || description.length() <= threshold) {
+            entity.setDescriptionTruncated(false);
+            return null;
+        }
+        entity.setDescription(preview(description));
+        entity.setDescriptionTruncated(true);
+        return description;
+    }
+    
+    /**
+     * Stores the text returned by {@link #offload} for entity {@code id}, or drops a previously
+     * stored one that the new description no longer needs.
+     */
+    public void store(Long id, String body, boolean previouslyStored) {
+        if (body != null) {
+            repository.save(new ExampleDescription(id, body));
+        } else if (previouslyStored) {
+            repository.deleteById(id);
+        }
+    }
+    
+    /**
+     * Batch form of {@link #store}: saves {@code bodies} and drops the stored texts of {@code dropped}.
+     */
+    public void storeAll(Map<Long, String> bodies, Collection<Long> dropped) {
+        if (!bodies.isEmpty()) {
+            repository.saveAll(bodies.entrySet().stream()
+                    .map(entry -> new ExampleDescription(entry.getKey(), entry.getValue()))
+                    .toList());
+        }
+        if (!dropped.isEmpty()) {
+            repository.deleteAllByIdInBatch(dropped);
+        }
+    }
+    
+    /**
+     * The full description of {@code entity}: its own when inline, otherwise the stored text.
+     */
+    public String fullDescription(ExampleEntity entity) {
+        if (!entity.isDescriptionTruncated()) {
+            return entity.getDescription();
+        }
+        return repository.findBodyByEntityId(entity.getId())
+                .orElseGet(() -> {
+                    log.warn("Stored description of example entity {} is missing, serving its preview", entity.getId());
+                    return entity.getDescription();
+                });
+    }
+    
+    /**
+     * Batch form of {@link #fullDescription}: the full descriptions of the truncated
+     * {@code entities} by id, loaded with a single query. Inline ones are left out.
+     */
+    public Map<Long, String> fullDescriptions(Collection<ExampleEntity> entities) {
+        List<ExampleEntity> truncated = entities.stream().filter(ExampleEntity::isDescriptionTruncated).toList();
+        if (truncated.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, String> bodies = new HashMap<>();
+        repository.findBodiesByEntityIdIn(truncated.stream().map(ExampleEntity::getId).toList())
+                .forEach(view -> bodies.put(view.entityId(), view.body()));
+        for (ExampleEntity entity : truncated) {
+            if (!bodies.containsKey(entity.getId())) {
+                log.warn("Stored description of example entity {} is missing, serving its preview", entity.getId());
+                bodies.put(entity.getId(), entity.getDescription());
+            }
+        }
+        return bodies;
+    }
+    
+    private String preview(String description) {
+        int end = Math.min(previewLength, description.length());
+        // Never split a surrogate pair
+        if (end > 0 && Character.isHighSurrogate(description.charAt(end - 1))) {
+            end--;
+        }
+        return description.substring(0, end);
+    }
+}
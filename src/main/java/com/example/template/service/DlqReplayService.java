@@ -0,0 +1,199 @@
+package com.example.template.service;
+
+import com.example.template.dto.DlqReplayStatus;
+import com.example.template.dto.PageResponse;
+import com.example.template.entity.DeadLetterEvent;
+import com.example.template.event.EventRetryRouter;
+import com.example.template.event.ExampleEvent;
+import com.example.template.event.ExampleEventCodec;
+import com.example.template.exception.BadRequestException;
+import com.example.template.exception.ConflictException;
+import com.example.template.repository.DeadLetterRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Replays dead-lettered events to the main topic at an operator-chosen rate. One replay
+ * runs at a time, in the background, walking pending rows in id order; each row is marked
+ * replayed once the broker acks it. A failed send stops the replay and leaves the
+ * remaining rows pending, so it can simply be started again. Rows stored from unreadable
+ * records are sent back as the bytes they arrived with, for a consumer that can read them now.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DlqReplayService {
+    
+    static final int PAGE_SIZE = 100;
+    
+    private final DeadLetterRepository deadLetterRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dlq-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<DlqReplayStatus> status =
+            new AtomicReference<>(DlqReplayStatus.builder().state(DlqReplayStatus.State.IDLE).build());
+    
+    @Value("${app.kafka.dlq.replay.max-limit:10000}")
+    private int maxLimit;
+    
+    @Value("${app.kafka.dlq.replay.max-rate:500}")
+    private int maxRate;
+    
+    @Value("${app.kafka.dlq.replay.send-timeout:30s}")
+    private Duration sendTimeout;
+    
+    public PageResponse<DeadLetterEvent> findDeadLetters(DeadLetterEvent.Status state, Pageable pageable) {
+        return PageResponse.of(state != null
+                ? deadLetterRepository.findByStatus(state, pageable)
+                : deadLetterRepository.findAll(pageable));
+    }
+    
+    public DlqReplayStatus getStatus() {
+        return status.get();
+    }
+    
+    /**
+     * Starts replaying up to {@code limit} pending events at no more than {@code ratePerSecond}.
+     */
+    public DlqReplayStatus startReplay(int limit, int ratePerSecond) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new BadRequestException("limit must be between 1 and " + maxLimit);
+        }
+        if (ratePerSecond < 1 || ratePerSecond > maxRate) {
+            throw new BadRequestException("rate must be between 1 and " + maxRate);
+        }
+        DlqReplayStatus current = status.get();
+        DlqReplayStatus started = DlqReplayStatus.builder()
+                .state(DlqReplayStatus.State.RUNNING)
+                .limit(limit)
+                .ratePerSecond(ratePerSecond)
+                .startedAt(LocalDateTime.now())
+                .build();
+        if (current.getState() == DlqReplayStatus.State.RUNNING || !status.compareAndSet(current, started)) {
+            throw new ConflictException("A DLQ replay is already running");
+        }
+        log.info("Starting DLQ replay of up to {} events at {}/s", limit, ratePerSecond);
+        executor.execute(() -> replay(started));
+        return started;
+    }
+    
+    void replay(DlqReplayStatus job) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / job.getRatePerSecond();
+        long nextSend = System.nanoTime();
+        long afterId = 0;
+        int remaining = job.getLimit();
+        int replayed = 0;
+        int skipped = 0;
+        String error = null;
+        try {
+            while (remaining > 0 && error == null) {
+                List<DeadLetterEvent> rows = deadLetterRepository.findPendingAfter(afterId, Math.min(remaining, PAGE_SIZE));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Long> acked = new ArrayList<>(rows.size());
+                for (DeadLetterEvent row : rows) {
+                    if (row.getEventType() == null && row.getRawPayload() == null) {
+                        // Stored from an unreadable record without its bytes: nothing to replay, left for manual handling
+                        skipped++;
+                    } else {
+                        long wait = nextSend - System.nanoTime();
+                        if (wait > 0) {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        }
+                        // Never let an idle stretch turn into a burst above the rate
+                        nextSend = Math.max(nextSend, System.nanoTime()) + intervalNanos;
+                        try {
+                            send(row).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                        } catch (InterruptedException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            error = "Replaying dead letter " + row.getId() + " failed: " + e.getMessage();
+                            break;
+                        }
+                        acked.add(row.getId());
+                    }
+                    afterId = row.getId();
+                    remaining--;
+                }
+                if (!acked.isEmpty()) {
+                    deadLetterRepository.markReplayed(acked, LocalDateTime.now());
+                    replayed += acked.size();
+                }
+                status.set(progress(job, replayed, skipped, DlqReplayStatus.State.RUNNING, null));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "Replay interrupted";
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+        }
+        if (error != null) {
+            log.error("DLQ replay stopped after {} events: {}", replayed, error);
+        } else {
+            log.info("DLQ replay finished: {} replayed, {} skipped", replayed, skipped);
+        }
+        status.set(progress(job, replayed, skipped,
+                error != null ? DlqReplayStatus.State.FAILED : DlqReplayStatus.State.COMPLETED, error));
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private static DlqReplayStatus progress(
+            DlqReplayStatus job, int replayed, int skipped, DlqReplayStatus.State state, String error) {
+        return DlqReplayStatus.builder()
+                .state(state)
+                .limit(job.getLimit())
+                .ratePerSecond(job.getRatePerSecond())
+                .replayed(replayed)
+                .skipped(skipped)
+                .startedAt(job.getStartedAt())
+                .finishedAt(state == DlqReplayStatus.State.RUNNING ? null : LocalDateTime.now())
+                .error(error)
+                .build();
+    }
+    
+    private CompletableFuture<SendResult<String, Object>> send(DeadLetterEvent row) {
+        if (row.getEventType() != null) {
+            return kafkaTemplate.send(EventRetryRouter.TOPIC, row.getMessageKey(), toEvent(row));
+        }
+        ProducerRecord<String, Object> record =
+                new ProducerRecord<>(EventRetryRouter.TOPIC, row.getMessageKey(), row.getRawPayload());
+        if (row.getSchemaVersion() != null) {
+            record.headers().add(ExampleEventCodec.SCHEMA_VERSION_HEADER, new byte[] {row.getSchemaVersion().byteValue()});
+        }
+        return kafkaTemplate.send(record);
+    }
+    
+    private static ExampleEvent toEvent(DeadLetterEvent row) {
+        return ExampleEvent.builder()
+                .id(row.getEventId())
+                .type(row.getEventType())
+                .payload(row.getPayload())
+                .timestamp(row.getEventTimestamp())
+                .build();
+    }
+}
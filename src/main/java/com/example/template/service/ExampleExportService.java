@@ -0,0 +1,75 @@
+package com.example.template.service;
+
+import com.example.template.entity.ExampleEntity;
+import com.example.template.repository.ExampleRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExampleExportService {
+    
+    // Matches the cursor's fetch size, so stored descriptions cost one query per fetched chunk
+    static final int CHUNK_SIZE = 500;
+    
+    private final ExampleRepository repository;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+    private final DescriptionStorage descriptionStorage;
+    
+    /**
+     * Streams matching entities to {@code output} as NDJSON over a forward-only
+     * database cursor. Rows are written and detached in chunks of {@link #CHUNK_SIZE},
+     * so memory use does not grow with the table. Descriptions stored out of row are
+     * written in full, loaded with one query per chunk.
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(String status, LocalDateTime updatedFrom, LocalDateTime updatedTo, OutputStream output)
+            throws IOException {
+        log.debug("Exporting example entities with status: {}, updated from: {} to: {}", status, updatedFrom, updatedTo);
+        long exported = 0;
+        try (Stream<ExampleEntity> rows = repository.streamForExport(status, updatedFrom, updatedTo);
+             SequenceWriter writer = jsonMapper.writer().withRootValueSeparator("\n").writeValues(output)) {
+            List<ExampleEntity> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (ExampleEntity entity : (Iterable<ExampleEntity>) rows::iterator) {
+                chunk.add(entity);
+                if (chunk.size() == CHUNK_SIZE) {
+                    exported += writeChunk(writer, chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            exported += writeChunk(writer, chunk);
+        }
+        log.debug("Exported {} example entities", exported);
+        return exported;
+    }
+    
+    private int writeChunk(SequenceWriter writer, List<ExampleEntity> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Map<Long, String> bodies = descriptionStorage.fullDescriptions(chunk);
+        for (ExampleEntity entity : chunk) {
+            String body = bodies.get(entity.getId());
+            writer.write(body != null
+                    ? entity.toBuilder().description(body).descriptionTruncated(false).build()
+                    : entity);
+            entityManager.detach(entity);
+        }
+        return chunk.size();
+    }
+}
@@ -1,21 +1,55 @@
 package com.example.template.service;
 
+import com.example.template.cache.BulkCacheOperations;
+import com.example.template.cache.QueryResultCache;
+import com.example.template.datasource.PrimaryReads;
+import com.example.template.dto.BatchItemResult;
+import com.example.template.dto.BatchResponse;
+import com.example.template.dto.CursorPageResponse;
+import com.example.template.dto.MultiGetItem;
+import com.example.template.dto.MultiGetResponse;
 import com.example.template.dto.PageResponse;
 import com.example.template.entity.ExampleEntity;
+import com.example.template.event.EventProducer;
+import com.example.template.event.ExampleEvent;
 import com.example.template.exception.BadRequestException;
 import com.example.template.exception.ConflictException;
 import com.example.template.exception.NotFoundException;
+import com.example.template.exception.PreconditionFailedException;
+import com.example.template.pagination.KeysetCursor;
+import com.example.template.pagination.PageTotals;
+import com.example.template.pagination.SortKey;
 import com.example.template.repository.ExampleRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -23,28 +57,144 @@ import java.util.List;
 @Transactional
 public class ExampleService {
     
+    public static final String PAGE_CACHE = "example-pages";
+    public static final String STATUS_PAGE_CACHE = "example-status-pages";
+    public static final String SEARCH_CACHE = "example-search";
+    
+    private static final String CACHE_NAME = "examples";
+    private static final String SUMMARY_KEY_PREFIX = "summary:";
+    private static final String COUNT_ALL_SQL = "SELECT 1 FROM example_entities";
+    private static final String COUNT_STATUS_SQL = "SELECT 1 FROM example_entities WHERE status = ?";
+    
     private final ExampleRepository repository;
+    private final CacheManager cacheManager;
+    private final QueryResultCache queryCache;
+    private final BulkCacheOperations bulkCache;
+    private final EventProducer eventProducer;
+    private final DescriptionStorage descriptionStorage;
+    private final PageTotals pageTotals;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
     
-    @Cacheable(value = "examples", key = "#id")
+    @Value("${app.search.full-text.enabled:false}")
+    private boolean fullTextSearchEnabled;
+    
+    @Cacheable(value = "examples", key = "#id", sync = true)
     @Transactional(readOnly = true)
     public ExampleEntity findById(Long id) {
         log.debug("Finding example entity by id: {}", id);
-        return repository.findById(id)
+        return PrimaryReads.call(() -> repository.findById(id))
                 .orElseThrow(() -> new NotFoundException("Example entity not found with id: " + id));
     }
     
+    /**
+     * Returns {@code entity} with its full description, loading the stored text if only a
+     * preview is inline. A truncated entity is copied, so a cached instance stays as it is.
+     */
+    @Transactional(readOnly = true)
+    public ExampleEntity withFullDescription(ExampleEntity entity) {
+        if (!entity.isDescriptionTruncated()) {
+            return entity;
+        }
+        return withBody(entity, descriptionStorage.fullDescription(entity));
+    }
+    
+    /**
+     * Resolves {@code ids} from the "examples" cache in one Redis round trip, loads only the
+     * misses with a single {@code IN} query on the primary and back-fills the cache with them. Items follow
+     * the order of {@code ids}, repeats included, with a not-found marker for unknown ids.
+     */
+    @Transactional(readOnly = true)
+    public MultiGetResponse findAllById(List<Long> ids) {
+        log.debug("Finding {} example entities by id", ids.size());
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        Map<Long, ExampleEntity> found = new HashMap<>(bulkCache.getAll(CACHE_NAME, distinct, ExampleEntity.class));
+        List<Long> misses = distinct.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!misses.isEmpty()) {
+            Map<Long, ExampleEntity> loaded = PrimaryReads.call(() -> repository.findAllById(misses)).stream()
+                    .collect(Collectors.toMap(ExampleEntity::getId, Function.identity()));
+            bulkCache.putAll(CACHE_NAME, loaded);
+            found.putAll(loaded);
+        }
+        return MultiGetResponse.of(ids.stream()
+                .map(id -> found.containsKey(id) ? MultiGetItem.found(id, found.get(id)) : MultiGetItem.notFound(id))
+                .toList());
+    }
+    
     @Transactional(readOnly = true)
     public PageResponse<ExampleEntity> findAll(Pageable pageable) {
         log.debug("Finding all example entities with pagination: {}", pageable);
-        Page<ExampleEntity> page = repository.findAll(pageable);
-        return PageResponse.of(page);
+        SortKey.requireIndexed(pageable.getSort());
+        return queryCache.get(PAGE_CACHE, QueryResultCache.GLOBAL_SCOPE, pageKey(pageable),
+                () -> pageTotals.page(
+                        () -> repository.findAll(pageable),
+                        () -> repository.findSliceBy(pageable),
+                        countAll()));
+    }
+    
+    /**
+     * The page {@link #findAll(Pageable)} returns, with {@code description} left null. The
+     * query selects only the other columns, and the result is cached separately.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ExampleEntity> findAllSummaries(Pageable pageable) {
+        log.debug("Finding example entity summaries with pagination: {}", pageable);
+        SortKey.requireIndexed(pageable.getSort());
+        return queryCache.get(PAGE_CACHE, QueryResultCache.GLOBAL_SCOPE, SUMMARY_KEY_PREFIX + pageKey(pageable),
+                () -> pageTotals.page(
+                        () -> repository.findAllBy(pageable, ExampleRepository.SummaryView.class)
+                                .map(ExampleRepository.SummaryView::toEntity),
+                        () -> repository.findSliceBy(pageable, ExampleRepository.SummaryView.class)
+                                .map(ExampleRepository.SummaryView::toEntity),
+                        countAll()));
     }
     
     @Transactional(readOnly = true)
     public PageResponse<ExampleEntity> findByStatus(String status, Pageable pageable) {
         log.debug("Finding example entities by status: {} with pagination: {}", status, pageable);
-        Page<ExampleEntity> page = repository.findByStatus(status, pageable);
-        return PageResponse.of(page);
+        SortKey.requireIndexed(pageable.getSort());
+        return queryCache.get(STATUS_PAGE_CACHE, QueryResultCache.statusScope(status), status + ":" + pageKey(pageable),
+                () -> pageTotals.page(
+                        () -> repository.findByStatus(status, pageable),
+                        () -> repository.findSliceByStatus(status, pageable),
+                        countStatus(status)));
+    }
+    
+    /**
+     * The page {@link #findByStatus(String, Pageable)} returns, with {@code description} left null.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ExampleEntity> findSummariesByStatus(String status, Pageable pageable) {
+        log.debug("Finding example entity summaries by status: {} with pagination: {}", status, pageable);
+        SortKey.requireIndexed(pageable.getSort());
+        return queryCache.get(STATUS_PAGE_CACHE, QueryResultCache.statusScope(status),
+                SUMMARY_KEY_PREFIX + status + ":" + pageKey(pageable),
+                () -> pageTotals.page(
+                        () -> repository.findByStatus(status, pageable, ExampleRepository.SummaryView.class)
+                                .map(ExampleRepository.SummaryView::toEntity),
+                        () -> repository.findSliceByStatus(status, pageable, ExampleRepository.SummaryView.class)
+                                .map(ExampleRepository.SummaryView::toEntity),
+                        countStatus(status)));
+    }
+    
+    /**
+     * Keyset pagination: seeks past the last returned {@code (sort key, id)} instead
+     * of skipping rows, and never issues a count query. A {@code null} status scans
+     * all entities; a {@code null} cursor starts from the beginning using {@code sort}.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ExampleEntity> scroll(String status, String cursor, Sort sort, int size) {
+        log.debug("Scrolling example entities with status: {}, cursor: {}, size: {}", status, cursor, size);
+        KeysetCursor position = cursor == null || cursor.isBlank() ? KeysetCursor.start(sort) : KeysetCursor.decode(cursor);
+        Window<ExampleEntity> window = status == null
+                ? repository.findAllBy(position.toScrollPosition(), position.toSort(), Limit.of(size))
+                : repository.findByStatus(status, position.toScrollPosition(), position.toSort(), Limit.of(size));
+        List<ExampleEntity> content = window.getContent();
+        String nextCursor = window.hasNext() && !content.isEmpty()
+                ? position.after(content.get(content.size() - 1)).encode()
+                : null;
+        return CursorPageResponse.of(content, size, nextCursor);
     }
     
     @Transactional(readOnly = true)
@@ -53,8 +203,22 @@ public class ExampleService {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             throw new BadRequestException("Search term cannot be empty");
         }
-        Page<ExampleEntity> page = repository.search(searchTerm.trim(), pageable);
-        return PageResponse.of(page);
+        String term = searchTerm.trim();
+        if (fullTextSearchEnabled) {
+            // Full-text results are ordered by relevance, so the requested sort is not applied
+            Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            return queryCache.get(SEARCH_CACHE, QueryResultCache.GLOBAL_SCOPE, "fts:" + term + ":" + pageKey(unsorted),
+                    () -> pageTotals.page(
+                            () -> repository.fullTextSearch(term, unsorted),
+                            () -> repository.fullTextSearchSlice(term, unsorted),
+                            new PageTotals.CountQuery("fts:" + term, () -> repository.countFullTextSearch(term), null)));
+        }
+        // Planner estimates for substring matches are guesses, so search totals are only ever cached
+        return queryCache.get(SEARCH_CACHE, QueryResultCache.GLOBAL_SCOPE, "like:" + term + ":" + pageKey(pageable),
+                () -> pageTotals.page(
+                        () -> repository.search(term, pageable),
+                        () -> repository.searchSlice(term, pageable),
+                        new PageTotals.CountQuery("like:" + term, () -> repository.countSearch(term), null)));
     }
     
     public ExampleEntity create(ExampleEntity entity) {
@@ -65,23 +229,231 @@ public class ExampleService {
         if (repository.existsByName(entity.getName())) {
             throw new ConflictException("Example entity with name '" + entity.getName() + "' already exists");
         }
-        return repository.save(entity);
+        String body = descriptionStorage.offload(entity);
+        ExampleEntity saved = repository.save(entity);
+        descriptionStorage.store(saved.getId(), body, false);
+        ExampleEntity created = withBody(saved, body);
+        publish(ExampleEvent.EXAMPLE_CREATED, created);
+        invalidateQueries(Arrays.asList(saved.getStatus()));
+        return created;
     }
     
+    /**
+     * Creates items without an id and updates items with one. Existing rows and
+     * name conflicts are resolved with one query each, and all writes are flushed
+     * together so Hibernate can send them as JDBC batches. Items that fail Bean
+     * Validation are reported as {@code INVALID} at their index.
+     */
+    public BatchResponse batchUpsert(List<ExampleEntity> items) {
+        log.debug("Batch upserting {} example entities", items.size());
+        Set<Long> ids = items.stream()
+                .map(ExampleEntity::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ExampleEntity> existingById = ids.isEmpty() ? Map.of() : repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ExampleEntity::getId, Function.identity()));
+        Set<String> names = items.stream()
+                .map(ExampleEntity::getName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Long> nameOwners = names.isEmpty() ? Map.of() : repository.findByNameIn(names).stream()
+                .collect(Collectors.toMap(ExampleRepository.NameView::getName, ExampleRepository.NameView::getId,
+                        (first, second) -> first));
+        
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        List<BatchItemResult> pendingResults = new ArrayList<>();
+        List<ExampleEntity> pendingEntities = new ArrayList<>();
+        List<String> pendingBodies = new ArrayList<>();
+        List<Long> droppedBodies = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>();
+        Set<String> touchedStatuses = new HashSet<>();
+        Set<String> claimedNames = new HashSet<>();
+        for (int index = 0; index < items.size(); index++) {
+            ExampleEntity item = items.get(index);
+            BatchItemResult result = BatchItemResult.builder().index(index).id(item.getId()).build();
+            results.add(result);
+            
+            String name = item.getName();
+            Long owner = name != null ? nameOwners.get(name) : null;
+            String violations = violations(item);
+            if (violations != null) {
+                reject(result, BatchItemResult.Outcome.INVALID, violations);
+            } else if ((owner != null && !owner.equals(item.getId())) || claimedNames.contains(name)) {
+                reject(result, BatchItemResult.Outcome.CONFLICT,
+                        "Example entity with name '" + name + "' already exists");
+            } else if (item.getId() != null && !existingById.containsKey(item.getId())) {
+                reject(result, BatchItemResult.Outcome.NOT_FOUND,
+                        "Example entity not found with id: " + item.getId());
+            } else if (item.getId() != null) {
+                ExampleEntity existing = existingById.get(item.getId());
+                touchedStatuses.add(existing.getStatus());
+                touchedStatuses.add(item.getStatus());
+                boolean stored = existing.isDescriptionTruncated();
+                existing.setName(name);
+                existing.setDescription(item.getDescription());
+                existing.setStatus(item.getStatus());
+                String body = descriptionStorage.offload(existing);
+                if (body == null && stored) {
+                    droppedBodies.add(existing.getId());
+                }
+                pendingBodies.add(body);
+                claimedNames.add(name);
+                result.setOutcome(BatchItemResult.Outcome.UPDATED);
+                updatedIds.add(existing.getId());
+                pendingResults.add(result);
+                pendingEntities.add(existing);
+            } else {
+                claimedNames.add(name);
+                touchedStatuses.add(item.getStatus());
+                result.setOutcome(BatchItemResult.Outcome.CREATED);
+                pendingBodies.add(descriptionStorage.offload(item));
+                pendingResults.add(result);
+                pendingEntities.add(item);
+            }
+        }
+        
+        List<ExampleEntity> saved = repository.saveAll(pendingEntities);
+        // Versions and audit timestamps are only assigned at flush, and the events carry them
+        repository.flush();
+        Map<Long, String> bodies = new HashMap<>();
+        for (int i = 0; i < saved.size(); i++) {
+            BatchItemResult result = pendingResults.get(i);
+            result.setId(saved.get(i).getId());
+            if (pendingBodies.get(i) != null) {
+                bodies.put(saved.get(i).getId(), pendingBodies.get(i));
+            }
+            publish(result.getOutcome() == BatchItemResult.Outcome.CREATED
+                    ? ExampleEvent.EXAMPLE_CREATED : ExampleEvent.EXAMPLE_UPDATED, withBody(saved.get(i), pendingBodies.get(i)));
+        }
+        descriptionStorage.storeAll(bodies, droppedBodies);
+        evictCached(updatedIds);
+        if (!pendingEntities.isEmpty()) {
+            invalidateQueries(touchedStatuses);
+        }
+        return BatchResponse.of(results);
+    }
+    
+    /**
+     * Updates entity {@code id}. A non-null {@code expectedVersion} makes the update
+     * conditional: it fails unless the entity is still at that version.
+     */
     @CacheEvict(value = "examples", key = "#id")
-    public ExampleEntity update(Long id, ExampleEntity entity) {
+    public ExampleEntity update(Long id, ExampleEntity entity, Integer expectedVersion) {
         log.debug("Updating example entity with id: {}", id);
         ExampleEntity existing = findById(id);
+        requireVersion(existing, expectedVersion);
+        String previousStatus = existing.getStatus();
+        boolean stored = existing.isDescriptionTruncated();
         existing.setName(entity.getName());
         existing.setDescription(entity.getDescription());
         existing.setStatus(entity.getStatus());
-        return repository.save(existing);
+        String body = descriptionStorage.offload(existing);
+        // Flushed so the event and the returned copy carry the incremented version and updatedAt
+        ExampleEntity saved = repository.saveAndFlush(existing);
+        descriptionStorage.store(saved.getId(), body, stored);
+        ExampleEntity updated = withBody(saved, body);
+        publish(ExampleEvent.EXAMPLE_UPDATED, updated);
+        invalidateQueries(Arrays.asList(previousStatus, saved.getStatus()));
+        return updated;
     }
     
+    /**
+     * Deletes entity {@code id}, conditionally on {@code expectedVersion} as for {@link #update}.
+     */
     @CacheEvict(value = "examples", key = "#id")
-    public void delete(Long id) {
+    public void delete(Long id, Integer expectedVersion) {
         log.debug("Deleting example entity with id: {}", id);
         ExampleEntity entity = findById(id);
+        requireVersion(entity, expectedVersion);
+        // Read before the stored text is removed, so the event carries the full description
+        ExampleEntity deleted = withFullDescription(entity);
+        // Removed explicitly too, as schemas generated from the entities have no cascading key
+        descriptionStorage.store(id, null, entity.isDescriptionTruncated());
         repository.delete(entity);
+        publish(ExampleEvent.EXAMPLE_DELETED, deleted);
+        invalidateQueries(Arrays.asList(entity.getStatus()));
+    }
+    
+    /**
+     * Writes the event to the outbox in the current transaction; it reaches Kafka after commit.
+     * Consumers have no access to stored descriptions, so {@code entity} carries the full text.
+     */
+    private void publish(String type, ExampleEntity entity) {
+        eventProducer.enqueue(String.valueOf(entity.getId()), ExampleEvent.builder()
+                .type(type)
+                .payload(jsonMapper.writeValueAsString(entity))
+                .build());
+    }
+    
+    /**
+     * Every write changes the unfiltered and search results, plus the status pages it moves rows in or out of.
+     */
+    private void invalidateQueries(Collection<String> statuses) {
+        List<String> scopes = new ArrayList<>();
+        scopes.add(QueryResultCache.GLOBAL_SCOPE);
+        statuses.stream()
+                .filter(Objects::nonNull)
+                .map(QueryResultCache::statusScope)
+                .forEach(scopes::add);
+        queryCache.invalidate(scopes);
+    }
+    
+    private PageTotals.CountQuery countAll() {
+        return new PageTotals.CountQuery("all", repository::count, COUNT_ALL_SQL);
+    }
+    
+    private PageTotals.CountQuery countStatus(String status) {
+        return new PageTotals.CountQuery("status:" + status, () -> repository.countByStatus(status),
+                COUNT_STATUS_SQL, status);
+    }
+    
+    private static String pageKey(Pageable pageable) {
+        String sort = pageable.getSort().isUnsorted() ? "unsorted" : pageable.getSort().stream()
+                .map(order -> order.getProperty() + "," + order.getDirection())
+                .collect(Collectors.joining(";"));
+        return "p" + pageable.getPageNumber() + ":s" + pageable.getPageSize() + ":" + sort;
+    }
+    
+    /**
+     * A copy of {@code entity} carrying {@code body} in full, so responses to writes keep the
+     * description the client sent rather than the stored preview. Callers copy after the flush,
+     * since the copy does not follow the version Hibernate assigns to the managed entity.
+     */
+    private static ExampleEntity withBody(ExampleEntity entity, String body) {
+        return body == null ? entity : entity.toBuilder().description(body).descriptionTruncated(false).build();
+    }
+    
+    private static void requireVersion(ExampleEntity existing, Integer expectedVersion) {
+        // Writes racing past this check still fail on the @Version column at flush
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new PreconditionFailedException("Example entity " + existing.getId() + " is at version "
+                    + existing.getVersion() + ", not " + expectedVersion);
+        }
+    }
+    
+    /**
+     * Bean Validation failures of one batch item as {@code "field: message"} pairs, or {@code null} if it is valid.
+     */
+    private String violations(ExampleEntity item) {
+        Set<ConstraintViolation<ExampleEntity>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    private void reject(BatchItemResult result, BatchItemResult.Outcome outcome, String message) {
+        result.setOutcome(outcome);
+        result.setMessage(message);
+    }
+    
+    private void evictCached(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
     }
 }
@@ -0,0 +1,449 @@
+package com.example.template.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips JSON and NDJSON responses of at least {@code min-response-size} bytes for clients
+ * that accept it. The body is held back until that size is reached, so small responses
+ * go out unchanged and large ones, including streamed exports, are compressed as they
+ * are written.
+ *
+ * <p>The container's own compression skips responses with a strong {@code ETag}, which
+ * covers every entity and page read. Here the tag is kept strong by giving the gzip
+ * representation its own tag, the original with a {@code -gzip} suffix, and stripping
+ * that suffix from {@code If-None-Match} and {@code If-Match} before they reach the
+ * controllers, so conditional requests work with either form. The tag is held back with
+ * the body and only suffixed once the response is actually gzipped; a {@code 304} repeats
+ * the form the client sent.
+ */
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "app.web.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+    
+    static final String GZIP = "gzip";
+    static final String ETAG_SUFFIX = "-" + GZIP;
+    
+    private static final List<MediaType> COMPRESSIBLE = List.of(
+            MediaType.APPLICATION_JSON, new MediaType("application", "*+json"), MediaType.APPLICATION_NDJSON);
+    
+    private final int minResponseSize;
+    private final int level;
+    
+    public ResponseCompressionFilter(
+            @Value("${app.web.compression.min-response-size:2KB}") DataSize minResponseSize,
+            @Value("${app.web.compression.level:6}") int level) {
+        this.minResponseSize = (int) minResponseSize.toBytes();
+        this.level = level;
+    }
+    
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Streamed bodies finish on the async dispatch, which must close the gzip stream
+        return false;
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        CompressingResponse compressing = WebUtils.getNativeResponse(response, CompressingResponse.class);
+        if (compressing == null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (!acceptsGzip(request)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            compressing = new CompressingResponse(response, GzipTagRequest.hasGzipTag(request));
+            filterChain.doFilter(new GzipTagRequest(request), compressing);
+        } else {
+            filterChain.doFilter(request, response);
+        }
+        if (!isAsyncStarted(request)) {
+            compressing.finish();
+        }
+    }
+    
+    static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String coding : headers.nextElement().split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                if ((name.equals(GZIP) || name.equals("*")) && !isRejected(parts)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isRejected(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException ex) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return COMPRESSIBLE.stream().anyMatch(compressible -> compressible.includes(mediaType));
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+    
+    /**
+     * Presents conditional headers carrying gzip tags as the tags the controllers issued.
+     */
+    private static final class GzipTagRequest extends HttpServletRequestWrapper {
+        
+        GzipTagRequest(HttpServletRequest request) {
+            super(request);
+        }
+        
+        @Override
+        public String getHeader(String name) {
+            String value = super.getHeader(name);
+            return isConditional(name) ? stripSuffix(value) : value;
+        }
+        
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            Enumeration<String> values = super.getHeaders(name);
+            if (!isConditional(name) || values == null) {
+                return values;
+            }
+            return Collections.enumeration(Collections.list(values).stream()
+                    .map(GzipTagRequest::stripSuffix)
+                    .toList());
+        }
+        
+        static boolean hasGzipTag(HttpServletRequest request) {
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            return ifNoneMatch != null && ifNoneMatch.contains(ETAG_SUFFIX + "\"");
+        }
+        
+        private static boolean isConditional(String name) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) || HttpHeaders.IF_MATCH.equalsIgnoreCase(name);
+        }
+        
+        private static String stripSuffix(String value) {
+            return value == null ? null : value.replace(ETAG_SUFFIX + "\"", "\"");
+        }
+    }
+    
+    /**
+     * Buffers the body and its {@code ETag} until the body reaches the minimum size, then
+     * commits to gzip or identity.
+     */
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+        
+        private final boolean gzipValidated;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(minResponseSize);
+        private OutputStream target;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+        private long contentLength = -1;
+        private String etag;
+        
+        CompressingResponse(HttpServletResponse response, boolean gzipValidated) {
+            super(response);
+            this.gzipValidated = gzipValidated;
+        }
+        
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            if (outputStream == null) {
+                outputStream = new BufferingOutputStream();
+            }
+            return outputStream;
+        }
+        
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (outputStream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(new BufferingOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+        
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value == null ? -1 : Long.parseLong(value));
+            } else if (HttpHeaders.ETAG.equalsIgnoreCase(name)) {
+                setETag(value);
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+        
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else if (HttpHeaders.ETAG.equalsIgnoreCase(name)) {
+                setETag(value);
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+        
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+            } else {
+                super.setIntHeader(name, value);
+            }
+        }
+        
+        @Override
+        public boolean containsHeader(String name) {
+            return isPendingETag(name) || super.containsHeader(name);
+        }
+        
+        @Override
+        public String getHeader(String name) {
+            return isPendingETag(name) ? etag : super.getHeader(name);
+        }
+        
+        @Override
+        public Collection<String> getHeaders(String name) {
+            return isPendingETag(name) ? List.of(etag) : super.getHeaders(name);
+        }
+        
+        @Override
+        public void setContentLength(int length) {
+            setContentLengthLong(length);
+        }
+        
+        @Override
+        public void setContentLengthLong(long length) {
+            // Known only once the encoding is decided
+            if (target != null && !isGzip()) {
+                super.setContentLengthLong(length);
+            } else {
+                contentLength = length;
+            }
+        }
+        
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target != null) {
+                target.flush();
+                super.flushBuffer();
+            }
+        }
+        
+        @Override
+        public void resetBuffer() {
+            if (target == null) {
+                buffer.reset();
+            }
+            super.resetBuffer();
+        }
+        
+        @Override
+        public void reset() {
+            if (target == null) {
+                buffer.reset();
+                contentLength = -1;
+                etag = null;
+            }
+            super.reset();
+        }
+        
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            discard();
+            super.sendError(status, message);
+        }
+        
+        @Override
+        public void sendError(int status) throws IOException {
+            discard();
+            super.sendError(status);
+        }
+        
+        /**
+         * Writes out whatever is still buffered and ends the gzip stream.
+         */
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target == null) {
+                if (buffer.size() == 0) {
+                    // No body (HEAD, 304, errors): leave the stream to whoever writes next
+                    if (contentLength >= 0) {
+                        super.setContentLengthLong(contentLength);
+                    }
+                    releaseETag(gzipValidated && getStatus() == HttpServletResponse.SC_NOT_MODIFIED);
+                    return;
+                }
+                commit(false);
+            }
+            if (target instanceof GZIPOutputStream gzip) {
+                gzip.finish();
+            }
+            target.flush();
+        }
+        
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target == null) {
+                if (buffer.size() + length < minResponseSize) {
+                    buffer.write(bytes, offset, length);
+                    return;
+                }
+                commit(true);
+            }
+            target.write(bytes, offset, length);
+        }
+        
+        private void commit(boolean large) throws IOException {
+            byte[] buffered = buffer.toByteArray();
+            buffer = null;
+            OutputStream raw = getResponse().getOutputStream();
+            if (large && getHeader(HttpHeaders.CONTENT_ENCODING) == null && isCompressible(getContentType())) {
+                super.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+                target = new GZIPOutputStream(raw, 8192) {
+                    {
+                        def.setLevel(level);
+                    }
+                };
+            } else {
+                target = raw;
+                if (contentLength >= 0) {
+                    super.setContentLengthLong(contentLength);
+                }
+            }
+            releaseETag(isGzip());
+            target.write(buffered);
+        }
+        
+        private boolean isGzip() {
+            return target instanceof GZIPOutputStream;
+        }
+        
+        private boolean isPendingETag(String name) {
+            return etag != null && HttpHeaders.ETAG.equalsIgnoreCase(name);
+        }
+        
+        private void setETag(String value) {
+            // The tag names the encoded bytes, so it waits for the encoding to be chosen
+            if (target == null) {
+                etag = value;
+            } else {
+                super.setHeader(HttpHeaders.ETAG, isGzip() ? gzipTag(value) : value);
+            }
+        }
+        
+        private void releaseETag(boolean gzip) {
+            if (etag != null) {
+                super.setHeader(HttpHeaders.ETAG, gzip ? gzipTag(etag) : etag);
+                etag = null;
+            }
+        }
+        
+        private void discard() {
+            if (target == null) {
+                buffer.reset();
+            }
+        }
+        
+        private String gzipTag(String tag) {
+            // Weak tags already allow other encodings; strong ones must name the gzip bytes
+            if (tag == null || tag.startsWith("W/") || !tag.endsWith("\"") || tag.length() < 2) {
+                return tag;
+            }
+            return tag.substring(0, tag.length() - 1) + ETAG_SUFFIX + "\"";
+        }
+        
+        private final class BufferingOutputStream extends ServletOutputStream {
+            
+            @Override
+            public void write(int b) throws IOException {
+                CompressingResponse.this.write(new byte[] {(byte) b}, 0, 1);
+            }
+            
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                CompressingResponse.this.write(bytes, offset, length);
+            }
+            
+            @Override
+            public void flush() throws IOException {
+                // Nothing is sent while the encoding is still undecided
+                if (target != null) {
+                    target.flush();
+                }
+            }
+            
+            @Override
+            public void close() throws IOException {
+                finish();
+            }
+            
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+            
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                throw new UnsupportedOperationException("Non-blocking writes are not supported");
+            }
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- Hibernate cannot batch inserts with IDENTITY ids; allocate ids in pooled blocks instead.
+-- Must match allocationSize on ExampleEntity.id.
+ALTER SEQUENCE example_entities_id_seq INCREMENT BY 50;
@@ -0,0 +1,4 @@
+-- Composite indexes backing keyset pagination over (sort key, id), see SortKey
+CREATE INDEX IF NOT EXISTS idx_example_entities_created_at_id ON example_entities(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_example_entities_status_id ON example_entities(status, id);
+CREATE INDEX IF NOT EXISTS idx_example_entities_status_created_at_id ON example_entities(status, created_at, id);
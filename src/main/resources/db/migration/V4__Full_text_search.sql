@@ -0,0 +1,10 @@
+-- Full-text search over name (weight A) and description (weight B).
+-- A stored generated column keeps the vector in sync on every insert/update.
+ALTER TABLE example_entities
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_example_entities_search_vector ON example_entities USING GIN (search_vector);
@@ -0,0 +1,22 @@
+-- Transactional outbox: events are inserted in the same transaction as the entity change
+-- and published to Kafka afterwards by OutboxRelay.
+-- Ids are allocated one at a time (allocationSize = 1 on OutboxEvent.id) so that id order
+-- follows insert order across nodes; the relay publishes each key bucket in id order.
+CREATE SEQUENCE IF NOT EXISTS outbox_events_id_seq;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT PRIMARY KEY DEFAULT nextval('outbox_events_id_seq'),
+    event_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_key VARCHAR(255) NOT NULL,
+    key_bucket INTEGER NOT NULL,
+    payload TEXT,
+    occurred_at TIMESTAMP NOT NULL,
+    published_at TIMESTAMP
+);
+
+ALTER SEQUENCE outbox_events_id_seq OWNED BY outbox_events.id;
+
+-- Keeps the relay scan proportional to the backlog rather than the table size
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events(id) WHERE published_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_outbox_events_published_at ON outbox_events(published_at) WHERE published_at IS NOT NULL;
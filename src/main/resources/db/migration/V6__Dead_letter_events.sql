@@ -0,0 +1,29 @@
+-- Events that exhausted the retry tiers, persisted by DlqHandler for inspection and replay.
+-- (dlq_partition, dlq_offset) identifies the DLQ record, so a redelivered record is stored once.
+CREATE SEQUENCE IF NOT EXISTS dead_letter_events_id_seq;
+
+CREATE TABLE IF NOT EXISTS dead_letter_events (
+    id BIGINT PRIMARY KEY DEFAULT nextval('dead_letter_events_id_seq'),
+    dlq_partition INTEGER NOT NULL,
+    dlq_offset BIGINT NOT NULL,
+    message_key VARCHAR(255),
+    event_id VARCHAR(36),
+    event_type VARCHAR(100),
+    payload TEXT,
+    event_timestamp TIMESTAMP,
+    original_topic VARCHAR(255),
+    original_partition INTEGER,
+    original_offset BIGINT,
+    exception_class VARCHAR(255),
+    exception_message TEXT,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,
+    failed_at TIMESTAMP NOT NULL,
+    replayed_at TIMESTAMP,
+    CONSTRAINT uk_dead_letter_events_record UNIQUE (dlq_partition, dlq_offset)
+);
+
+ALTER SEQUENCE dead_letter_events_id_seq OWNED BY dead_letter_events.id;
+
+-- Replay walks pending rows in id order
+CREATE INDEX IF NOT EXISTS idx_dead_letter_events_pending ON dead_letter_events(id) WHERE status = 'PENDING';
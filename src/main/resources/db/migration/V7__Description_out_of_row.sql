@@ -0,0 +1,10 @@
+-- Optional out-of-row storage for large descriptions (app.description.out-of-row.*).
+-- When description_truncated is set, example_entities.description holds a preview and
+-- the full text lives in example_entity_descriptions, keeping the hot row narrow.
+ALTER TABLE example_entities
+    ADD COLUMN IF NOT EXISTS description_truncated BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE TABLE IF NOT EXISTS example_entity_descriptions (
+    entity_id BIGINT PRIMARY KEY REFERENCES example_entities (id) ON DELETE CASCADE,
+    body TEXT NOT NULL
+);
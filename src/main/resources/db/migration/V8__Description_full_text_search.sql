@@ -0,0 +1,9 @@
+-- Full-text search over descriptions stored out of row (V7). example_entities.search_vector
+-- only covers the preview of a truncated description, so the stored text gets its own
+-- vector, weighted like the inline description, and full-text queries match either.
+ALTER TABLE example_entity_descriptions
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (setweight(to_tsvector('english', body), 'B')) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_example_entity_descriptions_search_vector
+    ON example_entity_descriptions USING GIN (search_vector);
@@ -0,0 +1,6 @@
+-- Records the consumer could not deserialize reach the DLQ as the bytes they were produced with.
+-- DlqHandler keeps those bytes and the schema version header they carried, so such rows can be
+-- inspected and replayed like the others instead of keeping only the failure.
+ALTER TABLE dead_letter_events
+    ADD COLUMN IF NOT EXISTS raw_payload BYTEA,
+    ADD COLUMN IF NOT EXISTS schema_version INTEGER;
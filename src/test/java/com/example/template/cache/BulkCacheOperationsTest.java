@@ -0,0 +1,157 @@
+package com.example.template.cache;
+
+import com.example.template.entity.ExampleEntity;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkCacheOperationsTest {
+
+    private static final String CACHE_NAME = "examples";
+
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(1024);
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private RedisCache redisCache;
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    private SimpleMeterRegistry meterRegistry;
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private BulkCacheOperations bulkCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        localCache = Caffeine.newBuilder().maximumSize(100).build();
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+        lenient().when(redisCache.getName()).thenReturn(CACHE_NAME);
+        lenient().when(redisCache.getCacheConfiguration()).thenReturn(config);
+        lenient().when(connection.stringCommands()).thenReturn(stringCommands);
+        TwoTierCache twoTierCache = new TwoTierCache(
+                CACHE_NAME, localCache, redisCache, invalidationPublisher, null, meterRegistry);
+        lenient().when(cacheManager.getCache(CACHE_NAME)).thenReturn(new TransactionAwareCacheDecorator(twoTierCache));
+        bulkCache = new BulkCacheOperations(cacheManager, redisTemplate);
+    }
+
+    @Test
+    void getAll_ServesLocalHitsAndFetchesTheRestWithOneMultiGet() {
+        ExampleEntity local = entity(1L);
+        ExampleEntity remote = entity(2L);
+        localCache.put("1", local);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+        when(stringCommands.mGet(any(byte[][].class))).thenReturn(Arrays.asList(serializer.serialize(remote), null));
+
+        Map<Long, ExampleEntity> found = bulkCache.getAll(CACHE_NAME, List.of(1L, 2L, 3L), ExampleEntity.class);
+
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        assertThat(found.get(2L).getName()).isEqualTo("Entity 2");
+        ArgumentCaptor<byte[][]> keys = ArgumentCaptor.forClass(byte[][].class);
+        verify(stringCommands).mGet(keys.capture());
+        assertThat(Arrays.stream(keys.getValue()).map(key -> new String(key, StandardCharsets.UTF_8)))
+                .containsExactly("examples::2", "examples::3");
+        assertThat(localCache.getIfPresent("2")).isNotNull();
+        assertThat(meterRegistry.get("cache.gets").tag("tier", "l2").tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("tier", "l2").tag("result", "miss").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void getAll_WhenAllLocal_DoesNotCallRedis() {
+        localCache.put("1", entity(1L));
+
+        Map<Long, ExampleEntity> found = bulkCache.getAll(CACHE_NAME, List.of(1L), ExampleEntity.class);
+
+        assertThat(found).containsOnlyKeys(1L);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void getAll_WhenRedisUnavailable_ReturnsLocalHitsOnly() {
+        localCache.put("1", entity(1L));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenThrow(new RedisConnectionFailureException("down"));
+
+        Map<Long, ExampleEntity> found = bulkCache.getAll(CACHE_NAME, List.of(1L, 2L), ExampleEntity.class);
+
+        assertThat(found).containsOnlyKeys(1L);
+    }
+
+    @Test
+    void putAll_WritesMissingEntriesInOnePipelineWithTtl() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+                    return List.of();
+                });
+
+        bulkCache.putAll(CACHE_NAME, Map.of(2L, entity(2L)));
+
+        verify(stringCommands).set(eq("examples::2".getBytes(StandardCharsets.UTF_8)), any(byte[].class),
+                any(Expiration.class), eq(SetOption.ifAbsent()));
+        assertThat(localCache.getIfPresent("2")).isNotNull();
+    }
+
+    @Test
+    void getAll_ForCachesWithoutRedis_FallsBackToSingleGets() {
+        ConcurrentMapCacheManager concurrentMapCacheManager = new ConcurrentMapCacheManager(CACHE_NAME);
+        concurrentMapCacheManager.getCache(CACHE_NAME).put(1L, entity(1L));
+        BulkCacheOperations operations = new BulkCacheOperations(concurrentMapCacheManager, redisTemplate);
+
+        operations.putAll(CACHE_NAME, Map.of(2L, entity(2L)));
+        Map<Long, ExampleEntity> found = operations.getAll(CACHE_NAME, List.of(1L, 2L, 3L), ExampleEntity.class);
+
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private static ExampleEntity entity(Long id) {
+        return ExampleEntity.builder().id(id).name("Entity " + id).status("ACTIVE").build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.template.cache;
+
+import com.example.template.datasource.PrimaryReads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryResultCacheTest {
+
+    private static final String CACHE_NAME = "example-pages";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryResultCache queryCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queryCache = new QueryResultCache(new ConcurrentMapCacheManager(CACHE_NAME), redisTemplate, meterRegistry);
+    }
+
+    @Test
+    void get_LoadsOnceThenServesFromCacheUntilGenerationChanges() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(QueryResultCache.GENERATION_KEY_PREFIX + "global")).thenReturn(null, null, "1");
+        AtomicInteger loads = new AtomicInteger();
+
+        queryCache.get(CACHE_NAME, QueryResultCache.GLOBAL_SCOPE, "p0:s20", loads::incrementAndGet);
+        Integer cached = queryCache.get(CACHE_NAME, QueryResultCache.GLOBAL_SCOPE, "p0:s20", loads::incrementAndGet);
+        Integer reloaded = queryCache.get(CACHE_NAME, QueryResultCache.GLOBAL_SCOPE, "p0:s20", loads::incrementAndGet);
+
+        assertThat(cached).isEqualTo(1);
+        assertThat(reloaded).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.query.gets").tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.query.gets").tag("result", "miss").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void get_CountsLookupsPerCacheName() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(QueryResultCache.GENERATION_KEY_PREFIX + "global")).thenReturn(null);
+
+        queryCache.get(CACHE_NAME, QueryResultCache.GLOBAL_SCOPE, "p0:s20", () -> 1);
+        queryCache.get(CACHE_NAME, QueryResultCache.GLOBAL_SCOPE, "p0:s20", () -> 1);
+        queryCache.get("unknown", QueryResultCache.GLOBAL_SCOPE, "p0:s20", () -> 1);
+
+        assertThat(meterRegistry.get("cache.query.gets").tag("cache", CACHE_NAME).tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.query.gets").tag("cache", CACHE_NAME).tag("result", "bypass").counter().count())
+                .isZero();
+        assertThat(meterRegistry.get("cache.query.gets").tag("cache", "unknown").tag("result", "bypass").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void get_OnMiss_LoadsFromPrimary() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        Boolean onPrimary = queryCache.get(CACHE_NAME, QueryResultCache.GLOBAL_SCOPE, "p0:s20", PrimaryReads::isActive);
+
+        assertThat(onPrimary).isTrue();
+        assertThat(PrimaryReads.isActive()).isFalse();
+    }
+
+    @Test
+    void get_WhenRedisUnavailable_RunsQueryUncached() {
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+        AtomicInteger loads = new AtomicInteger();
+
+        queryCache.get(CACHE_NAME, QueryResultCache.GLOBAL_SCOPE, "p0:s20", loads::incrementAndGet);
+        queryCache.get(CACHE_NAME, QueryResultCache.GLOBAL_SCOPE, "p0:s20", loads::incrementAndGet);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.query.gets").tag("result", "bypass").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void get_WhenLoaderFails_PropagatesItsException() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        assertThatThrownBy(() -> queryCache.get(CACHE_NAME, QueryResultCache.GLOBAL_SCOPE, "p0:s20", () -> {
+            throw new IllegalStateException("query failed");
+        }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("query failed");
+    }
+
+    @Test
+    void invalidate_OutsideTransactionBumpsGenerationsImmediately() {
+        queryCache.invalidate(List.of(QueryResultCache.GLOBAL_SCOPE, QueryResultCache.statusScope("ACTIVE")));
+
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void invalidate_WhenRedisFails_DoesNotThrow() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new RedisConnectionFailureException("down"));
+
+        queryCache.invalidate(List.of(QueryResultCache.GLOBAL_SCOPE));
+
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+}
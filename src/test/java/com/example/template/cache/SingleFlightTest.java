@@ -0,0 +1,70 @@
+package com.example.template.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private Counter coalesced;
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        coalesced = Counter.builder("cache.loads.coalesced").register(new SimpleMeterRegistry());
+        singleFlight = new SingleFlight(coalesced);
+    }
+
+    @Test
+    void execute_WhenConcurrentForSameKey_RunsLoaderOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("1", () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                releaseLoader.await(5, TimeUnit.SECONDS);
+                return "value";
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> follower = executor.submit(() -> singleFlight.execute("1", () -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            while (coalesced.count() == 0) {
+                Thread.onSpinWait();
+            }
+            releaseLoader.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            assertThat(loads).hasValue(1);
+            assertThat(singleFlight.inFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_WhenLoaderFails_RethrowsAndClearsFlight() {
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        assertThatThrownBy(() -> singleFlight.execute("1", () -> {
+            throw failure;
+        })).isSameAs(failure);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.template.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    private static final String CACHE_NAME = "examples";
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCache remoteCache;
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        remoteCache = new ConcurrentMapCache(CACHE_NAME, false);
+        localCache = Caffeine.newBuilder().maximumSize(100).build();
+        cache = new TwoTierCache(CACHE_NAME, localCache, remoteCache, invalidationPublisher, null, meterRegistry);
+    }
+
+    @Test
+    void get_WhenOnlyInRemote_PopulatesLocalTier() {
+        remoteCache.put(1L, "value");
+
+        assertThat(cache.get(1L, String.class)).isEqualTo("value");
+        assertThat(localCache.getIfPresent("1")).isEqualTo("value");
+        assertThat(remoteHits()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_WhenInLocal_DoesNotTouchRemote() {
+        localCache.put("1", "local");
+        remoteCache.put(1L, "remote");
+
+        assertThat(cache.get(1L).get()).isEqualTo("local");
+        assertThat(remoteHits()).isZero();
+    }
+
+    @Test
+    void get_WhenMissingEverywhere_CountsRemoteMiss() {
+        assertThat(cache.get(1L)).isNull();
+        assertThat(meterRegistry.get("cache.gets").tag("tier", "l2").tag("result", "miss").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void getWithLoader_WhenMissing_LoadsAndPopulatesBothTiers() {
+        String value = cache.get(1L, () -> "loaded");
+
+        assertThat(value).isEqualTo("loaded");
+        assertThat(remoteCache.get(1L).get()).isEqualTo("loaded");
+        assertThat(localCache.getIfPresent("1")).isEqualTo("loaded");
+    }
+
+    @Test
+    void getWithLoader_WhenPeerHoldsLoadLock_UsesPeerValue() throws Exception {
+        DistributedLoadLock loadLock = mock(DistributedLoadLock.class);
+        cache = new TwoTierCache(CACHE_NAME, localCache, remoteCache, invalidationPublisher, loadLock, meterRegistry);
+        when(loadLock.tryAcquire(CACHE_NAME + "::1")).thenReturn(Optional.empty());
+        when(loadLock.awaitValue(eq(CACHE_NAME + "::1"), any())).thenReturn(new SimpleValueWrapper("peer"));
+
+        String value = cache.get(1L, () -> "loaded");
+
+        assertThat(value).isEqualTo("peer");
+        assertThat(localCache.getIfPresent("1")).isEqualTo("peer");
+        verify(loadLock, never()).release(any(), any());
+    }
+
+    @Test
+    void getWithLoader_WhenLockAcquired_LoadsAndReleases() {
+        DistributedLoadLock loadLock = mock(DistributedLoadLock.class);
+        cache = new TwoTierCache(CACHE_NAME, localCache, remoteCache, invalidationPublisher, loadLock, meterRegistry);
+        when(loadLock.tryAcquire(CACHE_NAME + "::1")).thenReturn(Optional.of("token"));
+
+        assertThat(cache.get(1L, () -> "loaded")).isEqualTo("loaded");
+
+        verify(loadLock).release(CACHE_NAME + "::1", "token");
+    }
+
+    @Test
+    void getWithLoader_WhenLoaderFails_WrapsCause() {
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw failure;
+        })).isInstanceOf(Cache.ValueRetrievalException.class).hasCause(failure);
+    }
+
+    @Test
+    void evict_RemovesBothTiersAndBroadcasts() {
+        cache.put(1L, "value");
+
+        cache.evict(1L);
+
+        assertThat(remoteCache.get(1L)).isNull();
+        assertThat(localCache.getIfPresent("1")).isNull();
+        verify(invalidationPublisher).publishEvict(CACHE_NAME, "1");
+    }
+
+    @Test
+    void clear_RemovesBothTiersAndBroadcasts() {
+        cache.put(1L, "value");
+
+        cache.clear();
+
+        assertThat(remoteCache.get(1L)).isNull();
+        assertThat(localCache.estimatedSize()).isZero();
+        verify(invalidationPublisher).publishClear(CACHE_NAME);
+    }
+
+    @Test
+    void handleInvalidation_FromPeer_EvictsLocalTierOnly() {
+        when(invalidationPublisher.getNodeId()).thenReturn("self");
+        TwoTierCacheManager manager = new TwoTierCacheManager(
+                new ConcurrentMapCacheManager(), invalidationPublisher, null, meterRegistry, 100, Duration.ofSeconds(30));
+        Cache managed = manager.getCache(CACHE_NAME);
+        managed.put(1L, "value");
+
+        manager.handleInvalidation(new CacheInvalidationMessage("peer", CACHE_NAME, "1").encode());
+
+        com.github.benmanes.caffeine.cache.Cache<?, ?> l1 =
+                (com.github.benmanes.caffeine.cache.Cache<?, ?>) managed.getNativeCache();
+        assertThat(l1.getIfPresent("1")).isNull();
+        assertThat(managed.get(1L).get()).isEqualTo("value");
+    }
+
+    @Test
+    void handleInvalidation_FromSelf_IsIgnored() {
+        when(invalidationPublisher.getNodeId()).thenReturn("self");
+        TwoTierCacheManager manager = new TwoTierCacheManager(
+                new ConcurrentMapCacheManager(), invalidationPublisher, null, meterRegistry, 100, Duration.ofSeconds(30));
+        Cache managed = manager.getCache(CACHE_NAME);
+        managed.put(1L, "value");
+
+        manager.handleInvalidation(new CacheInvalidationMessage("self", CACHE_NAME, null).encode());
+
+        com.github.benmanes.caffeine.cache.Cache<?, ?> l1 =
+                (com.github.benmanes.caffeine.cache.Cache<?, ?>) managed.getNativeCache();
+        assertThat(l1.getIfPresent("1")).isEqualTo("value");
+    }
+
+    @Test
+    void getMissingCache_WhenCalledConcurrently_ReturnsTheInstanceInvalidationsReach() {
+        when(invalidationPublisher.getNodeId()).thenReturn("self");
+        TwoTierCacheManager manager = new TwoTierCacheManager(
+                new ConcurrentMapCacheManager(), invalidationPublisher, null, meterRegistry, 100, Duration.ofSeconds(30));
+        // Two threads missing the cache at once both get here, outside AbstractCacheManager's lock
+        Cache first = manager.getMissingCache(CACHE_NAME);
+        Cache second = manager.getMissingCache(CACHE_NAME);
+        first.put(1L, "value");
+
+        manager.handleInvalidation(new CacheInvalidationMessage("peer", CACHE_NAME, "1").encode());
+
+        assertThat(second).isSameAs(first);
+        assertThat(((com.github.benmanes.caffeine.cache.Cache<?, ?>) first.getNativeCache()).getIfPresent("1")).isNull();
+        assertThat(meterRegistry.find("cache.size").tag("cache", CACHE_NAME).meters()).hasSize(1);
+    }
+
+    @Test
+    void decode_RoundTripsClearMessage() {
+        CacheInvalidationMessage message = CacheInvalidationMessage.decode(
+                new CacheInvalidationMessage("node", CACHE_NAME, null).encode());
+
+        assertThat(message.isClear()).isTrue();
+        assertThat(message.cacheName()).isEqualTo(CACHE_NAME);
+    }
+
+    private double remoteHits() {
+        return meterRegistry.get("cache.gets").tag("tier", "l2").tag("result", "hit").counter().count();
+    }
+}
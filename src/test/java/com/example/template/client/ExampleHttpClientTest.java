@@ -1,150 +1,178 @@
 package com.example.template.client;
 
+import com.example.template.exception.ExternalServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.*;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@ExtendWith(MockitoExtension.class)
 class ExampleHttpClientTest {
 
-    @Mock
-    private WebClient.Builder webClientBuilder;
-
-    @Mock
-    private WebClient webClient;
-
-    @Mock
-    @SuppressWarnings("rawtypes")
-    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
-
-    @Mock
-    @SuppressWarnings("rawtypes")
-    private WebClient.RequestHeadersSpec requestHeadersSpec;
-
-    @Mock
-    private WebClient.ResponseSpec responseSpec;
-
-    @InjectMocks
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private HttpStatus responseStatus = HttpStatus.OK;
     private ExampleHttpClient httpClient;
 
-    @Mock
-    @SuppressWarnings("rawtypes")
-    private WebClient.RequestBodyUriSpec requestBodyUriSpec;
-
-    @Mock
-    @SuppressWarnings("rawtypes")
-    private WebClient.RequestBodySpec requestBodySpec;
-
-    private void setupGetMocks() {
-        when(webClientBuilder.defaultHeader(any(), any())).thenReturn(webClientBuilder);
-        when(webClientBuilder.build()).thenReturn(webClient);
-        when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(any(String.class))).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(any(Class.class))).thenReturn(Mono.just("response"));
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(ClientResponse.create(responseStatus)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                            .body("response")
+                            .build());
+                })
+                .filter(new CorrelationIdExchangeFilter())
+                .build();
+        OutboundResilience resilience = new OutboundResilience(
+                ResiliencePolicy.DEFAULTS, Map.of(), new SimpleMeterRegistry());
+        httpClient = new ExampleHttpClient(webClient, resilience);
     }
 
-    private void setupPostMocks() {
-        when(webClientBuilder.defaultHeader(any(), any())).thenReturn(webClientBuilder);
-        when(webClientBuilder.build()).thenReturn(webClient);
-        when(webClient.post()).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.uri(any(String.class))).thenReturn(requestBodySpec);
-        when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(any(Class.class))).thenReturn(Mono.just("response"));
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
     }
 
     @Test
-    void buildWebClient_WhenCorrelationIdExists_ShouldIncludeInHeader() {
+    void get_WhenCorrelationIdExists_ShouldIncludeInHeader() {
         // Given
-        setupGetMocks();
-        String correlationId = "test-correlation-id";
-        MDC.put("correlationId", correlationId);
+        MDC.put("correlationId", "test-correlation-id");
 
         // When
-        httpClient.get("https://api.example.com/data", String.class).block();
+        String response = httpClient.get("https://api.example.com/data", String.class).block();
 
         // Then
-        ArgumentCaptor<String> headerValueCaptor = ArgumentCaptor.forClass(String.class);
-        verify(webClientBuilder).defaultHeader(eq("X-Correlation-Id"), headerValueCaptor.capture());
-        assertThat(headerValueCaptor.getValue()).isEqualTo(correlationId);
-        MDC.clear();
+        assertThat(response).isEqualTo("response");
+        assertThat(requests).singleElement().satisfies(request -> {
+            assertThat(request.method()).isEqualTo(HttpMethod.GET);
+            assertThat(request.headers().getFirst("X-Correlation-Id")).isEqualTo("test-correlation-id");
+        });
     }
 
     @Test
-    void buildWebClient_WhenCorrelationIdMissing_ShouldUseEmptyString() {
+    void get_WhenCorrelationIdMissing_ShouldOmitHeader() {
         // Given
-        setupGetMocks();
         MDC.clear();
 
         // When
         httpClient.get("https://api.example.com/data", String.class).block();
 
         // Then
-        ArgumentCaptor<String> headerValueCaptor = ArgumentCaptor.forClass(String.class);
-        verify(webClientBuilder).defaultHeader(eq("X-Correlation-Id"), headerValueCaptor.capture());
-        assertThat(headerValueCaptor.getValue()).isEmpty();
+        assertThat(requests).singleElement()
+                .satisfies(request -> assertThat(request.headers().containsHeader("X-Correlation-Id")).isFalse());
     }
 
     @Test
-    void buildWebClient_WhenCorrelationIdIsNull_ShouldUseEmptyString() {
+    void get_ReadsCorrelationIdWhenRequestIsBuiltNotWhenSubscribed() {
         // Given
-        setupGetMocks();
-        MDC.put("correlationId", null);
+        MDC.put("correlationId", "caller-id");
+        Mono<String> response = httpClient.get("https://api.example.com/data", String.class);
+        MDC.put("correlationId", "other-id");
 
         // When
+        response.block();
+
+        // Then
+        assertThat(requests).singleElement()
+                .satisfies(request -> assertThat(request.headers().getFirst("X-Correlation-Id")).isEqualTo("caller-id"));
+    }
+
+    @Test
+    void get_SharesOneClientAcrossCallsWithDifferentCorrelationIds() {
+        // When
+        MDC.put("correlationId", "first");
+        httpClient.get("https://api.example.com/data", String.class).block();
+        MDC.put("correlationId", "second");
         httpClient.get("https://api.example.com/data", String.class).block();
 
         // Then
-        ArgumentCaptor<String> headerValueCaptor = ArgumentCaptor.forClass(String.class);
-        verify(webClientBuilder).defaultHeader(eq("X-Correlation-Id"), headerValueCaptor.capture());
-        assertThat(headerValueCaptor.getValue()).isEmpty();
-        MDC.clear();
+        assertThat(requests).extracting(request -> request.headers().get("X-Correlation-Id"))
+                .containsExactly(List.of("first"), List.of("second"));
+    }
+
+    @Test
+    void get_WhenServiceReturnsError_ShouldThrowExternalServiceException() {
+        // Given
+        responseStatus = HttpStatus.NOT_FOUND;
+
+        // When / Then
+        assertThatThrownBy(() -> httpClient.get("https://api.example.com/data", String.class).block())
+                .isInstanceOf(ExternalServiceException.class)
+                .hasMessageContaining("External service error");
     }
 
     @Test
     void post_WhenCorrelationIdExists_ShouldIncludeInHeader() {
         // Given
-        setupPostMocks();
-        String correlationId = "test-correlation-id";
-        MDC.put("correlationId", correlationId);
+        MDC.put("correlationId", "test-correlation-id");
 
         // When
-        httpClient.post("https://api.example.com/data", "request body", String.class).block();
+        String response = httpClient.post("https://api.example.com/data", "request body", String.class).block();
 
         // Then
-        ArgumentCaptor<String> headerValueCaptor = ArgumentCaptor.forClass(String.class);
-        verify(webClientBuilder, atLeastOnce()).defaultHeader(eq("X-Correlation-Id"), headerValueCaptor.capture());
-        assertThat(headerValueCaptor.getValue()).isEqualTo(correlationId);
-        verify(webClient).post();
-        MDC.clear();
+        assertThat(response).isEqualTo("response");
+        assertThat(requests).singleElement().satisfies(request -> {
+            assertThat(request.method()).isEqualTo(HttpMethod.POST);
+            assertThat(request.headers().getFirst("X-Correlation-Id")).isEqualTo("test-correlation-id");
+        });
     }
 
     @Test
-    void post_WhenCorrelationIdMissing_ShouldUseEmptyString() {
+    void post_WhenCorrelationIdMissing_ShouldOmitHeader() {
         // Given
-        setupPostMocks();
         MDC.clear();
 
         // When
         httpClient.post("https://api.example.com/data", "request body", String.class).block();
 
         // Then
-        ArgumentCaptor<String> headerValueCaptor = ArgumentCaptor.forClass(String.class);
-        verify(webClientBuilder, atLeastOnce()).defaultHeader(eq("X-Correlation-Id"), headerValueCaptor.capture());
-        assertThat(headerValueCaptor.getValue()).isEmpty();
-        verify(webClient).post();
+        assertThat(requests).singleElement()
+                .satisfies(request -> assertThat(request.headers().containsHeader("X-Correlation-Id")).isFalse());
+    }
+
+    @Test
+    void get_WhenServiceReturnsServerError_ShouldRetry() {
+        // Given
+        responseStatus = HttpStatus.SERVICE_UNAVAILABLE;
+
+        // When / Then
+        assertThatThrownBy(() -> httpClient.get("https://api.example.com/data", String.class).block())
+                .isInstanceOfSatisfying(ExternalServiceException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(503));
+        assertThat(requests).hasSize(1 + ResiliencePolicy.DEFAULTS.maxRetries());
+    }
+
+    @Test
+    void post_WhenServiceReturnsServerError_ShouldNotRetry() {
+        // Given
+        responseStatus = HttpStatus.SERVICE_UNAVAILABLE;
+
+        // When / Then
+        assertThatThrownBy(() -> httpClient.post("https://api.example.com/data", "request body", String.class).block())
+                .isInstanceOf(ExternalServiceException.class);
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void target_ShouldBeHostAndPort() {
+        assertThat(ExampleHttpClient.target("https://api.example.com:8443/data?q=1")).isEqualTo("api.example.com:8443");
+        assertThat(ExampleHttpClient.target("https://api.example.com/data")).isEqualTo("api.example.com");
     }
 }
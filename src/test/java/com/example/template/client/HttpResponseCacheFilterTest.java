@@ -0,0 +1,242 @@
+package com.example.template.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpResponseCacheFilterTest {
+
+    private static final String URL = "https://api.example.com/items/1";
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private final Deque<ClientResponse> responses = new ArrayDeque<>();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private SimpleMeterRegistry meterRegistry;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ExchangeStrategies strategies = ExchangeStrategies.withDefaults();
+        HttpResponseCacheFilter filter = new HttpResponseCacheFilter(1024 * 1024, 64, strategies, meterRegistry, clock);
+        webClient = WebClient.builder()
+                .exchangeStrategies(strategies)
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(responses.removeFirst());
+                })
+                .filter(filter)
+                .build();
+    }
+
+    @Test
+    void get_WhileFresh_ServesStoredResponseWithoutRequest() {
+        responses.add(ok("first", "max-age=60", null));
+
+        assertThat(get()).isEqualTo("first");
+        clock.advance(Duration.ofSeconds(59));
+        assertThat(get()).isEqualTo("first");
+
+        assertThat(requests).hasSize(1);
+        assertThat(meterRegistry.get("http.client.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_WhenStale_RevalidatesWithETagAndServesStoredBodyOn304() {
+        responses.add(ok("first", "max-age=60", "\"v1\""));
+        responses.add(ClientResponse.create(HttpStatus.NOT_MODIFIED).header(HttpHeaders.CACHE_CONTROL, "max-age=60").build());
+
+        get();
+        clock.advance(Duration.ofSeconds(61));
+        assertThat(get()).isEqualTo("first");
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(get()).isEqualTo("first");
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).headers().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(meterRegistry.get("http.client.cache.requests").tag("result", "revalidated").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void get_WithOnlyLastModified_RevalidatesEveryTimeWithIfModifiedSince() {
+        long lastModified = Instant.parse("2025-12-31T00:00:00Z").toEpochMilli();
+        ClientResponse first = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                .headers(headers -> headers.setLastModified(lastModified))
+                .body("first")
+                .build();
+        responses.add(first);
+        responses.add(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+
+        get();
+        assertThat(get()).isEqualTo("first");
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).headers().getIfModifiedSince()).isEqualTo(lastModified);
+    }
+
+    @Test
+    void get_WhenRevalidationReturnsNewBody_ReplacesEntry() {
+        responses.add(ok("first", "no-cache", "\"v1\""));
+        responses.add(ok("second", "max-age=60", "\"v2\""));
+
+        get();
+        assertThat(get()).isEqualTo("second");
+        assertThat(get()).isEqualTo("second");
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void get_WithNoStore_DoesNotCache() {
+        responses.add(ok("first", "no-store, max-age=60", "\"v1\""));
+        responses.add(ok("second", "no-store", null));
+
+        get();
+        assertThat(get()).isEqualTo("second");
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).headers().getIfNoneMatch()).isEmpty();
+    }
+
+    @Test
+    void get_WhenBodyExceedsMaxEntrySize_PassesThroughWithoutCaching() {
+        String large = "x".repeat(100);
+        responses.add(ok(large, "max-age=60", null));
+        responses.add(ok(large, "max-age=60", null));
+
+        assertThat(get()).isEqualTo(large);
+        assertThat(get()).isEqualTo(large);
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void get_WhenChunkedBodyOutgrowsMaxEntrySize_PassesThroughWithoutCaching() {
+        responses.add(chunked("max-age=60", "a".repeat(40), "b".repeat(40), "c".repeat(40)));
+        responses.add(ok("second", "max-age=60", null));
+
+        assertThat(get()).isEqualTo("a".repeat(40) + "b".repeat(40) + "c".repeat(40));
+        assertThat(get()).isEqualTo("second");
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void get_WhenChunkedBodyFitsMaxEntrySize_CachesJoinedBody() {
+        responses.add(chunked("max-age=60", "a".repeat(30), "b".repeat(30)));
+
+        assertThat(get()).isEqualTo("a".repeat(30) + "b".repeat(30));
+        assertThat(get()).isEqualTo("a".repeat(30) + "b".repeat(30));
+
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void get_WithoutFreshnessOrValidators_DoesNotCache() {
+        responses.add(ok("first", null, null));
+        responses.add(ok("second", null, null));
+
+        get();
+
+        assertThat(get()).isEqualTo("second");
+    }
+
+    @Test
+    void post_IsNeverCached() {
+        responses.add(ok("first", "max-age=60", null));
+        responses.add(ok("second", "max-age=60", null));
+
+        webClient.post().uri(URL).bodyValue("a").retrieve().bodyToMono(String.class).block();
+        String second = webClient.post().uri(URL).bodyValue("a").retrieve().bodyToMono(String.class).block();
+
+        assertThat(second).isEqualTo("second");
+    }
+
+    @Test
+    void freshnessLifetime_FallsBackToExpiresMinusDate() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setDate(Instant.parse("2026-01-01T00:00:00Z").toEpochMilli());
+        headers.setExpires(Instant.parse("2026-01-01T00:05:00Z").toEpochMilli());
+
+        assertThat(HttpResponseCacheFilter.freshnessLifetime(headers, HttpResponseCacheFilter.directives(headers)))
+                .isEqualTo(Duration.ofMinutes(5).toMillis());
+    }
+
+    private String get() {
+        return webClient.get().uri(URL).retrieve().bodyToMono(String.class).block();
+    }
+
+    private static ClientResponse ok(String body, String cacheControl, String etag) {
+        ClientResponse.Builder builder = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE);
+        if (cacheControl != null) {
+            builder.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        if (etag != null) {
+            builder.header(HttpHeaders.ETAG, etag);
+        }
+        return builder.body(body).build();
+    }
+
+    private static ClientResponse chunked(String cacheControl, String... chunks) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .body(Flux.fromArray(chunks).map(chunk ->
+                        DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8))))
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
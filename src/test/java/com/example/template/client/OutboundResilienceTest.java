@@ -0,0 +1,225 @@
+package com.example.template.client;
+
+import com.example.template.exception.ExternalServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutboundResilienceTest {
+
+    private static final String TARGET = "api.example.com";
+
+    private static final ResiliencePolicy POLICY = new ResiliencePolicy(
+            Duration.ofSeconds(1), 50, 4, 4, Duration.ofSeconds(30), 2, 2, 2, Duration.ofMillis(1),
+            false, 0.5, Duration.ofMillis(20));
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundResilience resilience;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        resilience = new OutboundResilience(POLICY, Map.of(), meterRegistry, nanoTime::get);
+    }
+
+    @Test
+    void execute_WhenFailureRateReached_OpensCircuitAndRejectsWithoutCalling() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> resilience.execute(TARGET, false, this::serverError).block())
+                    .isInstanceOf(WebClientResponseException.class);
+        }
+
+        assertThatThrownBy(() -> resilience.execute(TARGET, false, this::ok).block())
+                .isInstanceOfSatisfying(ExternalServiceException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(503));
+        assertThat(calls.get()).isEqualTo(4);
+        assertThat(resilience.circuitState(TARGET)).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("http.client.circuit.transitions")
+                .tag("from", "closed").tag("to", "open").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("http.client.calls.rejected")
+                .tag("reason", "circuit_open").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_AfterOpenDuration_ClosesCircuitOnSuccessfulProbes() {
+        for (int i = 0; i < 4; i++) {
+            resilience.execute(TARGET, false, this::serverError).onErrorResume(ex -> Mono.empty()).block();
+        }
+        nanoTime.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        resilience.execute(TARGET, false, this::ok).block();
+        assertThat(resilience.circuitState(TARGET)).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        resilience.execute(TARGET, false, this::ok).block();
+
+        assertThat(resilience.circuitState(TARGET)).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(meterRegistry.get("http.client.circuit.transitions")
+                .tag("from", "half_open").tag("to", "closed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_WhenProbeFails_ReopensCircuit() {
+        for (int i = 0; i < 4; i++) {
+            resilience.execute(TARGET, false, this::serverError).onErrorResume(ex -> Mono.empty()).block();
+        }
+        nanoTime.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        resilience.execute(TARGET, false, this::serverError).onErrorResume(ex -> Mono.empty()).block();
+
+        assertThat(resilience.circuitState(TARGET)).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void execute_ClientErrorsDoNotOpenCircuitAndAreNotRetried() {
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> resilience.execute(TARGET, true, this::notFound).block())
+                    .isInstanceOf(WebClientResponseException.NotFound.class);
+        }
+
+        assertThat(calls.get()).isEqualTo(6);
+        assertThat(resilience.circuitState(TARGET)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void execute_WhenBulkheadFull_RejectsImmediately() {
+        Disposable first = resilience.execute(TARGET, false, Mono::<String>never).subscribe();
+        Disposable second = resilience.execute(TARGET, false, Mono::<String>never).subscribe();
+
+        assertThatThrownBy(() -> resilience.execute(TARGET, false, this::ok).block())
+                .isInstanceOf(ExternalServiceException.class)
+                .hasMessageContaining("too many concurrent calls");
+        first.dispose();
+        second.dispose();
+
+        assertThat(resilience.execute(TARGET, false, this::ok).block()).isEqualTo("ok");
+        assertThat(meterRegistry.get("http.client.calls.rejected")
+                .tag("reason", "bulkhead_full").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_WhenCallThrowsWhileBuildingRequest_ReleasesBulkheadPermit() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> resilience.execute(TARGET, false, this::throwing).block())
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        assertThat(resilience.execute(TARGET, false, this::ok).block()).isEqualTo("ok");
+        assertThat(meterRegistry.get("http.client.bulkhead.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void execute_WhenHalfOpenProbeThrowsWhileBuildingRequest_ReleasesProbeSlot() {
+        for (int i = 0; i < 4; i++) {
+            resilience.execute(TARGET, false, this::serverError).onErrorResume(ex -> Mono.empty()).block();
+        }
+        nanoTime.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> resilience.execute(TARGET, false, this::throwing).block())
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        // Neither counted as a probe, and neither holds a probe slot
+        assertThat(resilience.circuitState(TARGET)).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(resilience.execute(TARGET, false, this::ok).block()).isEqualTo("ok");
+        assertThat(resilience.execute(TARGET, false, this::ok).block()).isEqualTo("ok");
+        assertThat(resilience.circuitState(TARGET)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void execute_RetriesIdempotentCallsOnServerErrors() {
+        String result = resilience.execute(TARGET, true,
+                () -> calls.get() < 2 ? serverError() : ok()).block();
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("http.client.retries").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void execute_DoesNotRetryNonIdempotentCalls() {
+        assertThatThrownBy(() -> resilience.execute(TARGET, false, this::serverError).block())
+                .isInstanceOf(WebClientResponseException.class);
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_WhenFirstAttemptIsSlow_HedgedAttemptWins() {
+        ResiliencePolicy.Overrides hedging = new ResiliencePolicy.Overrides(
+                null, null, null, null, null, null, null, 0, null, true, null, null);
+        resilience = new OutboundResilience(POLICY, Map.of(TARGET, hedging), meterRegistry, nanoTime::get);
+        for (int i = 0; i < 4; i++) {
+            resilience.execute(TARGET, true, this::ok).block();
+        }
+        calls.set(0);
+
+        String result = resilience.execute(TARGET, true,
+                () -> calls.getAndIncrement() == 0 ? Mono.<String>never() : Mono.just("hedged"))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo("hedged");
+        assertThat(meterRegistry.get("http.client.hedges").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_WithoutLatencySamples_DoesNotHedge() {
+        ResiliencePolicy.Overrides hedging = new ResiliencePolicy.Overrides(
+                null, null, null, null, null, null, null, 0, null, true, null, null);
+        resilience = new OutboundResilience(POLICY, Map.of(TARGET, hedging), meterRegistry, nanoTime::get);
+
+        assertThat(resilience.execute(TARGET, true, this::ok).block()).isEqualTo("ok");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.client.hedges").counter().count()).isZero();
+    }
+
+    @Test
+    void policy_AppliesTargetOverridesOnTopOfDefaults() {
+        ResiliencePolicy.Overrides overrides = new ResiliencePolicy.Overrides(
+                Duration.ofSeconds(2), null, null, null, null, null, 10, null, null, null, null, null);
+        resilience = new OutboundResilience(POLICY, Map.of("slow.example.com", overrides), meterRegistry, nanoTime::get);
+
+        assertThat(resilience.policy("slow.example.com").timeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(resilience.policy("slow.example.com").maxConcurrentCalls()).isEqualTo(10);
+        assertThat(resilience.policy("slow.example.com").failureRateThreshold()).isEqualTo(50);
+        assertThat(resilience.policy(TARGET)).isEqualTo(POLICY);
+    }
+
+    private Mono<String> ok() {
+        calls.incrementAndGet();
+        return Mono.just("ok");
+    }
+
+    private Mono<String> throwing() {
+        // As WebClient's bodyValue(null) does before any request exists
+        throw new IllegalArgumentException("Body must not be null");
+    }
+
+    private Mono<String> serverError() {
+        return error(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private Mono<String> notFound() {
+        return error(HttpStatus.NOT_FOUND);
+    }
+
+    private Mono<String> error(HttpStatus status) {
+        calls.incrementAndGet();
+        return Mono.error(WebClientResponseException.create(
+                status, status.getReasonPhrase(), HttpHeaders.EMPTY, new byte[0], null, null));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.template.codec;
+
+import com.example.template.dto.PageResponse;
+import com.example.template.entity.ExampleEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExampleJsonModuleTest {
+
+    private final JsonMapper beanMapper = JsonMapper.builder().build();
+    private final JsonMapper moduleMapper = JsonMapper.builder().addModule(new ExampleJsonModule()).build();
+
+    @Test
+    void entity_WritesSameJsonAsBeanSerializer() {
+        assertSameJson(entity(42L));
+    }
+
+    @Test
+    void entity_WithNullsAndZeroSeconds_WritesSameJsonAsBeanSerializer() {
+        ExampleEntity entity = new ExampleEntity();
+        entity.setStatus(null);
+        entity.setCreatedAt(LocalDateTime.of(2025, 6, 1, 12, 30));
+
+        assertSameJson(entity);
+    }
+
+    @Test
+    void entity_WithTruncatedDescription_WritesFlag() {
+        ExampleEntity entity = entity(42L);
+        entity.setDescriptionTruncated(true);
+
+        assertSameJson(entity);
+        assertThat(moduleMapper.writeValueAsString(entity)).contains("\"descriptionTruncated\":true");
+    }
+
+    @Test
+    void page_WritesSameJsonAsBeanSerializer() {
+        PageResponse<ExampleEntity> page = PageResponse.of(
+                new PageImpl<>(List.of(entity(1L), entity(2L)), PageRequest.of(3, 2), 100));
+
+        assertSameJson(page);
+    }
+
+    @Test
+    void page_OfProjectedRows_WritesSameJsonAsBeanSerializer() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("description", null);
+        PageResponse<Map<String, Object>> page = PageResponse.of(new PageImpl<>(List.of(row), PageRequest.of(0, 20), 1));
+
+        assertSameJson(page);
+    }
+
+    @Test
+    void page_WithNullContent_WritesSameJsonAsBeanSerializer() {
+        assertSameJson(new PageResponse<>());
+    }
+
+    private void assertSameJson(Object value) {
+        assertThat(moduleMapper.readTree(moduleMapper.writeValueAsString(value)))
+                .isEqualTo(beanMapper.readTree(beanMapper.writeValueAsString(value)));
+    }
+
+    private static ExampleEntity entity(long id) {
+        return ExampleEntity.builder()
+                .id(id)
+                .name("Example " + id)
+                .description("Line one\nline \"two\" é漢")
+                .status("ACTIVE")
+                .createdAt(LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_456_000))
+                .updatedAt(LocalDateTime.of(2025, 6, 2, 8, 0, 0, 1))
+                .version(3)
+                .build();
+    }
+}
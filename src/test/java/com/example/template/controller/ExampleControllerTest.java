@@ -1,7 +1,16 @@
 package com.example.template.controller;
 
 import com.example.template.TestConstants;
+import com.example.template.dto.BatchItemResult;
+import com.example.template.dto.BatchRequest;
+import com.example.template.dto.BatchResponse;
+import com.example.template.dto.CursorPageResponse;
+import com.example.template.dto.ExampleField;
+import com.example.template.dto.MultiGetItem;
+import com.example.template.dto.MultiGetResponse;
+import com.example.template.dto.PageResponse;
 import com.example.template.entity.ExampleEntity;
+import com.example.template.exception.PreconditionFailedException;
 import com.example.template.service.ExampleService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -14,12 +23,22 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,6 +59,7 @@ class ExampleControllerTest {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        when(service.withFullDescription(any())).thenAnswer(invocation -> invocation.getArgument(0));
     }
     
     @Test
@@ -60,6 +80,155 @@ class ExampleControllerTest {
                 .andExpect(jsonPath(TestConstants.JSON_PATH_NAME).value("Test Entity"));
     }
     
+    @Test
+    void getById_ReturnsETagDerivedFromVersion() throws Exception {
+        when(service.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(versionedEntity(3));
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + TestConstants.TEST_ENTITY_ID + "-3\""));
+    }
+    
+    @Test
+    void getById_WhenIfNoneMatchMatches_ReturnsNotModifiedWithoutBody() throws Exception {
+        when(service.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(versionedEntity(3));
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + TestConstants.TEST_ENTITY_ID + "-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(content().string(""));
+    }
+    
+    @Test
+    void getById_WhenVersionChanged_ReturnsEntity() throws Exception {
+        when(service.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(versionedEntity(4));
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + TestConstants.TEST_ENTITY_ID + "-3\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(TestConstants.JSON_PATH_NAME).value("Test Entity"));
+    }
+    
+    @Test
+    void getAll_WhenIfNoneMatchMatchesPageTag_ReturnsNotModified() throws Exception {
+        PageResponse<ExampleEntity> page = PageResponse.of(new PageImpl<>(
+                List.of(versionedEntity(3)), PageRequest.of(0, 20), 1));
+        when(service.findAll(any())).thenReturn(page);
+        
+        String etag = mockMvc.perform(get(TestConstants.URL_UNDER_TEST))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        
+        page.getContent().get(0).setVersion(4);
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void getAll_WithFieldsWithoutDescription_ReadsSummariesAndEmitsOnlyThoseFields() throws Exception {
+        PageResponse<ExampleEntity> page = PageResponse.of(new PageImpl<>(
+                List.of(versionedEntity(3)), PageRequest.of(0, 20), 1));
+        when(service.findAllSummaries(any())).thenReturn(page);
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST).param("fields", "name,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(TestConstants.TEST_ENTITY_ID.intValue()))
+                .andExpect(jsonPath("$.content[0].name").value("Test Entity"))
+                .andExpect(jsonPath("$.content[0].status").doesNotExist())
+                .andExpect(jsonPath("$.content[0].version").doesNotExist())
+                .andExpect(jsonPath(TestConstants.JSON_PATH_TOTAL_ELEMENTS).value(1));
+        
+        verify(service, never()).findAll(any());
+    }
+    
+    @Test
+    void getByStatus_WithDescriptionField_ReadsFullRows() throws Exception {
+        ExampleEntity entity = versionedEntity(3);
+        entity.setDescription(null);
+        when(service.findByStatus(eq(TestConstants.STATUS_ACTIVE), any())).thenReturn(PageResponse.of(
+                new PageImpl<>(List.of(entity), PageRequest.of(0, 20), 1)));
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST + "/status/" + TestConstants.STATUS_ACTIVE)
+                        .param("fields", "id,description"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].description").value(nullValue()))
+                .andExpect(jsonPath("$.content[0].name").doesNotExist());
+        
+        verify(service, never()).findSummariesByStatus(any(), any());
+    }
+    
+    @Test
+    void getAll_WithDescriptionField_MarksPreviews() throws Exception {
+        ExampleEntity preview = versionedEntity(3);
+        preview.setDescription("Pre");
+        preview.setDescriptionTruncated(true);
+        ExampleEntity inline = versionedEntity(2);
+        inline.setDescription("Short");
+        when(service.findAll(any())).thenReturn(PageResponse.of(
+                new PageImpl<>(List.of(preview, inline), PageRequest.of(0, 20), 2)));
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST).param("fields", "id,description"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].description").value("Pre"))
+                .andExpect(jsonPath("$.content[0].descriptionTruncated").value(true))
+                .andExpect(jsonPath("$.content[1].description").value("Short"))
+                .andExpect(jsonPath("$.content[1].descriptionTruncated").doesNotExist());
+    }
+    
+    @Test
+    void getById_WhenDescriptionStoredOutOfRow_ReturnsFullDescription() throws Exception {
+        ExampleEntity preview = versionedEntity(3);
+        preview.setDescription("Pre");
+        preview.setDescriptionTruncated(true);
+        ExampleEntity full = preview.toBuilder().description("Preview and the rest").descriptionTruncated(false).build();
+        when(service.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(preview);
+        when(service.withFullDescription(preview)).thenReturn(full);
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Preview and the rest"))
+                .andExpect(jsonPath("$.descriptionTruncated").doesNotExist());
+    }
+    
+    @Test
+    void getById_WhenIfNoneMatchMatches_DoesNotLoadStoredDescription() throws Exception {
+        ExampleEntity preview = versionedEntity(3);
+        preview.setDescriptionTruncated(true);
+        when(service.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(preview);
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + TestConstants.TEST_ENTITY_ID + "-3\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID)
+                        .param("fields", "description")
+                        .header(HttpHeaders.IF_NONE_MATCH, EntityTags.of(preview, ExampleField.parse("description"))))
+                .andExpect(status().isNotModified());
+        
+        verify(service, never()).withFullDescription(any());
+    }
+    
+    @Test
+    void getById_WithFields_HasETagDistinctFromFullRepresentation() throws Exception {
+        when(service.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(versionedEntity(3));
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID).param("fields", "status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(TestConstants.STATUS_ACTIVE))
+                .andExpect(jsonPath(TestConstants.JSON_PATH_NAME).doesNotExist())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + TestConstants.TEST_ENTITY_ID + "-3.8\""));
+    }
+    
+    @Test
+    void getAll_WithUnknownField_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST).param("fields", "id,secret"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath(TestConstants.JSON_PATH_MESSAGE).value(containsString("secret")));
+    }
+    
     @Test
     void getAll_ReturnsPaginatedResponse() throws Exception {
         ExampleEntity entity = ExampleEntity.builder()
@@ -81,6 +250,35 @@ class ExampleControllerTest {
                 .andExpect(jsonPath(TestConstants.JSON_PATH_TOTAL_ELEMENTS).value(1));
     }
     
+    @Test
+    void getByIds_ReturnsItemsInRequestOrderWithNotFoundMarkers() throws Exception {
+        ExampleEntity entity = ExampleEntity.builder()
+                .id(TestConstants.TEST_ENTITY_ID)
+                .name("Test Entity")
+                .status(TestConstants.STATUS_ACTIVE)
+                .build();
+        
+        when(service.findAllById(List.of(99L, TestConstants.TEST_ENTITY_ID))).thenReturn(MultiGetResponse.of(List.of(
+                MultiGetItem.notFound(99L), MultiGetItem.found(TestConstants.TEST_ENTITY_ID, entity))));
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST).param("ids", "99," + TestConstants.TEST_ENTITY_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(99))
+                .andExpect(jsonPath("$.items[0].found").value(false))
+                .andExpect(jsonPath("$.items[0].item").doesNotExist())
+                .andExpect(jsonPath("$.items[1].item.name").value("Test Entity"))
+                .andExpect(jsonPath("$.found").value(1))
+                .andExpect(jsonPath("$.notFound").value(1));
+    }
+    
+    @Test
+    void getByIds_WhenTooManyIds_ReturnsBadRequest() throws Exception {
+        String ids = String.join(",", IntStream.rangeClosed(1, 201).mapToObj(String::valueOf).toList());
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST).param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
+    
     @Test
     void create_WhenValid_ReturnsCreated() throws Exception {
         ExampleEntity entity = ExampleEntity.builder()
@@ -164,7 +362,7 @@ class ExampleControllerTest {
                 .status(TestConstants.STATUS_ACTIVE)
                 .build();
         
-        when(service.update(any(Long.class), any(ExampleEntity.class))).thenReturn(updated);
+        when(service.update(any(Long.class), any(ExampleEntity.class), any())).thenReturn(updated);
         
         String url = TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID;
         mockMvc.perform(put(url)
@@ -175,10 +373,160 @@ class ExampleControllerTest {
                 .andExpect(jsonPath(TestConstants.JSON_PATH_NAME).value("Updated Entity"));
     }
 
+    @Test
+    void batch_WhenValid_ReturnsPerItemResults() throws Exception {
+        ExampleEntity entity = ExampleEntity.builder()
+                .name("New Entity")
+                .status(TestConstants.STATUS_ACTIVE)
+                .build();
+        BatchResponse response = BatchResponse.of(List.of(BatchItemResult.builder()
+                .index(0)
+                .id(TestConstants.TEST_ENTITY_ID)
+                .outcome(BatchItemResult.Outcome.CREATED)
+                .build()));
+        
+        when(service.batchUpsert(any())).thenReturn(response);
+        
+        mockMvc.perform(post(TestConstants.URL_UNDER_TEST + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BatchRequest.builder().items(List.of(entity)).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("CREATED"));
+    }
+    
+    @Test
+    void batch_WhenItemInvalid_LeavesItToServiceToReportPerItem() throws Exception {
+        ExampleEntity blankName = ExampleEntity.builder().name("").status(TestConstants.STATUS_ACTIVE).build();
+        BatchResponse response = BatchResponse.of(List.of(BatchItemResult.builder()
+                .index(0)
+                .outcome(BatchItemResult.Outcome.INVALID)
+                .message("name: must not be blank")
+                .build()));
+        
+        when(service.batchUpsert(any())).thenReturn(response);
+        
+        mockMvc.perform(post(TestConstants.URL_UNDER_TEST + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BatchRequest.builder().items(List.of(blankName)).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].outcome").value("INVALID"));
+    }
+    
+    @Test
+    void batch_WhenEmpty_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post(TestConstants.URL_UNDER_TEST + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BatchRequest.builder().items(List.of()).build())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void scrollByStatus_ReturnsCursorPageWithoutTotals() throws Exception {
+        ExampleEntity entity = ExampleEntity.builder()
+                .id(TestConstants.TEST_ENTITY_ID)
+                .name("Test Entity")
+                .status(TestConstants.STATUS_ACTIVE)
+                .build();
+        
+        when(service.scroll(eq(TestConstants.STATUS_ACTIVE), any(), any(), anyInt()))
+                .thenReturn(CursorPageResponse.of(List.of(entity), 20, "next-token"));
+        
+        mockMvc.perform(get(TestConstants.URL_UNDER_TEST + "/status/" + TestConstants.STATUS_ACTIVE + "/scroll"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(TestConstants.JSON_PATH_CONTENT).isArray())
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath(TestConstants.JSON_PATH_TOTAL_ELEMENTS).doesNotExist());
+    }
+    
+    @Test
+    void update_WithIfMatch_PassesExpectedVersion() throws Exception {
+        ExampleEntity entity = ExampleEntity.builder()
+                .name("Updated Entity")
+                .status(TestConstants.STATUS_ACTIVE)
+                .build();
+        when(service.update(eq(TestConstants.TEST_ENTITY_ID), any(ExampleEntity.class), eq(3)))
+                .thenReturn(versionedEntity(4));
+        
+        mockMvc.perform(put(TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID)
+                        .header(HttpHeaders.IF_MATCH, "W/\"x\", \"" + TestConstants.TEST_ENTITY_ID + "-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(entity)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + TestConstants.TEST_ENTITY_ID + "-4\""));
+    }
+    
+    @Test
+    void update_ETagOfResponseIsAcceptedAsIfMatchOfNextUpdate() throws Exception {
+        ExampleEntity entity = ExampleEntity.builder()
+                .name("Updated Entity")
+                .description("A description long enough to be stored out of row")
+                .status(TestConstants.STATUS_ACTIVE)
+                .build();
+        AtomicInteger storedVersion = new AtomicInteger(3);
+        when(service.update(eq(TestConstants.TEST_ENTITY_ID), any(ExampleEntity.class), any())).thenAnswer(invocation -> {
+            Integer expected = invocation.getArgument(2);
+            if (expected != null && expected != storedVersion.get()) {
+                throw new PreconditionFailedException("stale");
+            }
+            return versionedEntity(storedVersion.incrementAndGet());
+        });
+        String url = TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID;
+        
+        String etag = mockMvc.perform(put(url)
+                        .header(HttpHeaders.IF_MATCH, "\"" + TestConstants.TEST_ENTITY_ID + "-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(entity)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        
+        mockMvc.perform(put(url)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(entity)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + TestConstants.TEST_ENTITY_ID + "-5\""));
+    }
+    
+    @Test
+    void update_WhenIfMatchNamesNoVersionOfEntity_ReturnsPreconditionFailed() throws Exception {
+        ExampleEntity entity = ExampleEntity.builder()
+                .name("Updated Entity")
+                .status(TestConstants.STATUS_ACTIVE)
+                .build();
+        
+        mockMvc.perform(put(TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID)
+                        .header(HttpHeaders.IF_MATCH, "W/\"" + TestConstants.TEST_ENTITY_ID + "-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(entity)))
+                .andExpect(status().isPreconditionFailed());
+        
+        verify(service, never()).update(any(), any(), any());
+    }
+    
+    @Test
+    void delete_WhenVersionIsStale_ReturnsPreconditionFailed() throws Exception {
+        doThrow(new PreconditionFailedException("stale"))
+                .when(service).delete(TestConstants.TEST_ENTITY_ID, 3);
+        
+        mockMvc.perform(delete(TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID)
+                        .header(HttpHeaders.IF_MATCH, "\"" + TestConstants.TEST_ENTITY_ID + "-3\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+    
     @Test
     void delete_WhenExists_ReturnsNoContent() throws Exception {
         String url = TestConstants.URL_UNDER_TEST + "/" + TestConstants.TEST_ENTITY_ID;
         mockMvc.perform(delete(url))
                 .andExpect(status().isNoContent());
     }
+    
+    private static ExampleEntity versionedEntity(int version) {
+        return ExampleEntity.builder()
+                .id(TestConstants.TEST_ENTITY_ID)
+                .name("Test Entity")
+                .status(TestConstants.STATUS_ACTIVE)
+                .version(version)
+                .build();
+    }
 }
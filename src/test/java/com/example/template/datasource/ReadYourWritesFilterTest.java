@@ -0,0 +1,116 @@
+package com.example.template.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final ReadYourWritesFilter filter =
+            new ReadYourWritesFilter(Duration.ofSeconds(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void doFilter_WithoutCookie_DoesNotPin() throws Exception {
+        AtomicBoolean pinned = new AtomicBoolean(true);
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), capturePinned(pinned));
+
+        assertThat(pinned).isFalse();
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void doFilter_WithUnexpiredCookie_Pins() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(NOW.toEpochMilli() + 3_000)));
+        AtomicBoolean pinned = new AtomicBoolean();
+
+        filter.doFilter(request, new MockHttpServletResponse(), capturePinned(pinned));
+
+        assertThat(pinned).isTrue();
+    }
+
+    @Test
+    void doFilter_WithExpiredOrForgedCookie_DoesNotPin() throws Exception {
+        for (String value : new String[] {
+                Long.toString(NOW.toEpochMilli() - 1), Long.toString(NOW.toEpochMilli() + 60_000), "soon"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, value));
+            AtomicBoolean pinned = new AtomicBoolean(true);
+
+            filter.doFilter(request, new MockHttpServletResponse(), capturePinned(pinned));
+
+            assertThat(pinned).as(value).isFalse();
+        }
+    }
+
+    @Test
+    void doFilter_AfterCommittedWrite_PinsRestOfRequestAndSetsCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean pinnedBeforeCommit = new AtomicBoolean(true);
+        AtomicBoolean pinnedAfterCommit = new AtomicBoolean();
+
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> {
+            TransactionSynchronizationManager.initSynchronization();
+            ReadYourWrites.trackCurrentTransaction();
+            pinnedBeforeCommit.set(ReadYourWrites.isPinnedToPrimary());
+            commit();
+            pinnedAfterCommit.set(ReadYourWrites.isPinnedToPrimary());
+        });
+
+        assertThat(pinnedBeforeCommit).isFalse();
+        assertThat(pinnedAfterCommit).isTrue();
+        assertThat(response.getHeader("Set-Cookie"))
+                .startsWith(ReadYourWritesFilter.COOKIE_NAME + "=" + (NOW.toEpochMilli() + 5_000))
+                .contains("Max-Age=5")
+                .contains("HttpOnly");
+    }
+
+    @Test
+    void doFilter_AfterReadOnlyTransaction_DoesNotPin() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> {
+            TransactionSynchronizationManager.initSynchronization();
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            ReadYourWrites.trackCurrentTransaction();
+            commit();
+        });
+
+        assertThat(response.getHeader("Set-Cookie")).isNull();
+    }
+
+    private static FilterChain capturePinned(AtomicBoolean pinned) {
+        return (request, response) -> pinned.set(ReadYourWrites.isPinnedToPrimary());
+    }
+
+    private static void commit() {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
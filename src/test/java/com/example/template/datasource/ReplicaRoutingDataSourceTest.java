@@ -0,0 +1,170 @@
+package com.example.template.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica1.getConnection()).thenReturn(replica1Connection);
+        lenient().when(replica2.getConnection()).thenReturn(replica2Connection);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        routing = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(2), meterRegistry);
+    }
+
+    @Test
+    void getConnection_BeforeFirstHealthCheck_UsesPrimary() throws SQLException {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(meterRegistry.get("db.read.connections").tag("reason", "fallback").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getConnection_AlternatesBetweenHealthyReplicas() throws SQLException {
+        reportLag(replica1Connection, 0);
+        reportLag(replica2Connection, 100);
+        routing.checkReplicas();
+
+        assertThat(routing.getConnection()).isSameAs(replica1Connection);
+        assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        assertThat(routing.getConnection()).isSameAs(replica1Connection);
+        assertThat(meterRegistry.get("db.read.connections").tag("target", "replica-1").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("db.replica.available").tag("replica", "replica-2").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getConnection_SkipsReplicaLaggingBeyondMaxLag() throws SQLException {
+        reportLag(replica1Connection, 5_000);
+        reportLag(replica2Connection, 0);
+        routing.checkReplicas();
+
+        assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        assertThat(routing.getConnection()).isSameAs(replica2Connection);
+    }
+
+    @Test
+    void getConnection_SkipsReplicaThatStoppedStreaming() throws SQLException {
+        // Received and replayed positions are equal, which used to read as zero lag
+        reportNotStreaming(replica1Connection);
+        reportLag(replica2Connection, 0);
+        routing.checkReplicas();
+
+        assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        assertThat(meterRegistry.get("db.replica.available").tag("replica", "replica-1").gauge().value()).isEqualTo(0.0);
+    }
+
+    @Test
+    void getConnection_WhenEveryReplicaIsDown_FallsBackToPrimary() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        when(replica2.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        routing.checkReplicas();
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(meterRegistry.get("db.replica.available").tag("replica", "replica-1").gauge().value()).isEqualTo(0.0);
+    }
+
+    @Test
+    void getConnection_WhenReplicaPoolFails_TakesItOutOfRotation() throws SQLException {
+        reportLag(replica1Connection, 0);
+        reportLag(replica2Connection, 0);
+        routing.checkReplicas();
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+
+        assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        assertThat(meterRegistry.get("db.replica.available").tag("replica", "replica-1").gauge().value()).isEqualTo(0.0);
+    }
+
+    @Test
+    void getConnection_WhenRequestIsPinned_UsesPrimary() throws SQLException {
+        reportLag(replica1Connection, 0);
+        reportLag(replica2Connection, 0);
+        routing.checkReplicas();
+
+        try (ReadYourWrites.Scope ignored = ReadYourWrites.open(true, () -> { })) {
+            assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        }
+        assertThat(routing.getConnection()).isNotSameAs(primaryConnection);
+        assertThat(meterRegistry.get("db.read.connections").tag("reason", "read_your_writes").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getConnection_WhenLoadingSharedCache_UsesPrimaryEvenForUnpinnedRequests() throws SQLException {
+        reportLag(replica1Connection, 0);
+        reportLag(replica2Connection, 0);
+        routing.checkReplicas();
+
+        // Another client's write evicted the key; this request has not written, so it is not pinned
+        try (ReadYourWrites.Scope ignored = ReadYourWrites.open(false, () -> { })) {
+            Connection load = PrimaryReads.call(() -> {
+                try {
+                    return routing.getConnection();
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+            assertThat(load).isSameAs(primaryConnection);
+            assertThat(routing.getConnection()).isNotSameAs(primaryConnection);
+        }
+        assertThat(PrimaryReads.isActive()).isFalse();
+        assertThat(meterRegistry.get("db.read.connections").tag("reason", "cache_load").counter().count()).isEqualTo(1.0);
+    }
+
+    private static void reportLag(Connection connection, long lagMillis) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaRoutingDataSource.LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(lagMillis);
+    }
+
+    private static void reportNotStreaming(Connection connection) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaRoutingDataSource.LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(0L);
+        when(resultSet.wasNull()).thenReturn(true);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.template.event;
+
+import com.example.template.entity.DeadLetterEvent;
+import com.example.template.repository.DeadLetterRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DlqHandlerTest {
+
+    @Mock
+    private DeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    @InjectMocks
+    private DlqHandler dlqHandler;
+
+    @Test
+    void handleDlqMessage_StoresFailureDetailsThenAcks() {
+        ExampleEvent event = ExampleEvent.builder().id("e-1").type("TEST_EVENT").payload("payload").build();
+        ConsumerRecord<String, ExampleEvent> record = new ConsumerRecord<>(EventRetryRouter.DLQ_TOPIC, 1, 9L, "k", event);
+        record.headers()
+                .add(KafkaHeaders.DLT_ORIGINAL_TOPIC, "example-events".getBytes(StandardCharsets.UTF_8))
+                .add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(40L).array())
+                .add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, "bad event".getBytes(StandardCharsets.UTF_8))
+                .add(EventRetryRouter.ATTEMPT_HEADER, ByteBuffer.allocate(Integer.BYTES).putInt(3).array());
+        when(deadLetterRepository.insertIfAbsent(any())).thenReturn(1);
+
+        dlqHandler.handleDlqMessage(record, acknowledgment);
+
+        ArgumentCaptor<DeadLetterEvent> captor = ArgumentCaptor.forClass(DeadLetterEvent.class);
+        var inOrder = inOrder(deadLetterRepository, acknowledgment);
+        inOrder.verify(deadLetterRepository).insertIfAbsent(captor.capture());
+        inOrder.verify(acknowledgment).acknowledge();
+        DeadLetterEvent stored = captor.getValue();
+        assertThat(stored.getDlqPartition()).isEqualTo(1);
+        assertThat(stored.getDlqOffset()).isEqualTo(9L);
+        assertThat(stored.getEventId()).isEqualTo("e-1");
+        assertThat(stored.getOriginalTopic()).isEqualTo("example-events");
+        assertThat(stored.getOriginalOffset()).isEqualTo(40L);
+        assertThat(stored.getOriginalPartition()).isNull();
+        assertThat(stored.getExceptionMessage()).isEqualTo("bad event");
+        assertThat(stored.getAttempts()).isEqualTo(3);
+        assertThat(stored.getStatus()).isEqualTo(DeadLetterEvent.Status.PENDING);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleDlqMessage_WhenRecordWasUnreadable_StoresDeserializerFailureAndBytesSent() {
+        // What EventRetryRouter sends for an unreadable record, read back with the same deserializer
+        KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        new EventRetryRouter(kafkaTemplate, 3, Duration.ofSeconds(1), 5)
+                .deadLetterUnreadable(EventConsumerTest.unreadable("example-events", 40L, "garbage"));
+        ArgumentCaptor<ProducerRecord<String, Object>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(sent.capture());
+        ConsumerRecord<String, ExampleEvent> record = new ConsumerRecord<>(EventRetryRouter.DLQ_TOPIC, 0, 2L, "x", null);
+        sent.getValue().headers().forEach(header -> record.headers().add(header));
+        byte[] bytesSent = (byte[]) sent.getValue().value();
+        try (ErrorHandlingDeserializer<Object> deserializer = new ErrorHandlingDeserializer<>(new ExampleEventDeserializer())) {
+            assertThat(deserializer.deserialize(EventRetryRouter.DLQ_TOPIC, record.headers(), bytesSent)).isNull();
+        }
+        when(deadLetterRepository.insertIfAbsent(any())).thenReturn(1);
+
+        dlqHandler.handleDlqMessage(record, acknowledgment);
+
+        ArgumentCaptor<DeadLetterEvent> captor = ArgumentCaptor.forClass(DeadLetterEvent.class);
+        verify(deadLetterRepository).insertIfAbsent(captor.capture());
+        verify(acknowledgment).acknowledge();
+        DeadLetterEvent stored = captor.getValue();
+        assertThat(stored.getEventId()).isNull();
+        assertThat(stored.getEventType()).isNull();
+        assertThat(stored.getMessageKey()).isEqualTo("x");
+        assertThat(stored.getOriginalTopic()).isEqualTo("example-events");
+        assertThat(stored.getOriginalOffset()).isEqualTo(40L);
+        assertThat(stored.getExceptionClass()).isEqualTo(SerializationException.class.getName());
+        assertThat(stored.getExceptionMessage()).contains("schema version 2");
+        assertThat(stored.getAttempts()).isZero();
+        assertThat(stored.getPayload()).isNull();
+        assertThat(stored.getRawPayload()).isEqualTo("garbage".getBytes(StandardCharsets.UTF_8)).isEqualTo(bytesSent);
+        assertThat(stored.getSchemaVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void handleDlqMessage_WhenPersistenceFails_DoesNotAck() {
+        ConsumerRecord<String, ExampleEvent> record = new ConsumerRecord<>(EventRetryRouter.DLQ_TOPIC, 0, 1L, "k", null);
+        when(deadLetterRepository.insertIfAbsent(any())).thenThrow(new IllegalStateException("db down"));
+
+        assertThatThrownBy(() -> dlqHandler.handleDlqMessage(record, acknowledgment))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(acknowledgment, never()).acknowledge();
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.template.event;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventConsumerTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private EventDeduplicator deduplicator;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private EventConsumer eventConsumer;
+
+    @BeforeEach
+    void setUp() {
+        eventConsumer = spy(new EventConsumer(new EventRetryRouter(kafkaTemplate, 3, Duration.ofSeconds(1), 5), deduplicator));
+    }
+
+    @Test
+    void consume_WhenBatchSucceeds_ShouldProcessInBulkAndAckOnce() {
+        List<ConsumerRecord<String, ExampleEvent>> records = List.of(record(0, "a"), record(1, "b"), record(2, "c"));
+
+        eventConsumer.consume(records, acknowledgment);
+
+        verify(eventConsumer).processEvents(List.of(records.get(0).value(), records.get(1).value(), records.get(2).value()));
+        verify(acknowledgment, times(1)).acknowledge();
+        verifyNoInteractions(kafkaTemplate);
+        verify(deduplicator).markProcessed(List.of("a", "b", "c"));
+    }
+
+    @Test
+    void consume_WhenEventsAlreadyProcessed_ShouldSkipThemAndRepeatsWithinBatch() {
+        List<ConsumerRecord<String, ExampleEvent>> records = List.of(record(0, "a"), record(1, "b"), record(2, "c"), record(3, "c"));
+        when(deduplicator.findProcessed(List.of("a", "b", "c", "c"))).thenReturn(Set.of("b"));
+
+        eventConsumer.consume(records, acknowledgment);
+
+        verify(eventConsumer).processEvents(List.of(records.get(0).value(), records.get(2).value()));
+        verify(deduplicator).markProcessed(List.of("a", "c"));
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void onPartitionsAssigned_ShouldSeedDedupFiltersForEventTopicOnly() {
+        eventConsumer.onPartitionsAssigned(Map.of(new TopicPartition("example-events-dlq", 0), 0L), null);
+        verify(deduplicator, never()).warmUp();
+
+        eventConsumer.onPartitionsAssigned(Map.of(new TopicPartition("example-events", 0), 0L), null);
+        verify(deduplicator).warmUp();
+    }
+
+    @Test
+    void consume_WhenBulkFails_ShouldRouteOnlyFailedEventsToFirstRetryTier() {
+        List<ConsumerRecord<String, ExampleEvent>> records = List.of(record(0, "a"), record(1, "b"), record(2, "c"));
+        doThrow(new IllegalStateException("bulk failed")).when(eventConsumer).processEvents(anyList());
+        doAnswer(invocation -> {
+            if ("b".equals(invocation.<ExampleEvent>getArgument(0).getId())) {
+                throw new IllegalArgumentException("bad event");
+            }
+            return null;
+        }).when(eventConsumer).processEvent(any());
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        eventConsumer.consume(records, acknowledgment);
+
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(1)).send(captor.capture());
+        ProducerRecord<String, Object> retryRecord = captor.getValue();
+        assertThat(retryRecord.topic()).isEqualTo("example-events-retry-1");
+        assertThat(retryRecord.key()).isEqualTo("b");
+        assertThat(retryRecord.value()).isEqualTo(records.get(1).value());
+        assertThat(new String(retryRecord.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE).value()))
+                .isEqualTo("bad event");
+        verify(deduplicator).markProcessed(List.of("a", "c"));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void consume_WhenRetryHandOffFails_ShouldNotAck() {
+        List<ConsumerRecord<String, ExampleEvent>> records = List.of(record(0, "a"));
+        doThrow(new IllegalStateException("bulk failed")).when(eventConsumer).processEvents(anyList());
+        doThrow(new IllegalStateException("still failing")).when(eventConsumer).processEvent(any());
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        assertThatThrownBy(() -> eventConsumer.consume(records, acknowledgment))
+                .isInstanceOf(CompletionException.class);
+
+        verify(deduplicator, never()).markProcessed(any());
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void consume_WhenRecordCouldNotBeDeserialized_ShouldDeadLetterItsBytesBeforeAck() {
+        ConsumerRecord<String, ExampleEvent> poison = unreadable("example-events", 5, "garbage");
+        ConsumerRecord<String, ExampleEvent> valid = record(6, "a");
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        eventConsumer.consume(List.of(poison, valid), acknowledgment);
+
+        verify(eventConsumer).processEvents(List.of(valid.value()));
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        var inOrder = inOrder(kafkaTemplate, acknowledgment);
+        inOrder.verify(kafkaTemplate).send(captor.capture());
+        inOrder.verify(acknowledgment).acknowledge();
+        ProducerRecord<String, Object> dead = captor.getValue();
+        assertThat(dead.topic()).isEqualTo(EventRetryRouter.DLQ_TOPIC);
+        assertThat(dead.key()).isEqualTo("x");
+        assertThat((byte[]) dead.value()).isEqualTo("garbage".getBytes(StandardCharsets.UTF_8));
+        assertThat(dead.headers().lastHeader(ExampleEventCodec.SCHEMA_VERSION_HEADER).value()).containsExactly(2);
+        assertThat(new String(dead.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_FQCN).value()))
+                .isEqualTo(SerializationException.class.getName());
+        assertThat(new String(dead.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE).value()))
+                .contains("schema version 2");
+        assertThat(ByteBuffer.wrap(dead.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET).value()).getLong()).isEqualTo(5L);
+    }
+
+    @Test
+    void consume_WhenDeadLetteringFails_ShouldNotAck() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        assertThatThrownBy(() -> eventConsumer.consume(List.of(unreadable("example-events", 5, "garbage")), acknowledgment))
+                .isInstanceOf(CompletionException.class);
+
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void retryConsumer_WhenRecordCouldNotBeDeserialized_ShouldDeadLetterItBeforeAck() {
+        EventRetryConsumer retryConsumer = new EventRetryConsumer(eventConsumer,
+                new EventRetryRouter(kafkaTemplate, 3, Duration.ofSeconds(1), 5), deduplicator, containerFactory());
+        ConsumerRecord<String, Object> poison = unreadable("example-events-retry-2", 3, "garbage");
+        poison.headers().add(EventRetryRouter.ATTEMPT_HEADER, ByteBuffer.allocate(Integer.BYTES).putInt(2).array());
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        retryConsumer.onMessage(poison, acknowledgment);
+
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        var inOrder = inOrder(kafkaTemplate, acknowledgment);
+        inOrder.verify(kafkaTemplate).send(captor.capture());
+        inOrder.verify(acknowledgment).acknowledge();
+        assertThat(captor.getValue().topic()).isEqualTo(EventRetryRouter.DLQ_TOPIC);
+        assertThat((byte[]) captor.getValue().value()).isEqualTo("garbage".getBytes(StandardCharsets.UTF_8));
+        assertThat(EventRetryRouter.attempt(captor.getValue().headers())).isEqualTo(2);
+        verify(eventConsumer, never()).processEvent(any());
+    }
+
+    @Test
+    void retryConsumer_WhenDeadLetteringFails_ShouldNotAck() {
+        EventRetryConsumer retryConsumer = new EventRetryConsumer(eventConsumer,
+                new EventRetryRouter(kafkaTemplate, 3, Duration.ofSeconds(1), 5), deduplicator, containerFactory());
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        assertThatThrownBy(() -> retryConsumer.onMessage(unreadable("example-events-retry-1", 3, "garbage"), acknowledgment))
+                .isInstanceOf(CompletionException.class);
+
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentKafkaListenerContainerFactory<String, Object> containerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = mock(ConcurrentKafkaListenerContainerFactory.class);
+        ConcurrentMessageListenerContainer<String, Object> container = mock(ConcurrentMessageListenerContainer.class);
+        when(factory.createContainer(anyString())).thenReturn(container);
+        when(container.getContainerProperties()).thenAnswer(invocation -> new ContainerProperties("retry"));
+        return factory;
+    }
+
+    /**
+     * A record as ErrorHandlingDeserializer hands it over when the delegate fails: a null value and
+     * the exception header. A schema version this reader does not know makes the delegate fail.
+     */
+    static <T> ConsumerRecord<String, T> unreadable(String topic, long offset, String payload) {
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+        ConsumerRecord<String, T> record = new ConsumerRecord<>(topic, 0, offset, "x", null);
+        record.headers().add(ExampleEventCodec.SCHEMA_VERSION_HEADER, new byte[] {2});
+        try (ErrorHandlingDeserializer<Object> deserializer = new ErrorHandlingDeserializer<>(new ExampleEventDeserializer())) {
+            assertThat(deserializer.deserialize(topic, record.headers(), data)).isNull();
+        }
+        return record;
+    }
+
+    private static ConsumerRecord<String, ExampleEvent> record(long offset, String key) {
+        ExampleEvent event = ExampleEvent.builder().id(key).type("TEST_EVENT").payload("payload-" + key).build();
+        return new ConsumerRecord<>("example-events", 0, offset, key, event);
+    }
+}
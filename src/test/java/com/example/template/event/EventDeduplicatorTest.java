@@ -0,0 +1,97 @@
+package com.example.template.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventDeduplicatorTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneOffset.UTC);
+        deduplicator = new EventDeduplicator(redisTemplate, meterRegistry, Duration.ofHours(1), 10_000, 0.01, clock);
+    }
+
+    @Test
+    void findProcessed_WhenFilterHasNotSeenIds_SkipsRedis() {
+        assertThat(deduplicator.findProcessed(List.of("a", "b"))).isEmpty();
+
+        verifyNoInteractions(redisTemplate);
+        assertThat(lookups("filter_negative")).isEqualTo(2.0);
+    }
+
+    @Test
+    void findProcessed_WhenFilterMatches_ConfirmsInRedis() {
+        deduplicator.markProcessed(List.of("a", "b"));
+        // Two replies per id: membership in the current and in the previous window
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true, false, false, false));
+
+        assertThat(deduplicator.findProcessed(List.of("a", "b", "c"))).containsExactly("a");
+
+        assertThat(lookups("duplicate")).isEqualTo(1.0);
+        assertThat(lookups("false_positive")).isEqualTo(1.0);
+    }
+
+    @Test
+    void findProcessed_WhenRedisFails_TreatsPossibleHitsAsNew() {
+        deduplicator.markProcessed(List.of("a"));
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(deduplicator.findProcessed(List.of("a"))).isEmpty();
+        assertThat(lookups("error")).isEqualTo(1.0);
+    }
+
+    @Test
+    void markProcessed_IgnoresNullAndEmptyIds() {
+        deduplicator.markProcessed(Arrays.asList(null, null));
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void bloomFilter_NeverReportsAddedIdsMissingAndRarelyReportsOthers() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("event-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("event-" + i)).isTrue();
+        }
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain("other-" + i))
+                .count();
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("kafka.consumer.dedup.lookups").tag("result", result).counter().count();
+    }
+}
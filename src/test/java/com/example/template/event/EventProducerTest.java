@@ -1,5 +1,7 @@
 package com.example.template.event;
 
+import com.example.template.entity.OutboxEvent;
+import com.example.template.repository.OutboxRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,6 +26,9 @@ class EventProducerTest {
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Mock
+    private OutboxRepository outboxRepository;
+
     @InjectMocks
     private EventProducer eventProducer;
 
@@ -127,4 +132,20 @@ class EventProducerTest {
         verify(kafkaTemplate).send("example-events", eventId, testEvent);
         verify(kafkaTemplate, never()).send(eq("example-events-dlq"), any(), any());
     }
+
+    @Test
+    void enqueue_ShouldWriteOutboxRowInsteadOfSending() {
+        // When
+        eventProducer.enqueue("42", testEvent);
+
+        // Then
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(captor.capture());
+        OutboxEvent row = captor.getValue();
+        assertThat(row.getEventId()).isEqualTo(testEvent.getId()).isNotNull();
+        assertThat(row.getAggregateKey()).isEqualTo("42");
+        assertThat(row.getKeyBucket()).isEqualTo(OutboxEvent.keyBucket("42"));
+        assertThat(row.getPayload()).isEqualTo("Test payload");
+        verifyNoInteractions(kafkaTemplate);
+    }
 }
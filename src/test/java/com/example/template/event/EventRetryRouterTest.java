@@ -0,0 +1,121 @@
+package com.example.template.event;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventRetryRouterTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private EventRetryRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new EventRetryRouter(kafkaTemplate, 3, Duration.ofSeconds(1), 5, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void retryTopics_OnePerAttemptWithExponentialDelays() {
+        assertThat(router.retryTopics())
+                .containsExactly("example-events-retry-1", "example-events-retry-2", "example-events-retry-3");
+        assertThat(router.delay(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(router.delay(3)).isEqualTo(Duration.ofSeconds(25));
+    }
+
+    @Test
+    void route_FromMainTopic_GoesToFirstTierWithDueTimeAndOrigin() {
+        ProducerRecord<String, Object> sent = route(new ConsumerRecord<>("example-events", 2, 40L, "k", event()));
+
+        assertThat(sent.topic()).isEqualTo("example-events-retry-1");
+        assertThat(EventRetryRouter.attempt(sent.headers())).isEqualTo(1);
+        assertThat(ByteBuffer.wrap(sent.headers().lastHeader(EventRetryRouter.DUE_HEADER).value()).getLong())
+                .isEqualTo(NOW.toEpochMilli() + 1000);
+        assertThat(new String(sent.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC).value())).isEqualTo("example-events");
+        assertThat(ByteBuffer.wrap(sent.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET).value()).getLong()).isEqualTo(40L);
+    }
+
+    @Test
+    void route_FromLastTier_GoesToDlqKeepingOrigin() {
+        ConsumerRecord<String, ExampleEvent> first = new ConsumerRecord<>("example-events", 2, 40L, "k", event());
+        ProducerRecord<String, Object> tier1 = route(first);
+        ConsumerRecord<String, ExampleEvent> last = new ConsumerRecord<>("example-events-retry-3", 0, 7L, "k", event());
+        tier1.headers().remove(EventRetryRouter.ATTEMPT_HEADER);
+        tier1.headers().forEach(header -> last.headers().add(header));
+        last.headers().add(EventRetryRouter.ATTEMPT_HEADER, ByteBuffer.allocate(Integer.BYTES).putInt(3).array());
+        clearInvocations(kafkaTemplate);
+
+        ProducerRecord<String, Object> sent = route(last);
+
+        assertThat(sent.topic()).isEqualTo(EventRetryRouter.DLQ_TOPIC);
+        assertThat(sent.headers().lastHeader(EventRetryRouter.DUE_HEADER)).isNull();
+        assertThat(ByteBuffer.wrap(sent.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET).value()).getLong()).isEqualTo(40L);
+    }
+
+    @Test
+    void deadLetterUnreadable_FromRetryTier_SkipsRemainingTiersKeepingOrigin() {
+        ConsumerRecord<String, Object> record = EventConsumerTest.unreadable("example-events-retry-1", 7L, "garbage");
+        record.headers()
+                .add(KafkaHeaders.DLT_ORIGINAL_TOPIC, "example-events".getBytes())
+                .add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(40L).array())
+                .add(EventRetryRouter.ATTEMPT_HEADER, ByteBuffer.allocate(Integer.BYTES).putInt(1).array());
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        router.deadLetterUnreadable(record);
+
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        ProducerRecord<String, Object> sent = captor.getValue();
+        assertThat(sent.topic()).isEqualTo(EventRetryRouter.DLQ_TOPIC);
+        assertThat((byte[]) sent.value()).isEqualTo("garbage".getBytes());
+        assertThat(EventRetryRouter.attempt(sent.headers())).isEqualTo(1);
+        assertThat(sent.headers().lastHeader(EventRetryRouter.DUE_HEADER)).isNull();
+        assertThat(new String(sent.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC).value())).isEqualTo("example-events");
+        assertThat(ByteBuffer.wrap(sent.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET).value()).getLong()).isEqualTo(40L);
+    }
+
+    @Test
+    void remainingDelay_IsZeroOnceDue() {
+        ConsumerRecord<String, ExampleEvent> record = new ConsumerRecord<>("example-events-retry-1", 0, 0L, "k", event());
+        record.headers().add(EventRetryRouter.DUE_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(NOW.toEpochMilli() + 300).array());
+
+        assertThat(router.remainingDelay(record)).isEqualTo(300);
+        assertThat(router.remainingDelay(new ConsumerRecord<>("example-events-retry-1", 0, 1L, "k", event()))).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, Object> route(ConsumerRecord<String, ExampleEvent> record) {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        router.route(record, new IllegalStateException("failed"));
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ExampleEvent event() {
+        return ExampleEvent.builder().id("e-1").type("TEST_EVENT").payload("payload").build();
+    }
+}
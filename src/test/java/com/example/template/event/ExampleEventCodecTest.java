@@ -0,0 +1,98 @@
+package com.example.template.event;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExampleEventCodecTest {
+
+    private static final String TOPIC = "example-events";
+
+    private ExampleEvent event;
+
+    @BeforeEach
+    void setUp() {
+        event = ExampleEvent.builder()
+                .id("4f7c2a9e-8d1b-4c3a-9e5f-6a7b8c9d0e1f")
+                .type(ExampleEvent.EXAMPLE_UPDATED)
+                .payload("{\"id\":42,\"name\":\"Example\"}")
+                .timestamp(LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_456_789))
+                .build();
+    }
+
+    @Test
+    void encode_RoundTripsAllFields() {
+        assertThat(ExampleEventCodec.decode(ExampleEventCodec.encode(event), 1)).isEqualTo(event);
+    }
+
+    @Test
+    void encode_RoundTripsNullsAndNonUuidIds() {
+        ExampleEvent sparse = ExampleEvent.builder().id("not-a-uuid").build();
+
+        assertThat(ExampleEventCodec.decode(ExampleEventCodec.encode(sparse), 1)).isEqualTo(sparse);
+        assertThat(ExampleEventCodec.decode(ExampleEventCodec.encode(new ExampleEvent()), 1)).isEqualTo(new ExampleEvent());
+    }
+
+    @Test
+    void decode_IgnoresFieldsAppendedByNewerSchema() {
+        byte[] v1 = ExampleEventCodec.encode(event);
+        byte[] newer = Arrays.copyOf(v1, v1.length + 3);
+        newer[v1.length] = 2;
+
+        assertThat(ExampleEventCodec.decode(newer, 2)).isEqualTo(event);
+    }
+
+    @Test
+    void decode_TreatsMissingTrailingFieldsAsNull() {
+        event.setTimestamp(null);
+        byte[] encoded = ExampleEventCodec.encode(event);
+        byte[] withoutTimestamp = Arrays.copyOf(encoded, encoded.length - 1);
+
+        assertThat(ExampleEventCodec.decode(withoutTimestamp, 1)).isEqualTo(event);
+    }
+
+    @Test
+    void decode_WhenTruncatedInsideField_Throws() {
+        byte[] encoded = ExampleEventCodec.encode(event);
+
+        assertThatThrownBy(() -> ExampleEventCodec.decode(Arrays.copyOf(encoded, 10), 1))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void serializer_WritesVersionHeaderAndIsSmallerThanJson() {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] binary = new ExampleEventSerializer().serialize(TOPIC, headers, event);
+
+        JsonSerializer<Object> json = new JsonSerializer<>();
+        byte[] jsonBytes = json.serialize(TOPIC, new RecordHeaders(), event);
+
+        assertThat(headers.lastHeader(ExampleEventCodec.SCHEMA_VERSION_HEADER).value())
+                .containsExactly(ExampleEventCodec.SCHEMA_VERSION);
+        assertThat(binary.length).isLessThan(jsonBytes.length);
+    }
+
+    @Test
+    void deserializer_ReadsBinaryAndLegacyJsonRecords() {
+        ExampleEventDeserializer deserializer = new ExampleEventDeserializer();
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.example.template.event"), false);
+
+        RecordHeaders binaryHeaders = new RecordHeaders();
+        byte[] binary = new ExampleEventSerializer().serialize(TOPIC, binaryHeaders, event);
+        RecordHeaders jsonHeaders = new RecordHeaders();
+        byte[] json = new JsonSerializer<>().serialize(TOPIC, jsonHeaders, event);
+
+        assertThat(deserializer.deserialize(TOPIC, binaryHeaders, binary)).isEqualTo(event);
+        assertThat(deserializer.deserialize(TOPIC, jsonHeaders, json)).isEqualTo(event);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.template.event;
+
+import com.example.template.entity.OutboxEvent;
+import com.example.template.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int PARALLELISM = 4;
+    private static final int BATCH_SIZE = 100;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxRepository, kafkaTemplate, new TransactionTemplate(transactionManager),
+                meterRegistry, PARALLELISM, BATCH_SIZE, Duration.ofMillis(200), Duration.ofSeconds(1),
+                Duration.ofHours(1), Duration.ofMinutes(5), 10);
+    }
+
+    @Test
+    void publishBatch_SendsInIdOrderKeyedByAggregateAndMarksPublished() {
+        when(outboxRepository.tryLock(anyLong())).thenReturn(true);
+        when(outboxRepository.findPending(1, PARALLELISM, BATCH_SIZE)).thenReturn(List.of(row(10L, "a"), row(11L, "b")));
+        when(kafkaTemplate.send(eq(OutboxRelay.TOPIC), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        int published = relay.publishBatch(1);
+
+        assertThat(published).isEqualTo(2);
+        var inOrder = inOrder(kafkaTemplate);
+        inOrder.verify(kafkaTemplate).send(eq(OutboxRelay.TOPIC), eq("a"), any(ExampleEvent.class));
+        inOrder.verify(kafkaTemplate).send(eq(OutboxRelay.TOPIC), eq("b"), any(ExampleEvent.class));
+        verify(outboxRepository).markPublished(eq(List.of(10L, 11L)), any(LocalDateTime.class));
+        assertThat(meterRegistry.get("outbox.events.published").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void publishBatch_WhenSendFails_MarksOnlyPrecedingEventsPublished() {
+        when(outboxRepository.tryLock(anyLong())).thenReturn(true);
+        when(outboxRepository.findPending(0, PARALLELISM, BATCH_SIZE))
+                .thenReturn(List.of(row(1L, "a"), row(2L, "b"), row(3L, "c")));
+        when(kafkaTemplate.send(eq(OutboxRelay.TOPIC), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        int published = relay.publishBatch(0);
+
+        assertThat(published).isEqualTo(1);
+        verify(outboxRepository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+        assertThat(meterRegistry.get("outbox.events.failed").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void publishBatch_WhenLaneLockedByPeer_DoesNothing() {
+        when(outboxRepository.tryLock(anyLong())).thenReturn(false);
+
+        assertThat(relay.publishBatch(2)).isZero();
+
+        verify(outboxRepository, never()).findPending(anyInt(), anyInt(), anyInt());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void cleanup_DeletesInBatchesUntilExhausted() {
+        when(outboxRepository.deletePublishedBefore(any(LocalDateTime.class), eq(10))).thenReturn(10, 3);
+
+        relay.cleanup();
+
+        verify(outboxRepository, times(2)).deletePublishedBefore(any(LocalDateTime.class), eq(10));
+    }
+
+    private static OutboxEvent row(long id, String key) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventId("event-" + id)
+                .eventType(ExampleEvent.EXAMPLE_UPDATED)
+                .aggregateKey(key)
+                .keyBucket(OutboxEvent.keyBucket(key))
+                .payload("{}")
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.template.integration;
 
 import com.example.template.TestConstants;
+import com.example.template.entity.ExampleDescription;
 import com.example.template.entity.ExampleEntity;
+import com.example.template.repository.ExampleDescriptionRepository;
 import com.example.template.repository.ExampleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,8 +53,12 @@ class ExampleIT {
     @Autowired
     private ExampleRepository repository;
     
+    @Autowired
+    private ExampleDescriptionRepository descriptionRepository;
+    
     @BeforeEach
     void setUp() {
+        descriptionRepository.deleteAll();
         repository.deleteAll();
     }
     
@@ -72,6 +78,22 @@ class ExampleIT {
         assertThat(found.get().getName()).isEqualTo("Test Entity");
     }
     
+    @Test
+    void search_ShouldMatchDescriptionStoredOutOfRow() {
+        ExampleEntity entity = repository.save(ExampleEntity.builder()
+                .name("Stored Entity")
+                .description("Only the preview")
+                .descriptionTruncated(true)
+                .status(TestConstants.STATUS_ACTIVE)
+                .build());
+        descriptionRepository.save(new ExampleDescription(entity.getId(), "Only the preview, then a needle further in"));
+        
+        var result = repository.search("needle", PageRequest.of(0, 10));
+        
+        assertThat(result.getContent()).extracting(ExampleEntity::getId).containsExactly(entity.getId());
+        assertThat(repository.countSearch("needle")).isEqualTo(1);
+    }
+    
     @Test
     void findByStatus_ShouldReturnFilteredResults() {
         ExampleEntity active = ExampleEntity.builder()
@@ -0,0 +1,60 @@
+package com.example.template.pagination;
+
+import com.example.template.TestConstants;
+import com.example.template.entity.ExampleEntity;
+import com.example.template.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+    
+    @Test
+    void start_WhenUnsorted_DefaultsToIdAscending() {
+        KeysetCursor cursor = KeysetCursor.start(Sort.unsorted());
+        
+        assertThat(cursor.isStart()).isTrue();
+        assertThat(cursor.toSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "id"));
+        assertThat(cursor.toScrollPosition().isInitial()).isTrue();
+    }
+    
+    @Test
+    void start_WhenSortNotIndexed_ThrowsBadRequest() {
+        assertThatThrownBy(() -> KeysetCursor.start(Sort.by("name")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Unsupported sort property");
+    }
+    
+    @Test
+    void encode_RoundTripsCreatedAtCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 6000);
+        ExampleEntity last = ExampleEntity.builder().id(TestConstants.TEST_ENTITY_ID).createdAt(createdAt).build();
+        
+        KeysetCursor next = KeysetCursor.start(Sort.by(Sort.Direction.DESC, "createdAt")).after(last);
+        KeysetCursor decoded = KeysetCursor.decode(next.encode());
+        
+        assertThat(decoded).isEqualTo(next);
+        assertThat(decoded.toSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        KeysetScrollPosition position = (KeysetScrollPosition) decoded.toScrollPosition();
+        assertThat(position.getKeys())
+                .containsEntry("createdAt", createdAt)
+                .containsEntry("id", TestConstants.TEST_ENTITY_ID);
+    }
+    
+    @Test
+    void decode_WhenTampered_ThrowsBadRequest() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+    
+    @Test
+    void requireIndexed_WhenAllowed_DoesNotThrow() {
+        SortKey.requireIndexed(Sort.by("createdAt", "id"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.template.pagination;
+
+import com.example.template.dto.PageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.BadSqlGrammarException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PageTotalsTest {
+    
+    private static final Pageable SECOND_PAGE = PageRequest.of(1, 10);
+    private static final List<String> CONTENT = List.of("a", "b", "c", "d", "e", "f", "g", "h", "i", "j");
+    
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AtomicInteger counts = new AtomicInteger();
+    
+    @Test
+    void page_WhenExact_UsesPageQuery() {
+        PageTotals totals = totals(PageTotals.CountStrategy.EXACT);
+        
+        PageResponse<String> result = totals.page(
+                () -> new PageImpl<>(CONTENT, SECOND_PAGE, 123),
+                () -> { throw new AssertionError("slice read under exact strategy"); },
+                countOf(123, null));
+        
+        assertThat(result.getTotalElements()).isEqualTo(123);
+        assertThat(result.isApproximate()).isFalse();
+    }
+    
+    @Test
+    void page_WhenLastPage_TotalIsExactWithoutCounting() {
+        PageTotals totals = totals(PageTotals.CountStrategy.ESTIMATED);
+        
+        PageResponse<String> result = totals.page(
+                () -> { throw new AssertionError("page read"); },
+                () -> new SliceImpl<>(List.of("a", "b", "c"), SECOND_PAGE, false),
+                countOf(999, "SELECT 1 FROM example_entities"));
+        
+        assertThat(result.getTotalElements()).isEqualTo(13);
+        assertThat(result.getTotalPages()).isEqualTo(2);
+        assertThat(result.isLast()).isTrue();
+        assertThat(result.isApproximate()).isFalse();
+        assertThat(counts).hasValue(0);
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(String.class), any(Object[].class));
+    }
+    
+    @Test
+    void page_WhenCached_ReusesCountAndFlagsItApproximate() {
+        PageTotals totals = totals(PageTotals.CountStrategy.CACHED);
+        
+        PageResponse<String> first = totals.page(null, () -> new SliceImpl<>(CONTENT, SECOND_PAGE, true), countOf(95, null));
+        PageResponse<String> second = totals.page(null, () -> new SliceImpl<>(CONTENT, SECOND_PAGE, true), countOf(96, null));
+        
+        assertThat(first.getTotalElements()).isEqualTo(95);
+        assertThat(first.getTotalPages()).isEqualTo(10);
+        assertThat(first.isApproximate()).isFalse();
+        assertThat(second.getTotalElements()).isEqualTo(95);
+        assertThat(second.isApproximate()).isTrue();
+        assertThat(counts).hasValue(1);
+    }
+    
+    @Test
+    void page_WhenEstimated_UsesPlannerRowEstimate() {
+        PageTotals totals = totals(PageTotals.CountStrategy.ESTIMATED);
+        when(jdbcTemplate.queryForObject(
+                eq("EXPLAIN (FORMAT JSON) SELECT 1 FROM example_entities WHERE status = ?"),
+                eq(String.class), any(Object[].class)))
+                .thenReturn("[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Plan Rows\": 250000}}]");
+        
+        PageResponse<String> result = totals.page(
+                null,
+                () -> new SliceImpl<>(CONTENT, SECOND_PAGE, true),
+                countOf(1, "SELECT 1 FROM example_entities WHERE status = ?", "ACTIVE"));
+        
+        assertThat(result.getTotalElements()).isEqualTo(250000);
+        assertThat(result.getTotalPages()).isEqualTo(25000);
+        assertThat(result.isApproximate()).isTrue();
+        assertThat(counts).hasValue(0);
+    }
+    
+    @Test
+    void page_WhenEstimateBelowThreshold_CountsExactly() {
+        PageTotals totals = totals(PageTotals.CountStrategy.ESTIMATED);
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn("[{\"Plan\": {\"Plan Rows\": 40}}]");
+        
+        PageResponse<String> result = totals.page(
+                null,
+                () -> new SliceImpl<>(CONTENT, SECOND_PAGE, true),
+                countOf(42, "SELECT 1 FROM example_entities"));
+        
+        assertThat(result.getTotalElements()).isEqualTo(42);
+        assertThat(result.isApproximate()).isFalse();
+        assertThat(counts).hasValue(1);
+    }
+    
+    @Test
+    void page_WhenExplainFails_CountsExactly() {
+        PageTotals totals = totals(PageTotals.CountStrategy.ESTIMATED);
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class)))
+                .thenThrow(new BadSqlGrammarException("explain", "EXPLAIN (FORMAT JSON) ...", new SQLException()));
+        
+        PageResponse<String> result = totals.page(
+                null,
+                () -> new SliceImpl<>(CONTENT, SECOND_PAGE, true),
+                countOf(42, "SELECT 1 FROM example_entities"));
+        
+        assertThat(result.getTotalElements()).isEqualTo(42);
+        assertThat(result.isApproximate()).isFalse();
+    }
+    
+    @Test
+    void page_WhenTotalBelowRowsSeen_ReportsAtLeastThoseRows() {
+        PageTotals totals = totals(PageTotals.CountStrategy.CACHED);
+        
+        PageResponse<String> result = totals.page(null, () -> new SliceImpl<>(CONTENT, SECOND_PAGE, true), countOf(5, null));
+        
+        assertThat(result.getTotalElements()).isEqualTo(21);
+        assertThat(result.isLast()).isFalse();
+    }
+    
+    private PageTotals totals(PageTotals.CountStrategy strategy) {
+        return new PageTotals(jdbcTemplate, JsonMapper.builder().build(), strategy, Duration.ofSeconds(30), 100);
+    }
+    
+    private PageTotals.CountQuery countOf(long total, String estimateSql, Object... estimateArgs) {
+        return new PageTotals.CountQuery("test", () -> {
+            counts.incrementAndGet();
+            return total;
+        }, estimateSql, estimateArgs);
+    }
+}
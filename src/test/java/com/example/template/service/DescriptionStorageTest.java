@@ -0,0 +1,146 @@
+package com.example.template.service;
+
+import com.example.template.TestConstants;
+import com.example.template.entity.ExampleDescription;
+import com.example.template.entity.ExampleEntity;
+import com.example.template.repository.ExampleDescriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DescriptionStorageTest {
+
+    @Mock
+    private ExampleDescriptionRepository repository;
+
+    @InjectMocks
+    private DescriptionStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(storage, "enabled", true);
+        ReflectionTestUtils.setField(storage, "threshold", 10);
+        ReflectionTestUtils.setField(storage, "previewLength", 4);
+    }
+
+    @Test
+    void offload_WhenLongerThanThreshold_KeepsPreviewInline() {
+        ExampleEntity entity = ExampleEntity.builder().description("0123456789abc").build();
+
+        String body = storage.offload(entity);
+
+        assertThat(body).isEqualTo("0123456789abc");
+        assertThat(entity.getDescription()).isEqualTo("0123");
+        assertThat(entity.isDescriptionTruncated()).isTrue();
+    }
+
+    @Test
+    void offload_WhenWithinThreshold_LeavesDescriptionInline() {
+        ExampleEntity entity = ExampleEntity.builder().description("0123456789").descriptionTruncated(true).build();
+
+        assertThat(storage.offload(entity)).isNull();
+        assertThat(entity.getDescription()).isEqualTo("0123456789");
+        assertThat(entity.isDescriptionTruncated()).isFalse();
+    }
+
+    @Test
+    void offload_WhenDisabled_LeavesDescriptionInline() {
+        ReflectionTestUtils.setField(storage, "enabled", false);
+        ExampleEntity entity = ExampleEntity.builder().description("0123456789abc").build();
+
+        assertThat(storage.offload(entity)).isNull();
+        assertThat(entity.getDescription()).isEqualTo("0123456789abc");
+    }
+
+    @Test
+    void offload_NeverSplitsSurrogatePair() {
+        // U+1F600 occupies chars 3 and 4
+        ExampleEntity entity = ExampleEntity.builder().description("012😀456789abc").build();
+
+        storage.offload(entity);
+
+        assertThat(entity.getDescription()).isEqualTo("012");
+    }
+
+    @Test
+    void store_WhenBodyNoLongerNeeded_DeletesStoredText() {
+        storage.store(TestConstants.TEST_ENTITY_ID, null, true);
+
+        verify(repository).deleteById(TestConstants.TEST_ENTITY_ID);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void store_WhenNothingStoredBefore_DoesNothing() {
+        storage.store(TestConstants.TEST_ENTITY_ID, null, false);
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void storeAll_SavesBodiesAndDropsStaleTexts() {
+        storage.storeAll(Map.of(1L, "body"), List.of(2L));
+
+        verify(repository).saveAll(List.of(new ExampleDescription(1L, "body")));
+        verify(repository).deleteAllByIdInBatch(List.of(2L));
+    }
+
+    @Test
+    void fullDescription_WhenTruncated_ReadsStoredText() {
+        ExampleEntity entity = ExampleEntity.builder()
+                .id(TestConstants.TEST_ENTITY_ID)
+                .description("0123")
+                .descriptionTruncated(true)
+                .build();
+        when(repository.findBodyByEntityId(TestConstants.TEST_ENTITY_ID)).thenReturn(Optional.of("0123456789abc"));
+
+        assertThat(storage.fullDescription(entity)).isEqualTo("0123456789abc");
+    }
+
+    @Test
+    void fullDescription_WhenStoredTextMissing_FallsBackToPreview() {
+        ExampleEntity entity = ExampleEntity.builder()
+                .id(TestConstants.TEST_ENTITY_ID)
+                .description("0123")
+                .descriptionTruncated(true)
+                .build();
+        when(repository.findBodyByEntityId(TestConstants.TEST_ENTITY_ID)).thenReturn(Optional.empty());
+
+        assertThat(storage.fullDescription(entity)).isEqualTo("0123");
+    }
+
+    @Test
+    void fullDescriptions_LoadsStoredTextsOfTruncatedEntitiesInOneQuery() {
+        ExampleEntity inline = ExampleEntity.builder().id(1L).description("short").build();
+        ExampleEntity stored = ExampleEntity.builder().id(2L).description("0123").descriptionTruncated(true).build();
+        ExampleEntity missing = ExampleEntity.builder().id(3L).description("4567").descriptionTruncated(true).build();
+        when(repository.findBodiesByEntityIdIn(List.of(2L, 3L)))
+                .thenReturn(List.of(new ExampleDescriptionRepository.BodyView(2L, "0123456789abc")));
+
+        Map<Long, String> bodies = storage.fullDescriptions(List.of(inline, stored, missing));
+
+        assertThat(bodies).containsExactlyInAnyOrderEntriesOf(Map.of(2L, "0123456789abc", 3L, "4567"));
+        verify(repository, never()).findBodyByEntityId(any());
+    }
+
+    @Test
+    void fullDescriptions_WhenNothingTruncated_SkipsQuery() {
+        ExampleEntity inline = ExampleEntity.builder().id(1L).description("short").build();
+
+        assertThat(storage.fullDescriptions(List.of(inline))).isEmpty();
+        verifyNoInteractions(repository);
+    }
+}
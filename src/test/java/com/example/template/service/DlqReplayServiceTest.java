@@ -0,0 +1,147 @@
+package com.example.template.service;
+
+import com.example.template.dto.DlqReplayStatus;
+import com.example.template.entity.DeadLetterEvent;
+import com.example.template.event.EventRetryRouter;
+import com.example.template.event.ExampleEvent;
+import com.example.template.event.ExampleEventCodec;
+import com.example.template.exception.BadRequestException;
+import com.example.template.repository.DeadLetterRepository;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DlqReplayServiceTest {
+
+    @Mock
+    private DeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @InjectMocks
+    private DlqReplayService replayService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(replayService, "maxLimit", 10_000);
+        ReflectionTestUtils.setField(replayService, "maxRate", 1_000);
+        ReflectionTestUtils.setField(replayService, "sendTimeout", Duration.ofSeconds(1));
+    }
+
+    @Test
+    void replay_SendsPendingRowsToMainTopicAndMarksThemReplayed() {
+        when(deadLetterRepository.findPendingAfter(0L, 3)).thenReturn(List.of(row(1L, "TEST_EVENT"), row(2L, null)));
+        when(deadLetterRepository.findPendingAfter(2L, 1)).thenReturn(List.of());
+        when(kafkaTemplate.send(eq(EventRetryRouter.TOPIC), eq("key-1"), any(ExampleEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        replayService.replay(job(3));
+
+        verify(deadLetterRepository).markReplayed(eq(List.of(1L)), any(LocalDateTime.class));
+        DlqReplayStatus status = replayService.getStatus();
+        assertThat(status.getState()).isEqualTo(DlqReplayStatus.State.COMPLETED);
+        assertThat(status.getReplayed()).isEqualTo(1);
+        assertThat(status.getSkipped()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replay_WhenRowWasUnreadable_SendsStoredBytesWithSchemaVersion() {
+        DeadLetterEvent unreadable = row(1L, null);
+        unreadable.setPayload(null);
+        unreadable.setRawPayload(new byte[] {1, 2, 3});
+        unreadable.setSchemaVersion(2);
+        when(deadLetterRepository.findPendingAfter(0L, 1)).thenReturn(List.of(unreadable));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        replayService.replay(job(1));
+
+        ArgumentCaptor<ProducerRecord<String, Object>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(sent.capture());
+        assertThat(sent.getValue().topic()).isEqualTo(EventRetryRouter.TOPIC);
+        assertThat(sent.getValue().key()).isEqualTo("key-1");
+        assertThat(sent.getValue().value()).isEqualTo(new byte[] {1, 2, 3});
+        assertThat(sent.getValue().headers().lastHeader(ExampleEventCodec.SCHEMA_VERSION_HEADER).value())
+                .containsExactly(2);
+        verify(deadLetterRepository).markReplayed(eq(List.of(1L)), any(LocalDateTime.class));
+        assertThat(replayService.getStatus().getReplayed()).isEqualTo(1);
+    }
+
+    @Test
+    void replay_WhenSendFails_StopsAndKeepsRemainingRowsPending() {
+        when(deadLetterRepository.findPendingAfter(0L, 3))
+                .thenReturn(List.of(row(1L, "TEST_EVENT"), row(2L, "TEST_EVENT"), row(3L, "TEST_EVENT")));
+        when(kafkaTemplate.send(eq(EventRetryRouter.TOPIC), any(), any(ExampleEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        replayService.replay(job(3));
+
+        verify(deadLetterRepository).markReplayed(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(kafkaTemplate, times(2)).send(eq(EventRetryRouter.TOPIC), any(), any(ExampleEvent.class));
+        assertThat(replayService.getStatus().getState()).isEqualTo(DlqReplayStatus.State.FAILED);
+        assertThat(replayService.getStatus().getError()).contains("broker down");
+    }
+
+    @Test
+    void replay_PacesSendsToRequestedRate() {
+        when(deadLetterRepository.findPendingAfter(anyLong(), anyInt()))
+                .thenReturn(List.of(row(1L, "TEST_EVENT"), row(2L, "TEST_EVENT"), row(3L, "TEST_EVENT")))
+                .thenReturn(List.of());
+        when(kafkaTemplate.send(eq(EventRetryRouter.TOPIC), any(), any(ExampleEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        long started = System.nanoTime();
+        replayService.replay(DlqReplayStatus.builder().limit(3).ratePerSecond(20).build());
+
+        // Three sends at 20/s: the second and third wait 50 ms each
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void startReplay_WhenRateAboveMaximum_ThrowsBadRequestException() {
+        assertThatThrownBy(() -> replayService.startReplay(100, 5_000))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("rate");
+        verifyNoInteractions(deadLetterRepository, kafkaTemplate);
+    }
+
+    private static DlqReplayStatus job(int limit) {
+        return DlqReplayStatus.builder().limit(limit).ratePerSecond(1_000).build();
+    }
+
+    private static DeadLetterEvent row(long id, String type) {
+        return DeadLetterEvent.builder()
+                .id(id)
+                .messageKey("key-" + id)
+                .eventId("event-" + id)
+                .eventType(type)
+                .payload("{}")
+                .status(DeadLetterEvent.Status.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.template.service;
+
+import com.example.template.TestConstants;
+import com.example.template.entity.ExampleEntity;
+import com.example.template.repository.ExampleRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExampleExportServiceTest {
+    
+    @Mock
+    private ExampleRepository repository;
+    
+    @Mock
+    private EntityManager entityManager;
+    
+    @Mock
+    private DescriptionStorage descriptionStorage;
+    
+    private ExampleExportService exportService;
+    
+    @BeforeEach
+    void setUp() {
+        exportService = new ExampleExportService(repository, entityManager, JsonMapper.builder().build(),
+                descriptionStorage);
+    }
+    
+    @Test
+    void exportNdjson_WritesOneLinePerEntityAndDetachesEach() throws Exception {
+        ExampleEntity first = ExampleEntity.builder().id(TestConstants.TEST_ENTITY_ID).name("First").build();
+        ExampleEntity second = ExampleEntity.builder().id(2L).name("Second").build();
+        when(repository.streamForExport(TestConstants.STATUS_ACTIVE, null, null)).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        long exported = exportService.exportNdjson(TestConstants.STATUS_ACTIVE, null, null, output);
+        
+        assertThat(exported).isEqualTo(2);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"name\":\"First\"");
+        assertThat(lines[1]).contains("\"name\":\"Second\"");
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+    
+    @Test
+    void exportNdjson_WhenDescriptionStoredOutOfRow_WritesFullDescription() throws Exception {
+        ExampleEntity truncated = ExampleEntity.builder()
+                .id(TestConstants.TEST_ENTITY_ID)
+                .name("First")
+                .description("Pre")
+                .descriptionTruncated(true)
+                .build();
+        when(repository.streamForExport(null, null, null)).thenReturn(Stream.of(truncated));
+        when(descriptionStorage.fullDescriptions(List.of(truncated)))
+                .thenReturn(Map.of(TestConstants.TEST_ENTITY_ID, "Preview and the rest"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        exportService.exportNdjson(null, null, null, output);
+        
+        assertThat(output.toString(StandardCharsets.UTF_8)).contains("\"description\":\"Preview and the rest\"");
+        verify(entityManager).detach(truncated);
+    }
+    
+    @Test
+    void exportNdjson_LoadsStoredDescriptionsOncePerChunk() throws Exception {
+        List<ExampleEntity> rows = IntStream.rangeClosed(1, ExampleExportService.CHUNK_SIZE + 1)
+                .mapToObj(id -> ExampleEntity.builder()
+                        .id((long) id)
+                        .name("Row " + id)
+                        .description("Pre")
+                        .descriptionTruncated(true)
+                        .build())
+                .toList();
+        when(repository.streamForExport(null, null, null)).thenReturn(rows.stream());
+        when(descriptionStorage.fullDescriptions(anyCollection())).thenReturn(Map.of());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        long exported = exportService.exportNdjson(null, null, null, output);
+        
+        assertThat(exported).isEqualTo(ExampleExportService.CHUNK_SIZE + 1);
+        verify(descriptionStorage).fullDescriptions(rows.subList(0, ExampleExportService.CHUNK_SIZE));
+        verify(descriptionStorage).fullDescriptions(List.of(rows.get(ExampleExportService.CHUNK_SIZE)));
+        verify(descriptionStorage, never()).fullDescription(any());
+    }
+    
+    @Test
+    void exportNdjson_WhenNoRows_WritesNothing() throws Exception {
+        when(repository.streamForExport(null, null, null)).thenReturn(Stream.empty());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        long exported = exportService.exportNdjson(null, null, null, output);
+        
+        assertThat(exported).isZero();
+        assertThat(output.size()).isZero();
+        verifyNoInteractions(entityManager);
+    }
+}
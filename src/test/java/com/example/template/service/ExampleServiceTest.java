@@ -1,28 +1,55 @@
 package com.example.template.service;
 
 import com.example.template.TestConstants;
+import com.example.template.cache.BulkCacheOperations;
+import com.example.template.cache.QueryResultCache;
+import com.example.template.datasource.PrimaryReads;
+import com.example.template.dto.BatchItemResult;
+import com.example.template.dto.BatchResponse;
+import com.example.template.dto.CursorPageResponse;
+import com.example.template.dto.MultiGetItem;
+import com.example.template.dto.MultiGetResponse;
+import com.example.template.dto.PageResponse;
 import com.example.template.entity.ExampleEntity;
+import com.example.template.event.EventProducer;
+import com.example.template.event.ExampleEvent;
 import com.example.template.exception.BadRequestException;
 import com.example.template.exception.ConflictException;
 import com.example.template.exception.NotFoundException;
+import com.example.template.exception.PreconditionFailedException;
+import com.example.template.pagination.PageTotals;
 import com.example.template.repository.ExampleRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +58,30 @@ class ExampleServiceTest {
     @Mock
     private ExampleRepository repository;
     
+    @Mock
+    private CacheManager cacheManager;
+    
+    @Mock
+    private QueryResultCache queryCache;
+    
+    @Mock
+    private BulkCacheOperations bulkCache;
+    
+    @Mock
+    private EventProducer eventProducer;
+    
+    @Mock
+    private JsonMapper jsonMapper;
+    
+    @Mock
+    private DescriptionStorage descriptionStorage;
+    
+    @Mock
+    private PageTotals pageTotals;
+    
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    
     @InjectMocks
     private ExampleService service;
     
@@ -44,6 +95,10 @@ class ExampleServiceTest {
                 .description("Test Description")
                 .status(TestConstants.STATUS_ACTIVE)
                 .build();
+        lenient().when(queryCache.get(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+        lenient().when(pageTotals.page(any(), any(), any()))
+                .thenAnswer(invocation -> PageResponse.of(invocation.<Supplier<Page<?>>>getArgument(0).get()));
     }
     
     @Test
@@ -58,6 +113,37 @@ class ExampleServiceTest {
         verify(repository).findById(TestConstants.TEST_ENTITY_ID);
     }
     
+    @Test
+    void findById_LoadsFromPrimarySoReplicaLagIsNotCached() {
+        when(repository.findById(TestConstants.TEST_ENTITY_ID)).thenAnswer(invocation -> {
+            assertThat(PrimaryReads.isActive()).isTrue();
+            return Optional.of(entity);
+        });
+        
+        assertThat(service.findById(TestConstants.TEST_ENTITY_ID)).isSameAs(entity);
+        assertThat(PrimaryReads.isActive()).isFalse();
+    }
+    
+    @Test
+    void findAllSummaries_SelectsSummaryProjectionAndCachesSeparately() {
+        PageRequest pageable = PageRequest.of(0, 20, Sort.by("id"));
+        ExampleRepository.SummaryView summary = new ExampleRepository.SummaryView(
+                TestConstants.TEST_ENTITY_ID, "Test Entity", TestConstants.STATUS_ACTIVE, null, null, 3);
+        when(repository.findAllBy(pageable, ExampleRepository.SummaryView.class))
+                .thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+        
+        PageResponse<ExampleEntity> result = service.findAllSummaries(pageable);
+        
+        assertThat(result.getContent()).singleElement().satisfies(row -> {
+            assertThat(row.getName()).isEqualTo("Test Entity");
+            assertThat(row.getVersion()).isEqualTo(3);
+            assertThat(row.getDescription()).isNull();
+        });
+        verify(queryCache).get(eq(ExampleService.PAGE_CACHE), eq(QueryResultCache.GLOBAL_SCOPE),
+                eq("summary:p0:s20:id,ASC"), any());
+        verify(repository, never()).findAll(any(Pageable.class));
+    }
+    
     @Test
     void findById_WhenNotExists_ThrowsNotFoundException() {
         when(repository.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(Optional.empty());
@@ -77,6 +163,26 @@ class ExampleServiceTest {
         assertThat(result).isNotNull();
         verify(repository).existsByName("Test Entity");
         verify(repository).save(any(ExampleEntity.class));
+        verify(eventProducer).enqueue(eq(String.valueOf(entity.getId())),
+                argThat(event -> ExampleEvent.EXAMPLE_CREATED.equals(event.getType())));
+    }
+    
+    @Test
+    void create_WhenDescriptionIsOffloaded_PublishesFullDescription() {
+        when(repository.existsByName("Test Entity")).thenReturn(false);
+        when(repository.save(entity)).thenReturn(entity);
+        when(descriptionStorage.offload(entity)).thenAnswer(invocation -> {
+            entity.setDescription("Long");
+            entity.setDescriptionTruncated(true);
+            return "Long description";
+        });
+        when(jsonMapper.writeValueAsString(any()))
+                .thenAnswer(invocation -> invocation.<ExampleEntity>getArgument(0).getDescription());
+        
+        service.create(entity);
+        
+        verify(eventProducer).enqueue(eq(String.valueOf(TestConstants.TEST_ENTITY_ID)),
+                argThat(event -> "Long description".equals(event.getPayload())));
     }
     
     @Test
@@ -100,7 +206,7 @@ class ExampleServiceTest {
     @Test
     void update_WhenExists_ReturnsUpdatedEntity() {
         when(repository.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(Optional.of(entity));
-        when(repository.save(any(ExampleEntity.class))).thenReturn(entity);
+        when(repository.saveAndFlush(any(ExampleEntity.class))).thenReturn(entity);
         
         ExampleEntity updated = ExampleEntity.builder()
                 .name("Updated Name")
@@ -108,11 +214,132 @@ class ExampleServiceTest {
                 .status(TestConstants.STATUS_INACTIVE)
                 .build();
         
-        ExampleEntity result = service.update(TestConstants.TEST_ENTITY_ID, updated);
+        ExampleEntity result = service.update(TestConstants.TEST_ENTITY_ID, updated, null);
         
         assertThat(result).isNotNull();
         verify(repository).findById(TestConstants.TEST_ENTITY_ID);
-        verify(repository).save(any(ExampleEntity.class));
+        verify(repository).saveAndFlush(any(ExampleEntity.class));
+        verify(eventProducer).enqueue(eq(String.valueOf(TestConstants.TEST_ENTITY_ID)),
+                argThat(event -> ExampleEvent.EXAMPLE_UPDATED.equals(event.getType())));
+        verify(queryCache).invalidate(argThat(scopes -> Set.copyOf(scopes).equals(Set.of(
+                QueryResultCache.GLOBAL_SCOPE,
+                QueryResultCache.statusScope(TestConstants.STATUS_ACTIVE),
+                QueryResultCache.statusScope(TestConstants.STATUS_INACTIVE)))));
+    }
+    
+    @Test
+    void update_WhenDescriptionIsOffloaded_StoresBodyAndReturnsItInFull() {
+        when(repository.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(Optional.of(entity));
+        when(repository.saveAndFlush(entity)).thenReturn(entity);
+        when(descriptionStorage.offload(entity)).thenAnswer(invocation -> {
+            entity.setDescription("Long");
+            entity.setDescriptionTruncated(true);
+            return "Long description";
+        });
+        ExampleEntity updated = ExampleEntity.builder()
+                .name("Test Entity")
+                .description("Long description")
+                .status(TestConstants.STATUS_ACTIVE)
+                .build();
+        
+        ExampleEntity result = service.update(TestConstants.TEST_ENTITY_ID, updated, null);
+        
+        verify(descriptionStorage).store(TestConstants.TEST_ENTITY_ID, "Long description", false);
+        assertThat(result.getDescription()).isEqualTo("Long description");
+        assertThat(entity.getDescription()).isEqualTo("Long");
+        assertThat(entity.isDescriptionTruncated()).isTrue();
+    }
+    
+    @Test
+    void update_WhenDescriptionIsOffloaded_ReturnedCopyCarriesFlushedVersion() {
+        entity.setVersion(3);
+        when(repository.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(Optional.of(entity));
+        when(repository.saveAndFlush(entity)).thenAnswer(invocation -> {
+            entity.setVersion(entity.getVersion() + 1);
+            return entity;
+        });
+        when(descriptionStorage.offload(entity)).thenReturn("Long description");
+        ExampleEntity updated = ExampleEntity.builder()
+                .name("Test Entity")
+                .description("Long description")
+                .status(TestConstants.STATUS_ACTIVE)
+                .build();
+        
+        ExampleEntity result = service.update(TestConstants.TEST_ENTITY_ID, updated, 3);
+        
+        // The copy is taken after the flush, so the ETag built from it matches the stored row
+        assertThat(result).isNotSameAs(entity);
+        assertThat(result.getVersion()).isEqualTo(4);
+    }
+    
+    @Test
+    void update_PublishesEventWithFlushedVersion() {
+        entity.setVersion(3);
+        when(repository.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(Optional.of(entity));
+        // Hibernate increments @Version at flush, not when the entity is modified
+        when(repository.saveAndFlush(entity)).thenAnswer(invocation -> {
+            entity.setVersion(entity.getVersion() + 1);
+            return entity;
+        });
+        when(jsonMapper.writeValueAsString(any()))
+                .thenAnswer(invocation -> "version:" + invocation.<ExampleEntity>getArgument(0).getVersion());
+        ExampleEntity updated = ExampleEntity.builder()
+                .name("Updated Name")
+                .status(TestConstants.STATUS_ACTIVE)
+                .build();
+        
+        ExampleEntity result = service.update(TestConstants.TEST_ENTITY_ID, updated, 3);
+        
+        assertThat(result.getVersion()).isEqualTo(4);
+        verify(eventProducer).enqueue(eq(String.valueOf(TestConstants.TEST_ENTITY_ID)),
+                argThat(event -> "version:4".equals(event.getPayload())));
+    }
+    
+    @Test
+    void withFullDescription_WhenTruncated_ReturnsCopyWithStoredBody() {
+        entity.setDescriptionTruncated(true);
+        when(descriptionStorage.fullDescription(entity)).thenReturn("Full description");
+        
+        ExampleEntity result = service.withFullDescription(entity);
+        
+        assertThat(result).isNotSameAs(entity);
+        assertThat(result.getDescription()).isEqualTo("Full description");
+        assertThat(result.isDescriptionTruncated()).isFalse();
+        assertThat(entity.getDescription()).isEqualTo("Test Description");
+    }
+    
+    @Test
+    void withFullDescription_WhenInline_ReturnsEntityUnchanged() {
+        assertThat(service.withFullDescription(entity)).isSameAs(entity);
+        verifyNoInteractions(descriptionStorage);
+    }
+    
+    @Test
+    void update_WhenVersionDiffers_ThrowsPreconditionFailedWithoutSaving() {
+        entity.setVersion(3);
+        when(repository.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(Optional.of(entity));
+        ExampleEntity updated = ExampleEntity.builder()
+                .name("Updated Name")
+                .status(TestConstants.STATUS_ACTIVE)
+                .build();
+        
+        assertThatThrownBy(() -> service.update(TestConstants.TEST_ENTITY_ID, updated, 2))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessageContaining("version 3");
+        
+        verify(repository, never()).saveAndFlush(any(ExampleEntity.class));
+        verifyNoInteractions(eventProducer, queryCache);
+        assertThat(entity.getName()).isEqualTo("Test Entity");
+    }
+    
+    @Test
+    void delete_WhenVersionMatches_DeletesEntity() {
+        entity.setVersion(3);
+        when(repository.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(Optional.of(entity));
+        
+        service.delete(TestConstants.TEST_ENTITY_ID, 3);
+        
+        verify(repository).delete(entity);
     }
     
     @Test
@@ -120,9 +347,234 @@ class ExampleServiceTest {
         when(repository.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(Optional.of(entity));
         doNothing().when(repository).delete(entity);
         
-        service.delete(TestConstants.TEST_ENTITY_ID);
+        service.delete(TestConstants.TEST_ENTITY_ID, null);
         
         verify(repository).findById(TestConstants.TEST_ENTITY_ID);
+        verify(descriptionStorage).store(TestConstants.TEST_ENTITY_ID, null, false);
         verify(repository).delete(entity);
+        verify(eventProducer).enqueue(eq(String.valueOf(TestConstants.TEST_ENTITY_ID)),
+                argThat(event -> ExampleEvent.EXAMPLE_DELETED.equals(event.getType())));
+        verify(queryCache).invalidate(List.of(QueryResultCache.GLOBAL_SCOPE,
+                QueryResultCache.statusScope(TestConstants.STATUS_ACTIVE)));
+    }
+    
+    @Test
+    void delete_WhenDescriptionIsStored_PublishesItBeforeRemovingIt() {
+        entity.setDescription("Long");
+        entity.setDescriptionTruncated(true);
+        when(repository.findById(TestConstants.TEST_ENTITY_ID)).thenReturn(Optional.of(entity));
+        when(descriptionStorage.fullDescription(entity)).thenReturn("Long description");
+        when(jsonMapper.writeValueAsString(any()))
+                .thenAnswer(invocation -> invocation.<ExampleEntity>getArgument(0).getDescription());
+        
+        service.delete(TestConstants.TEST_ENTITY_ID, null);
+        
+        var inOrder = inOrder(descriptionStorage, eventProducer);
+        inOrder.verify(descriptionStorage).fullDescription(entity);
+        inOrder.verify(descriptionStorage).store(TestConstants.TEST_ENTITY_ID, null, true);
+        inOrder.verify(eventProducer).enqueue(eq(String.valueOf(TestConstants.TEST_ENTITY_ID)),
+                argThat(event -> "Long description".equals(event.getPayload())));
+    }
+    
+    @Test
+    void batchUpsert_CreatesAndUpdatesInSingleSave() {
+        ExampleEntity toCreate = ExampleEntity.builder().name("New Entity").status(TestConstants.STATUS_ACTIVE).build();
+        ExampleEntity toUpdate = ExampleEntity.builder()
+                .id(TestConstants.TEST_ENTITY_ID)
+                .name("Renamed Entity")
+                .status(TestConstants.STATUS_INACTIVE)
+                .build();
+        Cache cache = mock(Cache.class);
+        when(repository.findAllById(any())).thenReturn(List.of(entity));
+        when(repository.findByNameIn(any())).thenReturn(List.of());
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            List<ExampleEntity> saved = invocation.getArgument(0);
+            saved.stream().filter(e -> e.getId() == null).forEach(e -> e.setId(2L));
+            return saved;
+        });
+        when(cacheManager.getCache("examples")).thenReturn(cache);
+        
+        BatchResponse response = service.batchUpsert(List.of(toCreate, toUpdate));
+        
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BatchItemResult::getOutcome)
+                .containsExactly(BatchItemResult.Outcome.CREATED, BatchItemResult.Outcome.UPDATED);
+        assertThat(response.getResults().get(0).getId()).isEqualTo(2L);
+        assertThat(entity.getName()).isEqualTo("Renamed Entity");
+        verify(repository, times(1)).saveAll(any());
+        verify(cache).evict(TestConstants.TEST_ENTITY_ID);
+    }
+    
+    @Test
+    void batchUpsert_PublishesEventsAfterFlush() {
+        entity.setVersion(3);
+        ExampleEntity toUpdate = ExampleEntity.builder()
+                .id(TestConstants.TEST_ENTITY_ID)
+                .name("Renamed Entity")
+                .status(TestConstants.STATUS_ACTIVE)
+                .build();
+        when(repository.findAllById(any())).thenReturn(List.of(entity));
+        when(repository.findByNameIn(any())).thenReturn(List.of());
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        doAnswer(invocation -> {
+            entity.setVersion(entity.getVersion() + 1);
+            return null;
+        }).when(repository).flush();
+        when(jsonMapper.writeValueAsString(any()))
+                .thenAnswer(invocation -> "version:" + invocation.<ExampleEntity>getArgument(0).getVersion());
+        
+        service.batchUpsert(List.of(toUpdate));
+        
+        var inOrder = inOrder(repository, eventProducer);
+        inOrder.verify(repository).flush();
+        inOrder.verify(eventProducer).enqueue(eq(String.valueOf(TestConstants.TEST_ENTITY_ID)),
+                argThat(event -> "version:4".equals(event.getPayload())));
+    }
+    
+    @Test
+    void batchUpsert_ReportsConflictsAndMissingPerItem() {
+        ExampleEntity taken = ExampleEntity.builder().name("Taken").build();
+        ExampleEntity first = ExampleEntity.builder().name("Duplicate").build();
+        ExampleEntity second = ExampleEntity.builder().name("Duplicate").build();
+        ExampleEntity missing = ExampleEntity.builder().id(TestConstants.NON_EXISTENT_ENTITY_ID).name("Missing").build();
+        ExampleRepository.NameView owner = mock(ExampleRepository.NameView.class);
+        when(owner.getName()).thenReturn("Taken");
+        when(owner.getId()).thenReturn(TestConstants.TEST_ENTITY_ID);
+        when(repository.findAllById(any())).thenReturn(List.of());
+        when(repository.findByNameIn(any())).thenReturn(List.of(owner));
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        BatchResponse response = service.batchUpsert(List.of(taken, first, second, missing));
+        
+        assertThat(response.getResults()).extracting(BatchItemResult::getOutcome)
+                .containsExactly(
+                        BatchItemResult.Outcome.CONFLICT,
+                        BatchItemResult.Outcome.CREATED,
+                        BatchItemResult.Outcome.CONFLICT,
+                        BatchItemResult.Outcome.NOT_FOUND);
+        assertThat(response.getFailed()).isEqualTo(3);
+    }
+    
+    @Test
+    void batchUpsert_ReportsInvalidItemsAtTheirIndexAndSavesTheRest() {
+        ExampleEntity valid = ExampleEntity.builder().name("Valid").build();
+        ExampleEntity blankName = ExampleEntity.builder().name(" ").build();
+        ExampleEntity longStatus = ExampleEntity.builder().name("Long status").status("S".repeat(51)).build();
+        when(repository.findByNameIn(any())).thenReturn(List.of());
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        BatchResponse response = service.batchUpsert(List.of(valid, blankName, longStatus));
+        
+        assertThat(response.getResults()).extracting(BatchItemResult::getOutcome)
+                .containsExactly(
+                        BatchItemResult.Outcome.CREATED,
+                        BatchItemResult.Outcome.INVALID,
+                        BatchItemResult.Outcome.INVALID);
+        assertThat(response.getResults().get(1).getMessage()).startsWith("name: ");
+        assertThat(response.getResults().get(2).getMessage()).startsWith("status: ");
+        verify(repository).saveAll(List.of(valid));
+    }
+    
+    @Test
+    void scroll_WhenMoreRows_ReturnsNextCursorWithoutCount() {
+        Window<ExampleEntity> window = Window.from(List.of(entity), ScrollPosition::offset, true);
+        when(repository.findByStatus(eq(TestConstants.STATUS_ACTIVE), any(ScrollPosition.class), any(Sort.class), any()))
+                .thenReturn(window);
+        
+        CursorPageResponse<ExampleEntity> response =
+                service.scroll(TestConstants.STATUS_ACTIVE, null, Sort.by("id"), 1);
+        
+        assertThat(response.getContent()).containsExactly(entity);
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(response.getNextCursor()).isNotBlank();
+        verify(repository, never()).count();
+    }
+    
+    @Test
+    void findAll_WhenSortNotIndexed_ThrowsBadRequestException() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("description"));
+        
+        assertThatThrownBy(() -> service.findAll(pageable))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Unsupported sort property");
+        verifyNoInteractions(repository);
+    }
+    
+    @Test
+    void search_WhenFullTextEnabled_UsesRankedUnsortedQuery() {
+        ReflectionTestUtils.setField(service, "fullTextSearchEnabled", true);
+        Page<ExampleEntity> page = new PageImpl<>(List.of(entity));
+        when(repository.fullTextSearch("test", PageRequest.of(0, 20))).thenReturn(page);
+        
+        var response = service.search(" test ", PageRequest.of(0, 20, Sort.by("id")));
+        
+        assertThat(response.getContent()).containsExactly(entity);
+        verify(repository, never()).search(any(), any());
+    }
+    
+    @Test
+    void search_WhenFullTextDisabled_FallsBackToLikeQuery() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(repository.search("test", pageable)).thenReturn(new PageImpl<>(List.of(entity)));
+        
+        var response = service.search("test", pageable);
+        
+        assertThat(response.getContent()).containsExactly(entity);
+        verify(repository, never()).fullTextSearch(any(), any());
+    }
+    
+    @Test
+    void findByStatus_ReadsThroughQueryCacheScopedToStatus() {
+        Pageable pageable = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(repository.findByStatus(TestConstants.STATUS_ACTIVE, pageable)).thenReturn(new PageImpl<>(List.of(entity)));
+        
+        var response = service.findByStatus(TestConstants.STATUS_ACTIVE, pageable);
+        
+        assertThat(response.getContent()).containsExactly(entity);
+        verify(queryCache).get(eq(ExampleService.STATUS_PAGE_CACHE),
+                eq(QueryResultCache.statusScope(TestConstants.STATUS_ACTIVE)),
+                eq(TestConstants.STATUS_ACTIVE + ":p1:s10:createdAt,DESC"), any());
+    }
+    
+    @Test
+    void findAllById_LoadsOnlyCacheMissesAndKeepsRequestOrder() {
+        ExampleEntity other = ExampleEntity.builder().id(2L).name("Other").status(TestConstants.STATUS_ACTIVE).build();
+        when(bulkCache.getAll(eq("examples"), eq(Set.of(1L, 2L, 3L)), eq(ExampleEntity.class)))
+                .thenReturn(Map.of(1L, entity));
+        when(repository.findAllById(List.of(2L, 3L))).thenReturn(List.of(other));
+        
+        MultiGetResponse response = service.findAllById(List.of(2L, 1L, 3L, 1L));
+        
+        assertThat(response.getItems()).extracting(MultiGetItem::getId).containsExactly(2L, 1L, 3L, 1L);
+        assertThat(response.getItems()).extracting(MultiGetItem::getItem).containsExactly(other, entity, null, entity);
+        assertThat(response.getItems()).extracting(MultiGetItem::isFound).containsExactly(true, true, false, true);
+        assertThat(response.getFound()).isEqualTo(3);
+        assertThat(response.getNotFound()).isEqualTo(1);
+        verify(bulkCache).putAll("examples", Map.of(2L, other));
+    }
+    
+    @Test
+    void findAllById_LoadsMissesFromPrimaryBeforeBackFilling() {
+        when(bulkCache.getAll(eq("examples"), eq(Set.of(1L)), eq(ExampleEntity.class))).thenReturn(Map.of());
+        when(repository.findAllById(List.of(1L))).thenAnswer(invocation -> {
+            assertThat(PrimaryReads.isActive()).isTrue();
+            return List.of(entity);
+        });
+        
+        service.findAllById(List.of(1L));
+        
+        verify(bulkCache).putAll("examples", Map.of(1L, entity));
+    }
+    
+    @Test
+    void findAllById_WhenAllCached_SkipsDatabase() {
+        when(bulkCache.getAll(eq("examples"), eq(Set.of(1L)), eq(ExampleEntity.class)))
+                .thenReturn(Map.of(1L, entity));
+        
+        MultiGetResponse response = service.findAllById(List.of(1L));
+        
+        assertThat(response.getItems()).containsExactly(MultiGetItem.found(1L, entity));
+        verifyNoInteractions(repository);
+        verify(bulkCache, never()).putAll(any(), any());
     }
 }
@@ -0,0 +1,148 @@
+package com.example.template.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCompressionFilterTest {
+
+    private static final String LARGE_BODY = "{\"content\":[" + "{\"name\":\"Example\"},".repeat(200) + "{}]}";
+
+    private final ResponseCompressionFilter filter = new ResponseCompressionFilter(DataSize.ofBytes(1024), 6);
+
+    @Test
+    void doFilter_WhenLargeJsonAndGzipAccepted_Compresses() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(gzipRequest(), response, writing(MediaType.APPLICATION_JSON_VALUE, LARGE_BODY));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"42-3-gzip\"");
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentAsByteArray().length).isLessThan(LARGE_BODY.length() / 4);
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(LARGE_BODY);
+    }
+
+    @Test
+    void doFilter_WhenBelowMinimumSize_WritesBodyUnchanged() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(gzipRequest(), response, writing(MediaType.APPLICATION_JSON_VALUE, "{\"id\":1}"));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        // Sent as is, so the tag must not claim the gzip representation
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"42-3\"");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(response.getContentLength()).isEqualTo(8);
+    }
+
+    @Test
+    void doFilter_WhenGzipNotAccepted_WritesBodyAndETagUnchanged() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, writing(MediaType.APPLICATION_JSON_VALUE, LARGE_BODY));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"42-3\"");
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_BODY);
+    }
+
+    @Test
+    void doFilter_WhenNotJson_WritesBodyUnchanged() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(gzipRequest(), response, writing(MediaType.IMAGE_PNG_VALUE, LARGE_BODY));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"42-3\"");
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_BODY);
+    }
+
+    @Test
+    void doFilter_WhenGzipAccepted_SuffixesStrongETagAndStripsItFromConditionalHeaders() throws Exception {
+        MockHttpServletRequest request = gzipRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"42-3-gzip\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> {
+            seen.set(((HttpServletRequest) req).getHeader(HttpHeaders.IF_NONE_MATCH));
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"42-3\"");
+            ((HttpServletResponse) res).setStatus(304);
+        });
+
+        assertThat(seen).hasValue("\"42-3\"");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"42-3-gzip\"");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void doFilter_WhenNotModifiedForUnsuffixedTag_KeepsTagUnsuffixed() throws Exception {
+        MockHttpServletRequest request = gzipRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"42-3\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"42-3\"");
+            ((HttpServletResponse) res).setStatus(304);
+        });
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"42-3\"");
+    }
+
+    @Test
+    void doFilter_WhileEncodingUndecided_ShowsChainTheTagItSet() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(gzipRequest(), response, (req, res) -> {
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"42-3\"");
+            seen.set(((HttpServletResponse) res).getHeader(HttpHeaders.ETAG));
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().write(LARGE_BODY.getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertThat(seen).hasValue("\"42-3\"");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"42-3-gzip\"");
+    }
+
+    private static MockHttpServletRequest gzipRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        return request;
+    }
+
+    private static FilterChain writing(String contentType, String body) {
+        return (req, res) -> {
+            res.setContentType(contentType);
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"42-3\"");
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            res.setContentLength(bytes.length);
+            // Written in parts, as a streaming serializer would
+            res.getOutputStream().write(bytes, 0, bytes.length / 2);
+            res.getOutputStream().flush();
+            res.getOutputStream().write(bytes, bytes.length / 2, bytes.length - bytes.length / 2);
+        };
+    }
+
+    private static String gunzip(byte[] compressed) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}